@@ -0,0 +1,72 @@
+package algorithms;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cooperative cancellation signal for long-running sorts, set explicitly
+ * with {@link #cancel()} or implicitly once an optional deadline passes.
+ *
+ * Sorts poll the token between chunks of work, so cancelling from another
+ * thread takes effect at the next check rather than immediately.
+ *
+ * @author Student A
+ */
+public final class CancellationToken {
+
+    private final boolean hasDeadline;
+    private final long deadlineNanos;
+    private volatile boolean cancelled;
+
+    /**
+     * Creates a token without a deadline; it is cancelled only by {@link #cancel()}.
+     */
+    public CancellationToken() {
+        this(false, 0);
+    }
+
+    private CancellationToken(boolean hasDeadline, long deadlineNanos) {
+        this.hasDeadline = hasDeadline;
+        this.deadlineNanos = deadlineNanos;
+    }
+
+    /**
+     * Creates a token that cancels itself once a timeout has elapsed.
+     *
+     * @param timeout the timeout
+     * @param unit unit of the timeout
+     * @return the token
+     * @throws IllegalArgumentException if unit is null or timeout negative
+     */
+    public static CancellationToken withTimeout(long timeout, TimeUnit unit) {
+        if (unit == null || timeout < 0) {
+            throw new IllegalArgumentException("Timeout must be non-negative with a unit");
+        }
+        return withDeadline(System.nanoTime() + unit.toNanos(timeout));
+    }
+
+    /**
+     * Creates a token that cancels itself at a {@link System#nanoTime()} deadline.
+     *
+     * @param deadlineNanos the deadline on the nanoTime clock
+     * @return the token
+     */
+    public static CancellationToken withDeadline(long deadlineNanos) {
+        return new CancellationToken(true, deadlineNanos);
+    }
+
+    /**
+     * Requests cancellation. Safe to call from any thread.
+     */
+    public void cancel() {
+        cancelled = true;
+    }
+
+    /**
+     * Checks whether cancellation was requested or the deadline has passed.
+     *
+     * @return true if the work should stop
+     */
+    public boolean isCancelled() {
+        return cancelled || (hasDeadline && System.nanoTime() - deadlineNanos >= 0);
+    }
+}
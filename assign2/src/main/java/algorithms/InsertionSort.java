@@ -1,6 +1,10 @@
 package algorithms;
 
 import metrics.PerformanceTracker;
+import java.util.Locale;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
 
 /**
  * Optimized Insertion Sort implementation with support for nearly-sorted data.
@@ -8,6 +12,10 @@ import metrics.PerformanceTracker;
  * This implementation includes:
  * - Binary search optimization for finding insertion position
  * - Early termination when element is already in correct position
+ * - Host-tuned cutoff below which the standard loop is used (see {@link TuningProfile})
+ * - Sentinel and pair-insertion kernels with unguarded inner loops
+ * - Descending, unsigned and custom orders via {@link IntComparator}
+ * - Stable sorting of objects by a primitive key extracted once per element
  * - Comprehensive metrics tracking
  * 
  * Time Complexity:
@@ -19,10 +27,39 @@ import metrics.PerformanceTracker;
  * 
  * @author Student A
  */
-public class InsertionSort {
+public class InsertionSort implements Sorter {
+    
+    /**
+     * Selectable insertion kernels.
+     */
+    public enum Kernel {
+        /** Linear scan with combined compare-and-shift. */
+        STANDARD,
+        /** Binary search for the insertion position, then one block shift. */
+        BINARY,
+        /** Moves the minimum to the front so the inner loop needs no bounds check. */
+        SENTINEL,
+        /** Sentinel plus inserting two elements per outer iteration. */
+        PAIR
+    }
+    
+    /** Outer iterations between cancellation checks of a cancellable sort. */
+    public static final int DEFAULT_CHECK_INTERVAL = 1024;
+    
+    // Array ids reported to the cache simulator; in-place kernels use id 0
+    private static final int SRC = 0;
+    private static final int DST = 1;
+    private static final int SCRATCH = 2;
+    private static final int KEYS = 0;
+    private static final int REFS = 1;
+    private static final int OUT_KEYS = 2;
+    private static final int OUT_REFS = 3;
     
     private PerformanceTracker tracker;
-    private boolean useOptimization;
+    private Kernel kernel;
+    private int binarySearchThreshold;
+    private int leafSize;
+    private int[] scratch = new int[0]; // merge buffer of sortInto, kept between calls
     
     /**
      * Creates an InsertionSort instance with default settings.
@@ -37,8 +74,48 @@ public class InsertionSort {
      * @param useOptimization if true, uses binary search for nearly-sorted data
      */
     public InsertionSort(boolean useOptimization) {
+        this(useOptimization, TuningProfile.current());
+    }
+    
+    /**
+     * Creates an InsertionSort instance using the given kernel.
+     * 
+     * @param kernel the insertion kernel
+     * @throws IllegalArgumentException if kernel is null
+     */
+    public InsertionSort(Kernel kernel) {
+        this(kernel, TuningProfile.current());
+    }
+    
+    /**
+     * Creates an InsertionSort instance with explicit thresholds.
+     * 
+     * @param useOptimization if true, uses binary search for nearly-sorted data
+     * @param profile thresholds to use instead of the host profile
+     * @throws IllegalArgumentException if profile is null
+     */
+    public InsertionSort(boolean useOptimization, TuningProfile profile) {
+        this(useOptimization ? Kernel.BINARY : Kernel.STANDARD, profile);
+    }
+    
+    /**
+     * Creates an InsertionSort instance using the given kernel and thresholds.
+     * 
+     * @param kernel the insertion kernel
+     * @param profile thresholds to use instead of the host profile
+     * @throws IllegalArgumentException if kernel or profile is null
+     */
+    public InsertionSort(Kernel kernel, TuningProfile profile) {
+        if (kernel == null) {
+            throw new IllegalArgumentException("Kernel cannot be null");
+        }
+        if (profile == null) {
+            throw new IllegalArgumentException("Profile cannot be null");
+        }
         this.tracker = new PerformanceTracker();
-        this.useOptimization = useOptimization;
+        this.kernel = kernel;
+        this.binarySearchThreshold = profile.getBinarySearchThreshold();
+        this.leafSize = profile.getLeafSize();
     }
     
     /**
@@ -47,6 +124,7 @@ public class InsertionSort {
      * @param arr the array to sort
      * @throws IllegalArgumentException if array is null
      */
+    @Override
     public void sort(int[] arr) {
         if (arr == null) {
             throw new IllegalArgumentException("Array cannot be null");
@@ -60,32 +138,268 @@ public class InsertionSort {
             return;
         }
         
-        if (useOptimization) {
-            sortWithBinarySearch(arr);
+        sortAscending(arr);
+        
+        tracker.stopTiming();
+    }
+    
+    /**
+     * Sorts many arrays in ascending order as one measured operation. The
+     * tracker is reset once and accumulates the work of every array, which
+     * keeps per-call overhead off small inputs.
+     * 
+     * @param arrays the arrays to sort, each in place
+     * @throws IllegalArgumentException if arrays or any element is null
+     */
+    public void sortBatch(int[][] arrays) {
+        if (arrays == null) {
+            throw new IllegalArgumentException("Arrays cannot be null");
+        }
+        for (int[] arr : arrays) {
+            if (arr == null) {
+                throw new IllegalArgumentException("Array cannot be null");
+            }
+        }
+        
+        tracker.reset();
+        tracker.startTiming();
+        
+        for (int[] arr : arrays) {
+            if (arr.length > 1) {
+                sortAscending(arr);
+            }
+        }
+        
+        tracker.stopTiming();
+    }
+    
+    /**
+     * Sorts an array in ascending order, checking for cancellation every
+     * {@value #DEFAULT_CHECK_INTERVAL} outer iterations.
+     * 
+     * @param arr the array to sort
+     * @param token cancellation token
+     * @param progress progress callback, or null
+     * @return true if the sort finished, false if it was cancelled
+     * @throws IllegalArgumentException if array or token is null
+     * @see #sort(int[], CancellationToken, SortProgress, int)
+     */
+    public boolean sort(int[] arr, CancellationToken token, SortProgress progress) {
+        return sort(arr, token, progress, DEFAULT_CHECK_INTERVAL);
+    }
+    
+    /**
+     * Sorts an array in ascending order in chunks of checkInterval outer
+     * iterations. Between chunks the sort reports progress and stops if the
+     * token is cancelled, its deadline has passed or the thread has been
+     * interrupted; the kernels themselves run unchanged.
+     * 
+     * A cancelled sort leaves the array a permutation of the input with a
+     * sorted prefix. Progress is estimated from the comparisons and array
+     * accesses in the tracker, which include every shifted element: inserting
+     * element k is modelled as costing a + b·k, fitted from the last chunk
+     * against the average so far. Nearly-sorted input fits b near 0, random
+     * input a b that makes the remaining work quadratic.
+     * 
+     * @param arr the array to sort
+     * @param token cancellation token
+     * @param progress progress callback, or null
+     * @param checkInterval outer iterations between checks
+     * @return true if the sort finished, false if it was cancelled
+     * @throws IllegalArgumentException if array or token is null, or the interval not positive
+     */
+    public boolean sort(int[] arr, CancellationToken token, SortProgress progress, int checkInterval) {
+        if (arr == null) {
+            throw new IllegalArgumentException("Array cannot be null");
+        }
+        if (token == null) {
+            throw new IllegalArgumentException("Token cannot be null");
+        }
+        if (checkInterval <= 0) {
+            throw new IllegalArgumentException("Check interval must be positive");
+        }
+        
+        tracker.reset();
+        tracker.startTiming();
+        long start = System.nanoTime();
+        
+        int n = arr.length;
+        int i = n <= 1 ? n : prepareAscending(arr);
+        int previousIndex = 0;
+        long previousWork = 0;
+        while (i < n) {
+            if (token.isCancelled() || Thread.currentThread().isInterrupted()) {
+                tracker.stopTiming();
+                return false;
+            }
+            int end = (int) Math.min(n, (long) i + checkInterval);
+            insertAscending(arr, i, end);
+            i = end;
+            
+            long work = tracker.getComparisons() + tracker.getArrayAccesses();
+            if (progress != null && i < n) {
+                double remaining = estimateRemainingWork(n, i, work, previousIndex, previousWork);
+                long eta = work == 0 ? 0 : (long) ((System.nanoTime() - start) * (remaining / work));
+                progress.onProgress(work / (work + remaining), eta);
+            }
+            previousIndex = i;
+            previousWork = work;
+        }
+        
+        tracker.stopTiming();
+        if (progress != null) {
+            progress.onProgress(1.0, 0);
+        }
+        return true;
+    }
+    
+    /**
+     * Fits the per-element cost a + b·k from the last chunk [from, i) and
+     * the average over [0, i), and integrates it over the elements left.
+     */
+    private static double estimateRemainingWork(int n, int i, long work, int from, long workBefore) {
+        double chunkCost = (double) (work - workBefore) / (i - from);
+        double chunkMid = (from + i) / 2.0;
+        double averageCost = (double) work / i;
+        double averageMid = i / 2.0;
+        
+        double b = chunkMid > averageMid ? Math.max(0.0, (chunkCost - averageCost) / (chunkMid - averageMid)) : 0.0;
+        double a = chunkCost - b * chunkMid;
+        double remaining = a * (n - i) + b * ((double) n * n - (double) i * i) / 2.0;
+        return Math.max(0.0, remaining);
+    }
+    
+    /**
+     * Sorts an array of integers in the order defined by a comparator.
+     * 
+     * The built-in orders ({@link IntComparator#naturalOrder()},
+     * {@link IntComparator#reverseOrder()} and {@link IntComparator#unsignedOrder()})
+     * run the ascending kernels on order-preserving bit transforms of the
+     * keys, so they never call the comparator. Any other comparator goes
+     * through a comparator-based kernel.
+     * 
+     * @param arr the array to sort
+     * @param comparator the ordering
+     * @throws IllegalArgumentException if array or comparator is null
+     */
+    public void sort(int[] arr, IntComparator comparator) {
+        if (arr == null) {
+            throw new IllegalArgumentException("Array cannot be null");
+        }
+        if (comparator == null) {
+            throw new IllegalArgumentException("Comparator cannot be null");
+        }
+        
+        tracker.reset();
+        tracker.startTiming();
+        
+        if (arr.length <= 1) {
+            tracker.stopTiming();
+            return;
+        }
+        
+        if (comparator == IntComparator.naturalOrder()) {
+            sortAscending(arr);
+        } else if (comparator == IntComparator.reverseOrder()) {
+            // ~x reverses signed order and keeps equal keys equal, so stability holds
+            complement(arr);
+            sortAscending(arr);
+            complement(arr);
+        } else if (comparator == IntComparator.unsignedOrder()) {
+            flipSignBit(arr);
+            sortAscending(arr);
+            flipSignBit(arr);
+        } else if (kernel == Kernel.BINARY && arr.length >= binarySearchThreshold) {
+            sortWithBinarySearch(arr, comparator);
         } else {
-            sortStandard(arr);
+            sortStandard(arr, comparator);
         }
         
         tracker.stopTiming();
     }
     
+    /**
+     * Dispatches to the ascending kernel selected for this instance.
+     */
+    private void sortAscending(int[] arr) {
+        insertAscending(arr, prepareAscending(arr), arr.length);
+    }
+    
+    /**
+     * Sets up the selected kernel (the sentinel kernels move the minimum to
+     * the front) and returns the first index left to insert.
+     */
+    private int prepareAscending(int[] arr) {
+        switch (kernel) {
+            case SENTINEL:
+                placeSentinel(arr);
+                return 2;
+            case PAIR:
+                placeSentinel(arr);
+                return 1;
+            default:
+                return 1;
+        }
+    }
+    
+    /**
+     * Inserts arr[from, to) into the sorted prefix arr[0, from) with the
+     * selected kernel. Every kernel keeps that prefix invariant, so the
+     * outer loop can be split into chunks.
+     */
+    private void insertAscending(int[] arr, int from, int to) {
+        switch (kernel) {
+            case BINARY:
+                if (arr.length >= binarySearchThreshold) {
+                    sortWithBinarySearch(arr, from, to);
+                } else {
+                    sortStandard(arr, from, to);
+                }
+                break;
+            case SENTINEL:
+                sortWithSentinel(arr, from, to);
+                break;
+            case PAIR:
+                sortPairInsertion(arr, from, to);
+                break;
+            default:
+                sortStandard(arr, from, to);
+        }
+    }
+    
+    private void complement(int[] arr) {
+        for (int i = 0; i < arr.length; i++) {
+            arr[i] = ~arr[i];
+        }
+        tracker.recordAccessRange(0, arr.length); // reads
+        tracker.recordAccessRange(0, arr.length); // writes
+    }
+    
+    private void flipSignBit(int[] arr) {
+        for (int i = 0; i < arr.length; i++) {
+            arr[i] ^= Integer.MIN_VALUE;
+        }
+        tracker.recordAccessRange(0, arr.length); // reads
+        tracker.recordAccessRange(0, arr.length); // writes
+    }
+    
     /**
      * Standard insertion sort implementation.
      */
-    private void sortStandard(int[] arr) {
-        for (int i = 1; i < arr.length; i++) {
+    private void sortStandard(int[] arr, int from, int to) {
+        for (int i = from; i < to; i++) {
             int key = arr[i];
-            tracker.incrementArrayAccess();
+            tracker.recordAccess(i);
             int j = i - 1;
             
             // Move elements greater than key one position ahead
             while (j >= 0 && arr[j] > key) {
                 tracker.incrementComparison();
-                tracker.incrementArrayAccess(); // arr[j] read
+                tracker.recordAccess(j); // arr[j] read
                 
                 arr[j + 1] = arr[j];
                 tracker.incrementSwap();
-                tracker.incrementArrayAccess(); // arr[j+1] write
+                tracker.recordAccess(j + 1); // arr[j+1] write
                 
                 j--;
             }
@@ -93,12 +407,12 @@ public class InsertionSort {
             // One final comparison when loop exits (except when j < 0)
             if (j >= 0) {
                 tracker.incrementComparison();
-                tracker.incrementArrayAccess();
+                tracker.recordAccess(j);
             }
             
             // Insert key at correct position
             arr[j + 1] = key;
-            tracker.incrementArrayAccess();
+            tracker.recordAccess(j + 1);
         }
     }
     
@@ -106,31 +420,169 @@ public class InsertionSort {
      * Optimized insertion sort using binary search for insertion position.
      * Works well for nearly-sorted data.
      */
-    private void sortWithBinarySearch(int[] arr) {
-        for (int i = 1; i < arr.length; i++) {
+    private void sortWithBinarySearch(int[] arr, int from, int to) {
+        for (int i = from; i < to; i++) {
             int key = arr[i];
-            tracker.incrementArrayAccess();
+            tracker.recordAccess(i);
             
             // Early termination: if element is already in correct position
             if (arr[i - 1] <= key) {
                 tracker.incrementComparison();
-                tracker.incrementArrayAccess();
+                tracker.recordAccess(i - 1);
                 continue;
             }
             tracker.incrementComparison();
-            tracker.incrementArrayAccess();
+            tracker.recordAccess(i - 1);
             
             // Find insertion position using binary search
-            int pos = binarySearchPosition(arr, key, 0, i - 1);
+            int pos = binarySearchPosition(arr, SRC, key, 0, i - 1);
             
             // Shift elements to make space
             System.arraycopy(arr, pos, arr, pos + 1, i - pos);
-            tracker.incrementArrayAccess(i - pos); // Count shifts
+            tracker.recordAccessRange(pos, i - pos); // Count shifts
             
             // Insert key at correct position
             arr[pos] = key;
             tracker.incrementSwap();
-            tracker.incrementArrayAccess();
+            tracker.recordAccess(pos);
+        }
+    }
+    
+    /**
+     * Moves the first minimum to the front by shifting the elements before it,
+     * which keeps equal elements in order. Afterwards arr[0] bounds every
+     * inner loop, so the loops need no j >= 0 check.
+     */
+    private void placeSentinel(int[] arr) {
+        int min = 0;
+        int minValue = arr[0];
+        tracker.recordAccess(0);
+        for (int i = 1; i < arr.length; i++) {
+            tracker.incrementComparison();
+            tracker.recordAccess(i);
+            if (arr[i] < minValue) {
+                minValue = arr[i];
+                min = i;
+            }
+        }
+        
+        if (min > 0) {
+            System.arraycopy(arr, 0, arr, 1, min);
+            tracker.incrementSwap(min);
+            tracker.recordAccessRange(0, min);
+            tracker.recordAccessRange(1, min);
+            arr[0] = minValue;
+            tracker.recordAccess(0);
+        }
+    }
+    
+    /**
+     * Insertion sort with the minimum as sentinel and an unguarded inner loop.
+     * Requires {@link #placeSentinel} to have run.
+     */
+    private void sortWithSentinel(int[] arr, int from, int to) {
+        for (int i = from; i < to; i++) {
+            int key = arr[i];
+            tracker.recordAccess(i);
+            int j = i - 1;
+            
+            // Unguarded: arr[0] <= key stops the loop
+            while (arr[j] > key) {
+                tracker.incrementComparison();
+                tracker.recordAccess(j); // arr[j] read
+                
+                arr[j + 1] = arr[j];
+                tracker.incrementSwap();
+                tracker.recordAccess(j + 1); // arr[j+1] write
+                
+                j--;
+            }
+            
+            // Final comparison that stopped the loop
+            tracker.incrementComparison();
+            tracker.recordAccess(j);
+            
+            arr[j + 1] = key;
+            tracker.recordAccess(j + 1);
+        }
+    }
+    
+    /**
+     * Pair insertion (as in the JDK's DualPivotQuicksort) over a sentinel:
+     * each outer iteration inserts the larger of two neighbours first, then
+     * continues shifting from its position to insert the smaller one.
+     * Requires {@link #placeSentinel} to have run.
+     */
+    private void sortPairInsertion(int[] arr, int from, int to) {
+        int i = from;
+        for (; i + 1 < to; i += 2) {
+            int first = arr[i];
+            int second = arr[i + 1];
+            tracker.recordAccessRange(i, 2);
+            
+            // On ties the later element is the larger one, which keeps the sort stable
+            int large;
+            int small;
+            tracker.incrementComparison();
+            if (first > second) {
+                large = first;
+                small = second;
+            } else {
+                large = second;
+                small = first;
+            }
+            
+            int j = i - 1;
+            while (arr[j] > large) {
+                tracker.incrementComparison();
+                tracker.recordAccess(j);
+                
+                arr[j + 2] = arr[j];
+                tracker.incrementSwap();
+                tracker.recordAccess(j + 2);
+                
+                j--;
+            }
+            tracker.incrementComparison();
+            tracker.recordAccess(j);
+            arr[j + 2] = large;
+            tracker.recordAccess(j + 2);
+            
+            while (arr[j] > small) {
+                tracker.incrementComparison();
+                tracker.recordAccess(j);
+                
+                arr[j + 1] = arr[j];
+                tracker.incrementSwap();
+                tracker.recordAccess(j + 1);
+                
+                j--;
+            }
+            tracker.incrementComparison();
+            tracker.recordAccess(j);
+            arr[j + 1] = small;
+            tracker.recordAccess(j + 1);
+        }
+        
+        // Odd element count: insert the last element on its own
+        if (i < to) {
+            int key = arr[i];
+            tracker.recordAccess(i);
+            int j = i - 1;
+            while (arr[j] > key) {
+                tracker.incrementComparison();
+                tracker.recordAccess(j);
+                
+                arr[j + 1] = arr[j];
+                tracker.incrementSwap();
+                tracker.recordAccess(j + 1);
+                
+                j--;
+            }
+            tracker.incrementComparison();
+            tracker.recordAccess(j);
+            arr[j + 1] = key;
+            tracker.recordAccess(j + 1);
         }
     }
     
@@ -138,16 +590,17 @@ public class InsertionSort {
      * Finds the correct insertion position using binary search.
      * 
      * @param arr the array
+     * @param arrId the array id reported to the cache simulator
      * @param key the element to insert
      * @param left left boundary
      * @param right right boundary
      * @return the position where key should be inserted
      */
-    private int binarySearchPosition(int[] arr, int key, int left, int right) {
+    private int binarySearchPosition(int[] arr, int arrId, int key, int left, int right) {
         while (left <= right) {
             int mid = left + (right - left) / 2;
             tracker.incrementComparison();
-            tracker.incrementArrayAccess();
+            tracker.recordAccess(arrId, mid);
             
             if (arr[mid] == key) {
                 return mid + 1;
@@ -160,8 +613,76 @@ public class InsertionSort {
         return left;
     }
     
+    /**
+     * Standard insertion sort under a comparator.
+     */
+    private void sortStandard(int[] arr, IntComparator comparator) {
+        for (int i = 1; i < arr.length; i++) {
+            int key = arr[i];
+            tracker.recordAccess(i);
+            int j = i - 1;
+            
+            while (j >= 0) {
+                tracker.incrementComparison();
+                tracker.recordAccess(j);
+                if (comparator.compare(arr[j], key) <= 0) {
+                    break;
+                }
+                
+                arr[j + 1] = arr[j];
+                tracker.incrementSwap();
+                tracker.recordAccess(j + 1);
+                
+                j--;
+            }
+            
+            arr[j + 1] = key;
+            tracker.recordAccess(j + 1);
+        }
+    }
+    
+    /**
+     * Binary insertion sort under a comparator. Searches for the position
+     * after the last equal element so equal keys keep their order.
+     */
+    private void sortWithBinarySearch(int[] arr, IntComparator comparator) {
+        for (int i = 1; i < arr.length; i++) {
+            int key = arr[i];
+            tracker.recordAccess(i);
+            
+            tracker.incrementComparison();
+            tracker.recordAccess(i - 1);
+            if (comparator.compare(arr[i - 1], key) <= 0) {
+                continue;
+            }
+            
+            int left = 0;
+            int right = i - 1;
+            while (left < right) {
+                int mid = (left + right) >>> 1;
+                tracker.incrementComparison();
+                tracker.recordAccess(mid);
+                if (comparator.compare(arr[mid], key) <= 0) {
+                    left = mid + 1;
+                } else {
+                    right = mid;
+                }
+            }
+            
+            System.arraycopy(arr, left, arr, left + 1, i - left);
+            tracker.recordAccessRange(left, i - left); // Count shifts
+            
+            arr[left] = key;
+            tracker.incrementSwap();
+            tracker.recordAccess(left);
+        }
+    }
+    
     /**
      * Sorts an array and returns a new sorted array (non-destructive).
+     * The copy is sorted by {@link #sort(int[])}, so the counters match an
+     * in-place sort of the same input plus one memory allocation; use
+     * {@link #sortInto(int[], int[])} for the faster fused copy.
      * 
      * @param arr the array to sort
      * @return a new sorted array
@@ -172,16 +693,483 @@ public class InsertionSort {
         }
         
         int[] copy = arr.clone();
-        tracker.incrementMemoryAllocation();
         sort(copy);
+        tracker.incrementMemoryAllocation();
         return copy;
     }
     
+    /**
+     * Writes the sorted contents of src into dst, leaving src unchanged.
+     * 
+     * @param src the array to sort
+     * @param dst the destination, at least as long as src (may be reused between calls)
+     * @throws IllegalArgumentException if either array is null or dst is too short
+     */
+    public void sortInto(int[] src, int[] dst) {
+        if (src == null || dst == null) {
+            throw new IllegalArgumentException("Array cannot be null");
+        }
+        sortInto(src, 0, src.length, dst, 0);
+    }
+    
+    /**
+     * Writes the sorted contents of src[from, to) into dst starting at offset,
+     * leaving src unchanged.
+     * 
+     * Copying and sorting are fused: each source element is read once and
+     * inserted directly into the growing sorted prefix of dst. Ranges longer
+     * than the leaf size are sorted as insertion-sorted leaves that are then
+     * merged back and forth between dst and a scratch buffer. The scratch
+     * buffer belongs to this instance and is reused by later calls; it is
+     * only reallocated (and counted as an allocation) when it must grow.
+     * 
+     * @param src the source array
+     * @param from first source index (inclusive)
+     * @param to last source index (exclusive)
+     * @param dst the destination array
+     * @param offset first destination index
+     * @throws IllegalArgumentException if an array is null, a range is out of
+     *         bounds, or the ranges overlap within the same array
+     */
+    public void sortInto(int[] src, int from, int to, int[] dst, int offset) {
+        if (src == null || dst == null) {
+            throw new IllegalArgumentException("Array cannot be null");
+        }
+        if (from < 0 || to > src.length || from > to) {
+            throw new IllegalArgumentException("Invalid source range [" + from + ", " + to + ")");
+        }
+        int n = to - from;
+        if (offset < 0 || offset > dst.length - n) {
+            throw new IllegalArgumentException("Destination too short for " + n + " elements at offset " + offset);
+        }
+        if (src == dst && from != offset && from < offset + n && offset < to) {
+            throw new IllegalArgumentException("Source and destination ranges overlap");
+        }
+        
+        tracker.reset();
+        tracker.startTiming();
+        
+        if (n <= leafSize) {
+            insertInto(src, from, to, dst, src == dst ? SRC : DST, offset);
+        } else {
+            hybridSortInto(src, from, to, dst, offset);
+        }
+        
+        tracker.stopTiming();
+    }
+    
+    /**
+     * Fused copy-and-insert of src[from, to) into dst[offset, ...). The dst
+     * id tells the cache simulator which buffer dst is.
+     */
+    private void insertInto(int[] src, int from, int to, int[] dst, int dstId, int offset) {
+        boolean binary = kernel == Kernel.BINARY && to - from >= binarySearchThreshold;
+        for (int i = from; i < to; i++) {
+            int key = src[i];
+            tracker.recordAccess(SRC, i);
+            int end = offset + (i - from); // next free slot in dst
+            
+            if (end == offset) {
+                dst[end] = key;
+                tracker.recordAccess(dstId, end);
+                continue;
+            }
+            
+            if (binary) {
+                // Early termination: key belongs after the sorted prefix
+                tracker.incrementComparison();
+                tracker.recordAccess(dstId, end - 1);
+                if (dst[end - 1] <= key) {
+                    dst[end] = key;
+                    tracker.recordAccess(dstId, end);
+                    continue;
+                }
+                int pos = binarySearchPosition(dst, dstId, key, offset, end - 1);
+                System.arraycopy(dst, pos, dst, pos + 1, end - pos);
+                tracker.recordAccessRange(dstId, pos, end - pos);
+                dst[pos] = key;
+                tracker.incrementSwap();
+                tracker.recordAccess(dstId, pos);
+            } else {
+                int j = end - 1;
+                while (j >= offset && dst[j] > key) {
+                    tracker.incrementComparison();
+                    tracker.recordAccess(dstId, j); // dst[j] read
+                    
+                    dst[j + 1] = dst[j];
+                    tracker.incrementSwap();
+                    tracker.recordAccess(dstId, j + 1); // dst[j+1] write
+                    
+                    j--;
+                }
+                if (j >= offset) {
+                    tracker.incrementComparison();
+                    tracker.recordAccess(dstId, j);
+                }
+                dst[j + 1] = key;
+                tracker.recordAccess(dstId, j + 1);
+            }
+        }
+    }
+    
+    /**
+     * Sorts leaves of src straight into one of two buffers, then merges runs
+     * back and forth between dst and a scratch buffer. The leaf pass targets
+     * whichever buffer makes the last merge pass land in dst, so no final
+     * copy is needed.
+     */
+    private void hybridSortInto(int[] src, int from, int to, int[] dst, int offset) {
+        int n = to - from;
+        if (scratch.length < n) {
+            scratch = new int[n];
+            tracker.incrementMemoryAllocation();
+        }
+        
+        int passes = 0;
+        for (long width = leafSize; width < n; width *= 2) {
+            passes++;
+        }
+        
+        // Buffers are addressed by (array, id, base offset)
+        int dstId = src == dst ? SRC : DST;
+        int[] in = passes % 2 == 0 ? dst : scratch;
+        int inId = passes % 2 == 0 ? dstId : SCRATCH;
+        int inBase = passes % 2 == 0 ? offset : 0;
+        int[] out = in == dst ? scratch : dst;
+        int outId = in == dst ? SCRATCH : dstId;
+        int outBase = in == dst ? 0 : offset;
+        
+        for (int lo = 0; lo < n; lo += leafSize) {
+            int hi = Math.min(n, lo + leafSize);
+            insertInto(src, from + lo, from + hi, in, inId, inBase + lo);
+        }
+        
+        for (long width = leafSize; width < n; width *= 2) {
+            for (int lo = 0; lo < n; lo += (int) Math.min(n, 2 * width)) {
+                int mid = (int) Math.min(n, lo + width);
+                int hi = (int) Math.min(n, lo + 2 * width);
+                mergeRuns(in, inId, inBase + lo, inBase + mid, inBase + hi, out, outId, outBase + lo);
+            }
+            int[] tmp = in;
+            in = out;
+            out = tmp;
+            int tmpId = inId;
+            inId = outId;
+            outId = tmpId;
+            int tmpBase = inBase;
+            inBase = outBase;
+            outBase = tmpBase;
+        }
+    }
+    
+    /**
+     * Stable merge of the sorted runs a[lo, mid) and a[mid, hi) into b at out.
+     */
+    private void mergeRuns(int[] a, int aId, int lo, int mid, int hi, int[] b, int bId, int out) {
+        if (mid >= hi || a[mid - 1] <= a[mid]) {
+            // Runs already in order (or no right run): a straight copy suffices
+            if (mid < hi) {
+                tracker.incrementComparison();
+                tracker.recordAccess(aId, mid - 1);
+                tracker.recordAccess(aId, mid);
+            }
+            System.arraycopy(a, lo, b, out, hi - lo);
+            tracker.recordAccessRange(aId, lo, hi - lo);
+            tracker.recordAccessRange(bId, out, hi - lo);
+            return;
+        }
+        tracker.incrementComparison();
+        tracker.recordAccess(aId, mid - 1);
+        tracker.recordAccess(aId, mid);
+        
+        int i = lo;
+        int j = mid;
+        int k = out;
+        while (i < mid && j < hi) {
+            tracker.incrementComparison();
+            tracker.recordAccess(aId, i); // two reads, one write
+            tracker.recordAccess(aId, j);
+            tracker.recordAccess(bId, k);
+            if (a[i] <= a[j]) {
+                b[k++] = a[i++];
+            } else {
+                b[k++] = a[j++];
+            }
+        }
+        int rest = (mid - i) + (hi - j);
+        tracker.recordAccessRange(aId, i, mid - i);
+        tracker.recordAccessRange(aId, j, hi - j);
+        tracker.recordAccessRange(bId, k, rest);
+        System.arraycopy(a, i, b, k, mid - i);
+        k += mid - i;
+        System.arraycopy(a, j, b, k, hi - j);
+    }
+    
+    /**
+     * Sorts objects by an int key, stably. Each key is extracted once; keys
+     * and references are then sorted together, so comparisons never follow
+     * references.
+     * 
+     * @param <T> the element type
+     * @param arr the array to sort
+     * @param key extracts the sort key
+     * @throws IllegalArgumentException if array or key function is null
+     */
+    public <T> void sortByIntKey(T[] arr, ToIntFunction<? super T> key) {
+        if (arr == null || key == null) {
+            throw new IllegalArgumentException("Array and key function cannot be null");
+        }
+        
+        tracker.reset();
+        tracker.startTiming();
+        
+        long[] keys = new long[arr.length];
+        tracker.incrementMemoryAllocation();
+        for (int i = 0; i < arr.length; i++) {
+            keys[i] = key.applyAsInt(arr[i]);
+        }
+        tracker.recordAccessRange(REFS, 0, arr.length);
+        tracker.recordAccessRange(KEYS, 0, arr.length);
+        sortKeyed(keys, arr);
+        
+        tracker.stopTiming();
+    }
+    
+    /**
+     * Sorts objects by a long key, stably. See {@link #sortByIntKey}.
+     * 
+     * @param <T> the element type
+     * @param arr the array to sort
+     * @param key extracts the sort key
+     * @throws IllegalArgumentException if array or key function is null
+     */
+    public <T> void sortByLongKey(T[] arr, ToLongFunction<? super T> key) {
+        if (arr == null || key == null) {
+            throw new IllegalArgumentException("Array and key function cannot be null");
+        }
+        
+        tracker.reset();
+        tracker.startTiming();
+        
+        long[] keys = new long[arr.length];
+        tracker.incrementMemoryAllocation();
+        for (int i = 0; i < arr.length; i++) {
+            keys[i] = key.applyAsLong(arr[i]);
+        }
+        tracker.recordAccessRange(REFS, 0, arr.length);
+        tracker.recordAccessRange(KEYS, 0, arr.length);
+        sortKeyed(keys, arr);
+        
+        tracker.stopTiming();
+    }
+    
+    /**
+     * Sorts objects by a double key, stably, in the order of
+     * {@link Double#compare} (-0.0 before 0.0, NaN last). See {@link #sortByIntKey}.
+     * 
+     * @param <T> the element type
+     * @param arr the array to sort
+     * @param key extracts the sort key
+     * @throws IllegalArgumentException if array or key function is null
+     */
+    public <T> void sortByDoubleKey(T[] arr, ToDoubleFunction<? super T> key) {
+        if (arr == null || key == null) {
+            throw new IllegalArgumentException("Array and key function cannot be null");
+        }
+        
+        tracker.reset();
+        tracker.startTiming();
+        
+        long[] keys = new long[arr.length];
+        tracker.incrementMemoryAllocation();
+        for (int i = 0; i < arr.length; i++) {
+            // Flipping the magnitude bits of negatives makes signed long order match Double.compare
+            long bits = Double.doubleToLongBits(key.applyAsDouble(arr[i]));
+            keys[i] = bits ^ ((bits >> 63) & Long.MAX_VALUE);
+        }
+        tracker.recordAccessRange(REFS, 0, arr.length);
+        tracker.recordAccessRange(KEYS, 0, arr.length);
+        sortKeyed(keys, arr);
+        
+        tracker.stopTiming();
+    }
+    
+    /**
+     * Sorts keys and refs together by key: insertion for short inputs,
+     * otherwise insertion-sorted leaves merged bottom-up through buffers.
+     * Int and double keys are mapped to order-preserving longs so all three
+     * variants share this kernel.
+     */
+    private void sortKeyed(long[] keys, Object[] refs) {
+        int n = keys.length;
+        if (n <= leafSize) {
+            insertKeyed(keys, refs, 0, n);
+            return;
+        }
+        
+        for (int lo = 0; lo < n; lo += leafSize) {
+            insertKeyed(keys, refs, lo, Math.min(n, lo + leafSize));
+        }
+        
+        long[] inKeys = keys;
+        Object[] inRefs = refs;
+        long[] outKeys = new long[n];
+        Object[] outRefs = new Object[n];
+        tracker.incrementMemoryAllocation();
+        tracker.incrementMemoryAllocation();
+        int inId = KEYS; // ids of the keys buffers, swapped with them
+        int outId = OUT_KEYS;
+        for (long width = leafSize; width < n; width *= 2) {
+            for (int lo = 0; lo < n; lo += (int) Math.min(n, 2 * width)) {
+                int mid = (int) Math.min(n, lo + width);
+                int hi = (int) Math.min(n, lo + 2 * width);
+                mergeKeyed(inKeys, inRefs, inId, lo, mid, hi, outKeys, outRefs, outId);
+            }
+            long[] tmpKeys = inKeys;
+            inKeys = outKeys;
+            outKeys = tmpKeys;
+            Object[] tmpRefs = inRefs;
+            inRefs = outRefs;
+            outRefs = tmpRefs;
+            int tmpId = inId;
+            inId = outId;
+            outId = tmpId;
+        }
+        
+        if (inRefs != refs) {
+            System.arraycopy(inRefs, 0, refs, 0, n);
+            tracker.recordAccessRange(OUT_REFS, 0, n);
+            tracker.recordAccessRange(REFS, 0, n);
+        }
+    }
+    
+    /**
+     * Stable insertion sort of keys[lo, hi), moving refs alongside.
+     */
+    private void insertKeyed(long[] keys, Object[] refs, int lo, int hi) {
+        boolean binary = kernel == Kernel.BINARY && hi - lo >= binarySearchThreshold;
+        for (int i = lo + 1; i < hi; i++) {
+            long key = keys[i];
+            Object ref = refs[i];
+            tracker.recordAccess(KEYS, i);
+            
+            // Early termination: already after the sorted prefix
+            tracker.incrementComparison();
+            tracker.recordAccess(KEYS, i - 1);
+            if (keys[i - 1] <= key) {
+                continue;
+            }
+            
+            int pos;
+            if (binary) {
+                // Upper bound keeps equal keys in input order
+                int left = lo;
+                int right = i - 1;
+                while (left < right) {
+                    int mid = (left + right) >>> 1;
+                    tracker.incrementComparison();
+                    tracker.recordAccess(KEYS, mid);
+                    if (keys[mid] <= key) {
+                        left = mid + 1;
+                    } else {
+                        right = mid;
+                    }
+                }
+                pos = left;
+            } else {
+                pos = i - 1;
+                while (pos > lo) {
+                    tracker.incrementComparison();
+                    tracker.recordAccess(KEYS, pos - 1);
+                    if (keys[pos - 1] <= key) {
+                        break;
+                    }
+                    pos--;
+                }
+            }
+            
+            System.arraycopy(keys, pos, keys, pos + 1, i - pos);
+            System.arraycopy(refs, pos, refs, pos + 1, i - pos);
+            tracker.incrementSwap(i - pos);
+            tracker.recordAccessRange(KEYS, pos, i - pos);
+            tracker.recordAccessRange(REFS, pos, i - pos);
+            keys[pos] = key;
+            refs[pos] = ref;
+            tracker.recordAccess(KEYS, pos);
+        }
+    }
+    
+    /**
+     * Stable merge of the keyed runs [lo, mid) and [mid, hi) into the output buffers.
+     */
+    private void mergeKeyed(long[] keys, Object[] refs, int keysId, int lo, int mid, int hi,
+                            long[] outKeys, Object[] outRefs, int outKeysId) {
+        int i = lo;
+        int j = mid;
+        int k = lo;
+        while (i < mid && j < hi) {
+            tracker.incrementComparison();
+            tracker.recordAccess(keysId, i);
+            tracker.recordAccess(keysId, j);
+            tracker.recordAccess(outKeysId, k);
+            if (keys[i] <= keys[j]) {
+                outKeys[k] = keys[i];
+                outRefs[k++] = refs[i++];
+            } else {
+                outKeys[k] = keys[j];
+                outRefs[k++] = refs[j++];
+            }
+        }
+        System.arraycopy(keys, i, outKeys, k, mid - i);
+        System.arraycopy(refs, i, outRefs, k, mid - i);
+        tracker.recordAccessRange(keysId, i, mid - i);
+        tracker.recordAccessRange(outKeysId, k, mid - i);
+        k += mid - i;
+        System.arraycopy(keys, j, outKeys, k, hi - j);
+        System.arraycopy(refs, j, outRefs, k, hi - j);
+        tracker.recordAccessRange(keysId, j, hi - j);
+        tracker.recordAccessRange(outKeysId, k, hi - j);
+    }
+    
+    /**
+     * Gets the registry name of an insertion kernel: "insertion-std" and
+     * "insertion-opt" for the original two modes, "insertion-" plus the
+     * kernel name for the others.
+     * 
+     * @param kernel the kernel
+     * @return the engine name
+     */
+    public static String engineName(Kernel kernel) {
+        switch (kernel) {
+            case STANDARD:
+                return "insertion-std";
+            case BINARY:
+                return "insertion-opt";
+            default:
+                return "insertion-" + kernel.name().toLowerCase(Locale.ROOT);
+        }
+    }
+    
+    @Override
+    public String name() {
+        return engineName(kernel);
+    }
+    
+    /**
+     * Gets the insertion kernel used by this instance.
+     * 
+     * @return the kernel
+     */
+    public Kernel getKernel() {
+        return kernel;
+    }
+    
     /**
      * Gets the performance tracker for metrics analysis.
      * 
      * @return the performance tracker
      */
+    @Override
     public PerformanceTracker getTracker() {
         return tracker;
     }
@@ -0,0 +1,66 @@
+package algorithms;
+
+/**
+ * Comparison function over primitive ints, avoiding the boxing that
+ * {@link java.util.Comparator} of {@code Integer} requires.
+ *
+ * The instances returned by {@link #naturalOrder()}, {@link #reverseOrder()}
+ * and {@link #unsignedOrder()} are singletons that {@link InsertionSort}
+ * recognizes and sorts without calling the comparator at all.
+ *
+ * @author Student A
+ */
+@FunctionalInterface
+public interface IntComparator {
+
+    /**
+     * Compares two values.
+     *
+     * @param a the first value
+     * @param b the second value
+     * @return negative if a sorts before b, zero if equal, positive otherwise
+     */
+    int compare(int a, int b);
+
+    /**
+     * Gets the ascending signed order.
+     *
+     * @return the natural-order comparator
+     */
+    static IntComparator naturalOrder() {
+        return Orders.NATURAL;
+    }
+
+    /**
+     * Gets the descending signed order.
+     *
+     * @return the reverse-order comparator
+     */
+    static IntComparator reverseOrder() {
+        return Orders.REVERSE;
+    }
+
+    /**
+     * Gets the ascending order of the values read as unsigned 32-bit integers.
+     *
+     * @return the unsigned-order comparator
+     */
+    static IntComparator unsignedOrder() {
+        return Orders.UNSIGNED;
+    }
+
+    /**
+     * Gets the opposite of this order.
+     *
+     * @return a comparator imposing the reverse ordering
+     */
+    default IntComparator reversed() {
+        if (this == Orders.NATURAL) {
+            return Orders.REVERSE;
+        }
+        if (this == Orders.REVERSE) {
+            return Orders.NATURAL;
+        }
+        return (a, b) -> compare(b, a);
+    }
+}
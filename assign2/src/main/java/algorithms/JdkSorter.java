@@ -0,0 +1,50 @@
+package algorithms;
+
+import metrics.PerformanceTracker;
+import java.util.Arrays;
+
+/**
+ * Baseline engine backed by {@link Arrays#sort(int[])} (dual-pivot
+ * quicksort) or {@link Arrays#parallelSort(int[])}. Only time is tracked.
+ *
+ * @author Student A
+ */
+public class JdkSorter implements Sorter {
+
+    private final PerformanceTracker tracker = new PerformanceTracker();
+    private final boolean parallel;
+
+    /**
+     * Creates a JDK baseline.
+     *
+     * @param parallel if true, uses {@link Arrays#parallelSort(int[])}
+     */
+    public JdkSorter(boolean parallel) {
+        this.parallel = parallel;
+    }
+
+    @Override
+    public String name() {
+        return parallel ? SorterRegistry.JDK_PARALLEL : SorterRegistry.JDK_SORT;
+    }
+
+    @Override
+    public void sort(int[] arr) {
+        if (arr == null) {
+            throw new IllegalArgumentException("Array cannot be null");
+        }
+        tracker.reset();
+        tracker.startTiming();
+        if (parallel) {
+            Arrays.parallelSort(arr);
+        } else {
+            Arrays.sort(arr);
+        }
+        tracker.stopTiming();
+    }
+
+    @Override
+    public PerformanceTracker getTracker() {
+        return tracker;
+    }
+}
@@ -0,0 +1,238 @@
+package algorithms;
+
+import metrics.PerformanceTracker;
+import java.util.function.IntConsumer;
+
+/**
+ * Streaming reorderer for k-sorted input: every element is at most k
+ * positions away from its place in sorted order, as in event feeds that
+ * arrive almost in timestamp order.
+ *
+ * Values are kept in a sorted ring buffer of k + 1 slots. Each value is
+ * placed by binary search, then the shorter side of the buffer shifts by
+ * one slot. Once k + 1 values are buffered, no later value can belong
+ * before the smallest, so it is emitted downstream. Memory is O(k) and
+ * each element costs O(log k) comparisons; the shift covers the distance
+ * to the nearer end, which stays short for nearly-ordered streams.
+ *
+ * Input that breaks the k bound is still emitted, but possibly out of
+ * order; such values are counted in {@link #getLateCount()}.
+ *
+ * @author Student A
+ */
+public class KSortedReorderer implements IntConsumer {
+
+    private final int k;
+    private final IntConsumer downstream;
+    private final int[] ring;
+    private final int mask;
+    private final PerformanceTracker tracker;
+    private int head;
+    private int size;
+    private long received;
+    private long emitted;
+    private long lateCount;
+    private boolean hasEmitted;
+    private int lastEmitted;
+    private long firstNanos;
+    private long lastNanos;
+
+    /**
+     * Creates a reorderer.
+     *
+     * @param k maximum displacement of any input element
+     * @param downstream receives the values in sorted order
+     * @throws IllegalArgumentException if k is negative or too large, or downstream is null
+     */
+    public KSortedReorderer(int k, IntConsumer downstream) {
+        if (k < 0 || k >= 1 << 30) {
+            throw new IllegalArgumentException("k must be in [0, 2^30)");
+        }
+        if (downstream == null) {
+            throw new IllegalArgumentException("Downstream cannot be null");
+        }
+        this.k = k;
+        this.downstream = downstream;
+        // Power-of-two capacity so logical indices wrap with a mask
+        this.ring = new int[k == 0 ? 1 : Integer.highestOneBit(k) << 1];
+        this.mask = ring.length - 1;
+        this.tracker = new PerformanceTracker();
+    }
+
+    /**
+     * Reorders a whole k-sorted array.
+     *
+     * @param input the values in arrival order (not modified)
+     * @param k maximum displacement
+     * @return the values in sorted order if input is k-sorted
+     * @throws IllegalArgumentException if input is null or k invalid
+     */
+    public static int[] reorder(int[] input, int k) {
+        if (input == null) {
+            throw new IllegalArgumentException("Array cannot be null");
+        }
+        int[] output = new int[input.length];
+        int[] count = {0};
+        KSortedReorderer reorderer = new KSortedReorderer(k, value -> output[count[0]++] = value);
+        for (int value : input) {
+            reorderer.accept(value);
+        }
+        reorderer.flush();
+        return output;
+    }
+
+    /**
+     * Adds one value and emits the smallest buffered value once it is safe.
+     *
+     * @param value the next value of the stream
+     */
+    @Override
+    public void accept(int value) {
+        if (received == 0) {
+            firstNanos = System.nanoTime();
+        }
+        received++;
+        lastNanos = 0;
+
+        if (hasEmitted && value < lastEmitted) {
+            lateCount++;
+        }
+        insert(value);
+        if (size > k) {
+            emitHead();
+        }
+    }
+
+    /**
+     * Emits every buffered value, e.g. at the end of the stream.
+     */
+    public void flush() {
+        while (size > 0) {
+            emitHead();
+        }
+        lastNanos = System.nanoTime();
+    }
+
+    /**
+     * Places a value after any equal values, shifting the shorter side.
+     */
+    private void insert(int value) {
+        int lo = 0;
+        int hi = size;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            tracker.incrementComparison();
+            tracker.incrementArrayAccess();
+            if (ring[(head + mid) & mask] <= value) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+
+        if (lo >= size - lo) {
+            // Shift [lo, size) one slot towards the tail
+            for (int j = size; j > lo; j--) {
+                ring[(head + j) & mask] = ring[(head + j - 1) & mask];
+            }
+            tracker.incrementSwap(size - lo);
+        } else {
+            // Shift [0, lo) one slot towards the head
+            head = (head - 1) & mask;
+            for (int j = 0; j < lo; j++) {
+                ring[(head + j) & mask] = ring[(head + j + 1) & mask];
+            }
+            tracker.incrementSwap(lo);
+        }
+        tracker.incrementArrayAccess(2L * Math.min(lo, size - lo) + 1);
+        ring[(head + lo) & mask] = value;
+        size++;
+    }
+
+    private void emitHead() {
+        int value = ring[head];
+        tracker.incrementArrayAccess();
+        head = (head + 1) & mask;
+        size--;
+        emitted++;
+        hasEmitted = true;
+        lastEmitted = value;
+        downstream.accept(value);
+    }
+
+    public int getK() {
+        return k;
+    }
+
+    public long getReceived() {
+        return received;
+    }
+
+    public long getEmitted() {
+        return emitted;
+    }
+
+    /**
+     * Gets the number of values waiting in the buffer.
+     *
+     * @return the buffered count, at most k
+     */
+    public int getBuffered() {
+        return size;
+    }
+
+    /**
+     * Gets the number of values that arrived after a larger value had
+     * already been emitted, i.e. that broke the k bound.
+     *
+     * @return the late count
+     */
+    public long getLateCount() {
+        return lateCount;
+    }
+
+    /**
+     * Gets the comparisons and shifts spent on buffering.
+     *
+     * @return the tracker
+     */
+    public PerformanceTracker getTracker() {
+        return tracker;
+    }
+
+    /**
+     * Gets the rate from the first value to the last flush, or to now if
+     * the stream has not been flushed since. Includes the time spent
+     * downstream and waiting for input.
+     *
+     * @return values per second, or 0 if nothing has arrived
+     */
+    public double getElementsPerSecond() {
+        if (received == 0) {
+            return 0.0;
+        }
+        long elapsed = (lastNanos != 0 ? lastNanos : System.nanoTime()) - firstNanos;
+        return elapsed <= 0 ? 0.0 : received / (elapsed / 1e9);
+    }
+
+    @Override
+    public String toString() {
+        return String.format(
+            "K-Sorted Reorderer (k=%,d):\n" +
+            "  Received: %,d, emitted: %,d, buffered: %,d, late: %,d\n" +
+            "  Comparisons: %,d (%.2f per element)\n" +
+            "  Shifts: %,d (%.2f per element)\n" +
+            "  Throughput: %,.0f elements/s",
+            k,
+            received,
+            emitted,
+            size,
+            lateCount,
+            tracker.getComparisons(),
+            received == 0 ? 0.0 : (double) tracker.getComparisons() / received,
+            tracker.getSwaps(),
+            received == 0 ? 0.0 : (double) tracker.getSwaps() / received,
+            getElementsPerSecond()
+        );
+    }
+}
@@ -0,0 +1,383 @@
+package algorithms;
+
+import metrics.PerformanceTracker;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Merges k sorted int sequences with a loser tree in O(n log k).
+ *
+ * Concatenating sorted shards and insertion-sorting the result costs an
+ * O(n) shift for every element of a shard that belongs before the previous
+ * one; merging them directly touches each element once and needs only
+ * ceil(log2 k) comparisons per output element.
+ *
+ * Inputs are either separate arrays or consecutive ranges of one array. The
+ * merge is stable: equal values keep the order of their inputs. In parallel
+ * mode the value range is cut at pivots sampled from all inputs; each input
+ * is split at the lower bound of every pivot, and the resulting slices are
+ * merged independently into disjoint parts of the output.
+ *
+ * @author Student A
+ */
+public class KWayMerge {
+
+    /** Outputs smaller than this are always merged on the calling thread. */
+    private static final int PARALLEL_THRESHOLD = 1 << 16;
+
+    private final PerformanceTracker tracker;
+    private final int parallelism;
+
+    /**
+     * Creates a sequential merger.
+     */
+    public KWayMerge() {
+        this(1);
+    }
+
+    /**
+     * Creates a merger.
+     *
+     * @param parallelism number of slices merged concurrently; 1 merges on the calling thread
+     * @throws IllegalArgumentException if parallelism is not positive
+     */
+    public KWayMerge(int parallelism) {
+        if (parallelism <= 0) {
+            throw new IllegalArgumentException("Parallelism must be positive");
+        }
+        this.tracker = new PerformanceTracker();
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * Merges sorted arrays into a new array.
+     *
+     * @param inputs the sorted arrays
+     * @return the merged array
+     * @throws IllegalArgumentException if inputs or any input is null
+     */
+    public int[] merge(int[]... inputs) {
+        if (inputs == null) {
+            throw new IllegalArgumentException("Inputs cannot be null");
+        }
+        long total = 0;
+        for (int[] input : inputs) {
+            if (input == null) {
+                throw new IllegalArgumentException("Input arrays cannot be null");
+            }
+            total += input.length;
+        }
+        if (total > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Merged length exceeds the maximum array size");
+        }
+        int[] dst = new int[(int) total];
+        merge(inputs, dst, 0);
+        tracker.incrementMemoryAllocation();
+        return dst;
+    }
+
+    /**
+     * Merges sorted arrays into dst starting at offset.
+     *
+     * @param inputs the sorted arrays
+     * @param dst destination array
+     * @param offset first index written in dst
+     * @throws IllegalArgumentException if an argument is null or dst is too small
+     */
+    public void merge(int[][] inputs, int[] dst, int offset) {
+        if (inputs == null || dst == null) {
+            throw new IllegalArgumentException("Arrays cannot be null");
+        }
+        int k = inputs.length;
+        int[] starts = new int[k];
+        int[] ends = new int[k];
+        for (int i = 0; i < k; i++) {
+            if (inputs[i] == null) {
+                throw new IllegalArgumentException("Input arrays cannot be null");
+            }
+            ends[i] = inputs[i].length;
+        }
+        run(inputs, starts, ends, dst, offset);
+    }
+
+    /**
+     * Merges consecutive sorted ranges of one array into a new array. Range i
+     * is src[bounds[i], bounds[i + 1]).
+     *
+     * @param src the array holding the runs
+     * @param bounds k + 1 non-decreasing run boundaries
+     * @return the merged elements of src[bounds[0], bounds[k])
+     * @throws IllegalArgumentException if an argument is null or the bounds are invalid
+     */
+    public int[] mergeRanges(int[] src, int[] bounds) {
+        if (bounds == null || bounds.length == 0) {
+            throw new IllegalArgumentException("Bounds must have at least one entry");
+        }
+        int[] dst = new int[Math.max(0, bounds[bounds.length - 1] - bounds[0])];
+        mergeRanges(src, bounds, dst, 0);
+        tracker.incrementMemoryAllocation();
+        return dst;
+    }
+
+    /**
+     * Merges consecutive sorted ranges of one array into dst. Range i is
+     * src[bounds[i], bounds[i + 1]). dst must not overlap the ranges.
+     *
+     * @param src the array holding the runs
+     * @param bounds k + 1 non-decreasing run boundaries
+     * @param dst destination array
+     * @param offset first index written in dst
+     * @throws IllegalArgumentException if an argument is null or the bounds are invalid
+     */
+    public void mergeRanges(int[] src, int[] bounds, int[] dst, int offset) {
+        if (src == null || bounds == null || dst == null) {
+            throw new IllegalArgumentException("Arrays cannot be null");
+        }
+        if (bounds.length == 0) {
+            throw new IllegalArgumentException("Bounds must have at least one entry");
+        }
+        int k = bounds.length - 1;
+        int[][] inputs = new int[k][];
+        int[] starts = new int[k];
+        int[] ends = new int[k];
+        for (int i = 0; i < k; i++) {
+            if (bounds[i] < 0 || bounds[i] > bounds[i + 1] || bounds[i + 1] > src.length) {
+                throw new IllegalArgumentException("Invalid run bounds: " + Arrays.toString(bounds));
+            }
+            inputs[i] = src;
+            starts[i] = bounds[i];
+            ends[i] = bounds[i + 1];
+        }
+        run(inputs, starts, ends, dst, offset);
+    }
+
+    /**
+     * Validates the destination, then merges sequentially or in slices.
+     */
+    private void run(int[][] inputs, int[] starts, int[] ends, int[] dst, int offset) {
+        long total = 0;
+        for (int i = 0; i < inputs.length; i++) {
+            total += ends[i] - starts[i];
+        }
+        if (offset < 0 || offset + total > dst.length) {
+            throw new IllegalArgumentException("Destination too small for merged output");
+        }
+
+        tracker.reset();
+        tracker.startTiming();
+
+        int slices = (int) Math.min(parallelism, total / PARALLEL_THRESHOLD);
+        if (slices <= 1 || inputs.length < 2) {
+            tracker.incrementComparison(mergeSlice(inputs, starts, ends, dst, offset));
+        } else {
+            mergeParallel(inputs, starts, ends, dst, offset, slices);
+        }
+        tracker.incrementArrayAccess(2 * total); // one read and one write per element
+
+        tracker.stopTiming();
+    }
+
+    /**
+     * Splits the inputs at sampled pivots and merges the slices on the
+     * common pool.
+     */
+    private void mergeParallel(int[][] inputs, int[] starts, int[] ends, int[] dst, int offset, int slices) {
+        int k = inputs.length;
+        int[] pivots = samplePivots(inputs, starts, ends, slices);
+
+        // cuts[s][i]: where slice s starts in input i
+        int[][] cuts = new int[pivots.length + 2][];
+        cuts[0] = starts.clone();
+        cuts[cuts.length - 1] = ends.clone();
+        long searchComparisons = 0;
+        for (int s = 0; s < pivots.length; s++) {
+            cuts[s + 1] = new int[k];
+            for (int i = 0; i < k; i++) {
+                // Lower bound of the pivot in what remains of input i
+                int lo = cuts[s][i];
+                int hi = ends[i];
+                while (lo < hi) {
+                    int mid = (lo + hi) >>> 1;
+                    searchComparisons++;
+                    if (inputs[i][mid] < pivots[s]) {
+                        lo = mid + 1;
+                    } else {
+                        hi = mid;
+                    }
+                }
+                cuts[s + 1][i] = lo;
+            }
+        }
+        tracker.incrementComparison(searchComparisons);
+
+        List<SliceTask> tasks = new ArrayList<>();
+        int out = offset;
+        for (int s = 0; s + 1 < cuts.length; s++) {
+            tasks.add(new SliceTask(inputs, cuts[s], cuts[s + 1], dst, out));
+            for (int i = 0; i < k; i++) {
+                out += cuts[s + 1][i] - cuts[s][i];
+            }
+        }
+
+        ForkJoinPool.commonPool().invoke(new RecursiveAction() {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected void compute() {
+                ForkJoinTask.invokeAll(tasks);
+            }
+        });
+        for (SliceTask task : tasks) {
+            tracker.incrementComparison(task.comparisons);
+        }
+    }
+
+    /**
+     * Picks up to slices - 1 distinct, increasing pivot values from evenly
+     * spaced samples of every input.
+     */
+    private static int[] samplePivots(int[][] inputs, int[] starts, int[] ends, int slices) {
+        int k = inputs.length;
+        int[] samples = new int[k * slices];
+        int count = 0;
+        for (int i = 0; i < k; i++) {
+            int length = ends[i] - starts[i];
+            if (length == 0) {
+                continue;
+            }
+            for (int s = 0; s < slices; s++) {
+                samples[count++] = inputs[i][starts[i] + (int) ((long) length * s / slices)];
+            }
+        }
+        Arrays.sort(samples, 0, count);
+
+        int[] pivots = new int[slices - 1];
+        int distinct = 0;
+        for (int s = 1; s < slices; s++) {
+            int pivot = samples[(int) ((long) count * s / slices)];
+            if (distinct == 0 || pivot > pivots[distinct - 1]) {
+                pivots[distinct++] = pivot;
+            }
+        }
+        return Arrays.copyOf(pivots, distinct);
+    }
+
+    private static final class SliceTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final int[][] inputs;
+        private final int[] starts;
+        private final int[] ends;
+        private final int[] dst;
+        private final int offset;
+        private long comparisons;
+
+        SliceTask(int[][] inputs, int[] starts, int[] ends, int[] dst, int offset) {
+            this.inputs = inputs;
+            this.starts = starts;
+            this.ends = ends;
+            this.dst = dst;
+            this.offset = offset;
+        }
+
+        @Override
+        protected void compute() {
+            comparisons = mergeSlice(inputs, starts, ends, dst, offset);
+        }
+    }
+
+    /**
+     * Merges inputs[i][starts[i], ends[i]) into dst at offset with a loser
+     * tree and returns the number of key comparisons.
+     *
+     * The tree has internal nodes 1..k-1 holding the loser of each match and
+     * leaves k..2k-1 standing for the inputs; node 0 holds the overall
+     * winner. Exhausted inputs lose every match, and ties go to the lower
+     * input index, which makes the merge stable.
+     */
+    private static long mergeSlice(int[][] inputs, int[] starts, int[] ends, int[] dst, int offset) {
+        int k = inputs.length;
+        int[] pos = starts.clone();
+        int total = 0;
+        for (int i = 0; i < k; i++) {
+            total += ends[i] - pos[i];
+        }
+        if (k == 0 || total == 0) {
+            return 0;
+        }
+        if (k == 1) {
+            System.arraycopy(inputs[0], pos[0], dst, offset, total);
+            return 0;
+        }
+
+        long comparisons = 0;
+        int[] loser = new int[k];
+        int[] winner = new int[2 * k];
+        for (int i = 0; i < k; i++) {
+            winner[k + i] = i;
+        }
+        for (int node = k - 1; node >= 1; node--) {
+            int left = winner[2 * node];
+            int right = winner[2 * node + 1];
+            if (pos[left] < ends[left] && pos[right] < ends[right]) {
+                comparisons++;
+            }
+            if (beats(inputs, pos, ends, left, right)) {
+                winner[node] = left;
+                loser[node] = right;
+            } else {
+                winner[node] = right;
+                loser[node] = left;
+            }
+        }
+        int champion = winner[1];
+
+        int end = offset + total;
+        for (int out = offset; out < end; out++) {
+            dst[out] = inputs[champion][pos[champion]++];
+
+            // Replay the matches on the path from the champion's leaf to the root
+            int candidate = champion;
+            for (int node = (candidate + k) >>> 1; node >= 1; node >>>= 1) {
+                int opponent = loser[node];
+                if (pos[candidate] < ends[candidate] && pos[opponent] < ends[opponent]) {
+                    comparisons++;
+                }
+                if (beats(inputs, pos, ends, opponent, candidate)) {
+                    loser[node] = candidate;
+                    candidate = opponent;
+                }
+            }
+            champion = candidate;
+        }
+        return comparisons;
+    }
+
+    /**
+     * Whether input a's head sorts strictly before input b's head.
+     */
+    private static boolean beats(int[][] inputs, int[] pos, int[] ends, int a, int b) {
+        if (pos[a] >= ends[a]) {
+            return false;
+        }
+        if (pos[b] >= ends[b]) {
+            return true;
+        }
+        int va = inputs[a][pos[a]];
+        int vb = inputs[b][pos[b]];
+        return va < vb || (va == vb && a < b);
+    }
+
+    /**
+     * Gets the performance tracker for the last merge.
+     *
+     * @return the tracker
+     */
+    public PerformanceTracker getTracker() {
+        return tracker;
+    }
+}
@@ -0,0 +1,18 @@
+package algorithms;
+
+/**
+ * Holder for the built-in {@link IntComparator} singletons. Interface
+ * members are always public, so the holder lives outside the interface to
+ * keep these fields out of the API.
+ *
+ * @author Student A
+ */
+final class Orders {
+
+    static final IntComparator NATURAL = Integer::compare;
+    static final IntComparator REVERSE = (a, b) -> Integer.compare(b, a);
+    static final IntComparator UNSIGNED = Integer::compareUnsigned;
+
+    private Orders() {
+    }
+}
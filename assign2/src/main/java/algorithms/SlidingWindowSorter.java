@@ -0,0 +1,209 @@
+package algorithms;
+
+import metrics.PerformanceTracker;
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * Keeps the last W samples of a stream in sorted order for rolling
+ * statistics (median, percentiles, min and max).
+ *
+ * Re-sorting every window costs O(W²) with insertion sort. Here each slide
+ * binary-searches the expiring sample and the insertion point of the new
+ * one, then closes the old slot and opens the new one with a single
+ * arraycopy of the elements between them. A slide costs O(log W)
+ * comparisons plus a shift of at most W elements, usually far fewer when
+ * consecutive samples are close; every query afterwards is O(1).
+ *
+ * @author Student A
+ */
+public class SlidingWindowSorter {
+
+    private final int capacity;
+    private final int[] sorted;
+    private final int[] arrivals;
+    private final PerformanceTracker tracker;
+    private int oldest;
+    private int size;
+
+    /**
+     * Creates an empty window.
+     *
+     * @param capacity number of most recent samples kept (W)
+     * @throws IllegalArgumentException if capacity is not positive
+     */
+    public SlidingWindowSorter(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Window capacity must be positive");
+        }
+        this.capacity = capacity;
+        this.sorted = new int[capacity];
+        this.arrivals = new int[capacity];
+        this.tracker = new PerformanceTracker();
+    }
+
+    /**
+     * Adds a sample; once the window is full the oldest sample expires.
+     *
+     * @param value the new sample
+     */
+    public void add(int value) {
+        if (size < capacity) {
+            int pos = upperBound(value);
+            System.arraycopy(sorted, pos, sorted, pos + 1, size - pos);
+            tracker.incrementArrayAccess(size - pos);
+            sorted[pos] = value;
+            arrivals[size] = value;
+            size++;
+            tracker.incrementSwap();
+            return;
+        }
+
+        int expired = arrivals[oldest];
+        arrivals[oldest] = value;
+        oldest = oldest + 1 == capacity ? 0 : oldest + 1;
+
+        int from = lowerBound(expired);
+        int to = upperBound(value);
+        if (to > from) {
+            // New sample goes right of the expired slot: shift (from, to) left
+            to--;
+            System.arraycopy(sorted, from + 1, sorted, from, to - from);
+            tracker.incrementArrayAccess(to - from);
+        } else {
+            // New sample goes left of it: shift [to, from) right
+            System.arraycopy(sorted, to, sorted, to + 1, from - to);
+            tracker.incrementArrayAccess(from - to);
+        }
+        sorted[to] = value;
+        tracker.incrementSwap();
+    }
+
+    /**
+     * Gets the median; the mean of the two middle samples for an even count.
+     *
+     * @return the median
+     * @throws NoSuchElementException if the window is empty
+     */
+    public double median() {
+        checkNotEmpty();
+        int mid = size >>> 1;
+        return (size & 1) == 1 ? sorted[mid] : ((long) sorted[mid - 1] + sorted[mid]) / 2.0;
+    }
+
+    /**
+     * Gets a quantile by the nearest-rank method, so the result is always
+     * one of the samples.
+     *
+     * @param q the quantile in [0, 1], e.g. 0.99 for p99
+     * @return the smallest sample with at least q of the window at or below it
+     * @throws IllegalArgumentException if q is outside [0, 1]
+     * @throws NoSuchElementException if the window is empty
+     */
+    public int quantile(double q) {
+        if (!(q >= 0.0 && q <= 1.0)) {
+            throw new IllegalArgumentException("Quantile must be in [0, 1]");
+        }
+        checkNotEmpty();
+        int rank = (int) Math.ceil(q * size);
+        return sorted[Math.max(0, rank - 1)];
+    }
+
+    /**
+     * Gets the smallest sample in the window.
+     *
+     * @return the minimum
+     * @throws NoSuchElementException if the window is empty
+     */
+    public int min() {
+        checkNotEmpty();
+        return sorted[0];
+    }
+
+    /**
+     * Gets the largest sample in the window.
+     *
+     * @return the maximum
+     * @throws NoSuchElementException if the window is empty
+     */
+    public int max() {
+        checkNotEmpty();
+        return sorted[size - 1];
+    }
+
+    /**
+     * Gets the sample of a given rank in the window.
+     *
+     * @param rank zero-based rank in ascending order
+     * @return the sample
+     * @throws IndexOutOfBoundsException if rank is out of range
+     */
+    public int get(int rank) {
+        if (rank < 0 || rank >= size) {
+            throw new IndexOutOfBoundsException("Rank " + rank + " out of range for size " + size);
+        }
+        return sorted[rank];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Copies the window in ascending order.
+     *
+     * @return the sorted samples
+     */
+    public int[] toArray() {
+        return Arrays.copyOf(sorted, size);
+    }
+
+    /**
+     * Gets the comparisons and shifted elements accumulated over all slides.
+     *
+     * @return the tracker
+     */
+    public PerformanceTracker getTracker() {
+        return tracker;
+    }
+
+    private void checkNotEmpty() {
+        if (size == 0) {
+            throw new NoSuchElementException("Window is empty");
+        }
+    }
+
+    private int lowerBound(int value) {
+        int lo = 0;
+        int hi = size;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            tracker.incrementComparison();
+            if (sorted[mid] < value) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    private int upperBound(int value) {
+        int lo = 0;
+        int hi = size;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            tracker.incrementComparison();
+            if (sorted[mid] <= value) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+}
@@ -0,0 +1,18 @@
+package algorithms;
+
+/**
+ * Receives progress reports from a long-running sort.
+ *
+ * @author Student A
+ */
+@FunctionalInterface
+public interface SortProgress {
+
+    /**
+     * Called on the sorting thread after each chunk of work.
+     *
+     * @param fractionDone estimated share of the total work done, in [0, 1]
+     * @param etaNanos estimated time left in nanoseconds, 0 when done
+     */
+    void onProgress(double fractionDone, long etaNanos);
+}
@@ -0,0 +1,429 @@
+package algorithms;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+
+/**
+ * Sorted multiset of ints stored as a list of small sorted blocks.
+ *
+ * Inserting into one big sorted array shifts O(n) elements per insert
+ * (the inner step of binary insertion sort). Here an insert binary-searches
+ * the block maxima, then shifts at most one block's worth of elements; a
+ * full block is split in two, and blocks that shrink below a quarter of
+ * their capacity are merged with a neighbour. With block capacity B an
+ * insert or remove costs O(log n + B + n / B) element moves, which is
+ * O(sqrt n) for B near sqrt n and effectively O(log n) for the sizes where
+ * n / B stays small.
+ *
+ * Values are stored unboxed. Equal values are kept, so this is a multiset.
+ *
+ * @author Student A
+ */
+public class SortedIntList {
+
+    /** Default block capacity. */
+    public static final int DEFAULT_BLOCK_CAPACITY = 512;
+
+    private final int blockCapacity;
+    private int[][] blocks;
+    private int[] blockSizes;
+    private int blockCount;
+    private int size;
+
+    /**
+     * Creates an empty list with the default block capacity.
+     */
+    public SortedIntList() {
+        this(DEFAULT_BLOCK_CAPACITY);
+    }
+
+    /**
+     * Creates an empty list.
+     *
+     * @param blockCapacity maximum elements per block
+     * @throws IllegalArgumentException if blockCapacity is less than 4
+     */
+    public SortedIntList(int blockCapacity) {
+        if (blockCapacity < 4) {
+            throw new IllegalArgumentException("Block capacity must be at least 4");
+        }
+        this.blockCapacity = blockCapacity;
+        this.blocks = new int[4][];
+        this.blockSizes = new int[4];
+    }
+
+    /**
+     * Bulk-loads a sorted array. Blocks are filled to three quarters so the
+     * first inserts do not split them.
+     *
+     * @param sorted values in non-decreasing order (not retained)
+     * @param blockCapacity maximum elements per block
+     * @return the list
+     * @throws IllegalArgumentException if sorted is null or not sorted
+     */
+    public static SortedIntList fromSorted(int[] sorted, int blockCapacity) {
+        if (sorted == null) {
+            throw new IllegalArgumentException("Array cannot be null");
+        }
+        for (int i = 1; i < sorted.length; i++) {
+            if (sorted[i - 1] > sorted[i]) {
+                throw new IllegalArgumentException("Array is not sorted at index " + i);
+            }
+        }
+        SortedIntList list = new SortedIntList(blockCapacity);
+        int fill = Math.max(1, blockCapacity * 3 / 4);
+        for (int from = 0; from < sorted.length; from += fill) {
+            int count = Math.min(fill, sorted.length - from);
+            int[] block = new int[blockCapacity];
+            System.arraycopy(sorted, from, block, 0, count);
+            list.insertBlock(list.blockCount, block, count);
+        }
+        list.size = sorted.length;
+        return list;
+    }
+
+    /**
+     * Bulk-loads a sorted array with the default block capacity.
+     *
+     * @param sorted values in non-decreasing order (not retained)
+     * @return the list
+     * @throws IllegalArgumentException if sorted is null or not sorted
+     */
+    public static SortedIntList fromSorted(int[] sorted) {
+        return fromSorted(sorted, DEFAULT_BLOCK_CAPACITY);
+    }
+
+    /**
+     * Inserts a value after any equal values.
+     *
+     * @param value the value
+     */
+    public void add(int value) {
+        if (blockCount == 0) {
+            insertBlock(0, new int[blockCapacity], 0);
+        }
+        int b = blockFor(value);
+        if (blockSizes[b] == blockCapacity) {
+            split(b);
+            if (value >= blocks[b + 1][0]) {
+                b++;
+            }
+        }
+
+        int[] block = blocks[b];
+        int n = blockSizes[b];
+        int pos = upperBound(block, n, value);
+        System.arraycopy(block, pos, block, pos + 1, n - pos);
+        block[pos] = value;
+        blockSizes[b]++;
+        size++;
+    }
+
+    /**
+     * Removes one occurrence of a value.
+     *
+     * @param value the value
+     * @return true if the value was present
+     */
+    public boolean remove(int value) {
+        int b = firstBlockWithMaxAtLeast(value);
+        if (b == blockCount) {
+            return false;
+        }
+        int[] block = blocks[b];
+        int n = blockSizes[b];
+        int pos = lowerBound(block, n, value);
+        if (pos == n || block[pos] != value) {
+            return false;
+        }
+        System.arraycopy(block, pos + 1, block, pos, n - pos - 1);
+        blockSizes[b]--;
+        size--;
+
+        if (blockSizes[b] == 0) {
+            removeBlock(b);
+        } else if (blockSizes[b] < blockCapacity / 4) {
+            mergeWithNeighbour(b);
+        }
+        return true;
+    }
+
+    /**
+     * Checks whether a value is present.
+     *
+     * @param value the value
+     * @return true if present
+     */
+    public boolean contains(int value) {
+        int b = firstBlockWithMaxAtLeast(value);
+        if (b == blockCount) {
+            return false;
+        }
+        int pos = lowerBound(blocks[b], blockSizes[b], value);
+        return pos < blockSizes[b] && blocks[b][pos] == value;
+    }
+
+    /**
+     * Counts the elements strictly less than a value.
+     *
+     * @param value the value
+     * @return the rank
+     */
+    public int rank(int value) {
+        int b = firstBlockWithMaxAtLeast(value);
+        int rank = 0;
+        for (int i = 0; i < b; i++) {
+            rank += blockSizes[i];
+        }
+        return b == blockCount ? rank : rank + lowerBound(blocks[b], blockSizes[b], value);
+    }
+
+    /**
+     * Gets the element at a position in sorted order.
+     *
+     * @param index the position
+     * @return the element
+     * @throws IndexOutOfBoundsException if index is out of range
+     */
+    public int get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of range for size " + size);
+        }
+        int b = 0;
+        while (index >= blockSizes[b]) {
+            index -= blockSizes[b++];
+        }
+        return blocks[b][index];
+    }
+
+    /**
+     * Gets the smallest element.
+     *
+     * @return the minimum
+     * @throws NoSuchElementException if the list is empty
+     */
+    public int min() {
+        if (size == 0) {
+            throw new NoSuchElementException("List is empty");
+        }
+        return blocks[0][0];
+    }
+
+    /**
+     * Gets the largest element.
+     *
+     * @return the maximum
+     * @throws NoSuchElementException if the list is empty
+     */
+    public int max() {
+        if (size == 0) {
+            throw new NoSuchElementException("List is empty");
+        }
+        return maxOf(blockCount - 1);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Gets the number of blocks currently in use.
+     *
+     * @return the block count
+     */
+    public int getBlockCount() {
+        return blockCount;
+    }
+
+    /**
+     * Iterates over all elements in ascending order.
+     *
+     * @return the iterator
+     */
+    public PrimitiveIterator.OfInt iterator() {
+        return new RangeIterator(0, 0, Long.MAX_VALUE);
+    }
+
+    /**
+     * Iterates over the elements in [fromInclusive, toExclusive) in
+     * ascending order. The list must not be modified during iteration.
+     *
+     * @param fromInclusive lower bound
+     * @param toExclusive upper bound
+     * @return the iterator
+     */
+    public PrimitiveIterator.OfInt range(int fromInclusive, int toExclusive) {
+        int b = firstBlockWithMaxAtLeast(fromInclusive);
+        int pos = b == blockCount ? 0 : lowerBound(blocks[b], blockSizes[b], fromInclusive);
+        return new RangeIterator(b, pos, toExclusive);
+    }
+
+    /**
+     * Copies all elements into a new sorted array.
+     *
+     * @return the elements in ascending order
+     */
+    public int[] toArray() {
+        int[] result = new int[size];
+        int offset = 0;
+        for (int b = 0; b < blockCount; b++) {
+            System.arraycopy(blocks[b], 0, result, offset, blockSizes[b]);
+            offset += blockSizes[b];
+        }
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return Arrays.toString(toArray());
+    }
+
+    private final class RangeIterator implements PrimitiveIterator.OfInt {
+        private int block;
+        private int pos;
+        private final long limit;
+
+        RangeIterator(int block, int pos, long limit) {
+            this.block = block;
+            this.pos = pos;
+            this.limit = limit;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (block < blockCount && pos == blockSizes[block]) {
+                block++;
+                pos = 0;
+            }
+            return block < blockCount && blocks[block][pos] < limit;
+        }
+
+        @Override
+        public int nextInt() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return blocks[block][pos++];
+        }
+    }
+
+    private int maxOf(int b) {
+        return blocks[b][blockSizes[b] - 1];
+    }
+
+    /**
+     * Binary search over block maxima for the first block whose maximum is
+     * at least value; blockCount if there is none.
+     */
+    private int firstBlockWithMaxAtLeast(int value) {
+        int lo = 0;
+        int hi = blockCount;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (maxOf(mid) < value) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    /**
+     * Block that receives an inserted value: the first block whose maximum
+     * exceeds it (so equal values go after existing ones), else the last.
+     */
+    private int blockFor(int value) {
+        int lo = 0;
+        int hi = blockCount - 1;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (maxOf(mid) <= value) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    private static int lowerBound(int[] block, int n, int value) {
+        int lo = 0;
+        int hi = n;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (block[mid] < value) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    private static int upperBound(int[] block, int n, int value) {
+        int lo = 0;
+        int hi = n;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (block[mid] <= value) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    private void split(int b) {
+        int half = blockSizes[b] / 2;
+        int[] upper = new int[blockCapacity];
+        System.arraycopy(blocks[b], half, upper, 0, blockSizes[b] - half);
+        int upperSize = blockSizes[b] - half;
+        blockSizes[b] = half;
+        insertBlock(b + 1, upper, upperSize);
+    }
+
+    /**
+     * Merges a small block into its smaller neighbour if the result fits.
+     */
+    private void mergeWithNeighbour(int b) {
+        int left = b > 0 ? b - 1 : -1;
+        int right = b + 1 < blockCount ? b + 1 : -1;
+        int neighbour = left < 0 ? right
+                : right < 0 ? left
+                : blockSizes[left] <= blockSizes[right] ? left : right;
+        if (neighbour < 0 || blockSizes[b] + blockSizes[neighbour] > blockCapacity * 3 / 4) {
+            return;
+        }
+        int first = Math.min(b, neighbour);
+        int second = first + 1;
+        System.arraycopy(blocks[second], 0, blocks[first], blockSizes[first], blockSizes[second]);
+        blockSizes[first] += blockSizes[second];
+        removeBlock(second);
+    }
+
+    private void insertBlock(int index, int[] block, int count) {
+        if (blockCount == blocks.length) {
+            blocks = Arrays.copyOf(blocks, blockCount * 2);
+            blockSizes = Arrays.copyOf(blockSizes, blockCount * 2);
+        }
+        System.arraycopy(blocks, index, blocks, index + 1, blockCount - index);
+        System.arraycopy(blockSizes, index, blockSizes, index + 1, blockCount - index);
+        blocks[index] = block;
+        blockSizes[index] = count;
+        blockCount++;
+    }
+
+    private void removeBlock(int index) {
+        System.arraycopy(blocks, index + 1, blocks, index, blockCount - index - 1);
+        System.arraycopy(blockSizes, index + 1, blockSizes, index, blockCount - index - 1);
+        blockCount--;
+        blocks[blockCount] = null;
+    }
+}
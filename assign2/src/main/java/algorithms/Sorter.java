@@ -0,0 +1,37 @@
+package algorithms;
+
+import metrics.PerformanceTracker;
+
+/**
+ * A sorting engine that can be benchmarked on identical inputs.
+ *
+ * Implementations reset and time their tracker on every {@link #sort}
+ * call. Engines that cannot count operations (e.g., the JDK sorts) report
+ * time only and leave the counters at zero.
+ *
+ * @author Student A
+ */
+public interface Sorter {
+
+    /**
+     * Gets the name this engine is registered under in {@link SorterRegistry}.
+     *
+     * @return the engine name
+     */
+    String name();
+
+    /**
+     * Sorts an array of integers in ascending order.
+     *
+     * @param arr the array to sort
+     * @throws IllegalArgumentException if array is null
+     */
+    void sort(int[] arr);
+
+    /**
+     * Gets the metrics of the last sort.
+     *
+     * @return the tracker
+     */
+    PerformanceTracker getTracker();
+}
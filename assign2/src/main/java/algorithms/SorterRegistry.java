@@ -0,0 +1,82 @@
+package algorithms;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Registry of sorting engines by name.
+ *
+ * Built-in engines:
+ * - insertion-std, insertion-opt: {@link InsertionSort} without and with
+ *   binary insertion
+ * - insertion-sentinel, insertion-pair: the unguarded insertion kernels
+ * - jdk-sort, jdk-parallel: {@link JdkSorter} baselines
+ *
+ * Every {@link #create} call returns a new instance, so engines never share
+ * trackers across threads.
+ *
+ * @author Student A
+ */
+public final class SorterRegistry {
+
+    /** Name of the {@link java.util.Arrays#sort(int[])} baseline. */
+    public static final String JDK_SORT = "jdk-sort";
+
+    /** Name of the {@link java.util.Arrays#parallelSort(int[])} baseline. */
+    public static final String JDK_PARALLEL = "jdk-parallel";
+
+    private static final Map<String, Supplier<Sorter>> ENGINES = new LinkedHashMap<>();
+
+    static {
+        for (InsertionSort.Kernel kernel : InsertionSort.Kernel.values()) {
+            register(InsertionSort.engineName(kernel), () -> new InsertionSort(kernel));
+        }
+        register(JDK_SORT, () -> new JdkSorter(false));
+        register(JDK_PARALLEL, () -> new JdkSorter(true));
+    }
+
+    private SorterRegistry() {
+    }
+
+    /**
+     * Registers an engine, replacing any engine of the same name.
+     *
+     * @param name the engine name
+     * @param factory creates a new engine instance
+     * @throws IllegalArgumentException if name or factory is null
+     */
+    public static synchronized void register(String name, Supplier<Sorter> factory) {
+        if (name == null || factory == null) {
+            throw new IllegalArgumentException("Name and factory cannot be null");
+        }
+        ENGINES.put(name, factory);
+    }
+
+    /**
+     * Creates an engine by name.
+     *
+     * @param name the engine name
+     * @return a new engine
+     * @throws IllegalArgumentException if no engine has that name
+     */
+    public static synchronized Sorter create(String name) {
+        Supplier<Sorter> factory = ENGINES.get(name);
+        if (factory == null) {
+            throw new IllegalArgumentException("Unknown algorithm: " + name + " (available: " + String.join(", ", names()) + ")");
+        }
+        return factory.get();
+    }
+
+    /**
+     * Gets the registered engine names in registration order.
+     *
+     * @return the names
+     */
+    public static synchronized List<String> names() {
+        return Collections.unmodifiableList(new ArrayList<>(ENGINES.keySet()));
+    }
+}
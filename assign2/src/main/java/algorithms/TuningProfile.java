@@ -0,0 +1,231 @@
+package algorithms;
+
+import metrics.AtomicFiles;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Properties;
+
+/**
+ * Host-specific thresholds used by {@link InsertionSort}.
+ *
+ * The best cutoffs depend on cache sizes and the JIT, so they can be measured
+ * on each machine (see the --calibrate mode of the benchmark runner) and
+ * stored in a properties file. The profile is looked up in this order:
+ * - the file named by the {@value #PROFILE_PROPERTY} system property
+ * - {@code ~/.insertion-sort/tuning.properties}
+ * - built-in defaults
+ *
+ * Because the profile changes which kernel short arrays use, it changes the
+ * recorded counters too; runs therefore record {@link #describe()} in their
+ * metadata, and tests pin {@link #defaults()} with {@link #setCurrent}.
+ *
+ * @author Student A
+ */
+public final class TuningProfile {
+
+    /** System property naming an explicit profile file. */
+    public static final String PROFILE_PROPERTY = "insertionsort.profile";
+
+    /** Default length below which the standard loop beats binary insertion. */
+    public static final int DEFAULT_BINARY_SEARCH_THRESHOLD = 16;
+
+    /** Default run length sorted by insertion before merging takes over. */
+    public static final int DEFAULT_LEAF_SIZE = 32;
+
+    private static final String BINARY_SEARCH_THRESHOLD_KEY = "binarySearchThreshold";
+    private static final String LEAF_SIZE_KEY = "leafSize";
+
+    private static volatile TuningProfile current;
+
+    private final int binarySearchThreshold;
+    private final int leafSize;
+
+    /**
+     * Creates a profile with the default leaf size.
+     *
+     * @param binarySearchThreshold arrays shorter than this are sorted with the
+     *        standard loop even when binary insertion is enabled
+     * @throws IllegalArgumentException if the threshold is negative
+     */
+    public TuningProfile(int binarySearchThreshold) {
+        this(binarySearchThreshold, DEFAULT_LEAF_SIZE);
+    }
+
+    /**
+     * Creates a profile.
+     *
+     * @param binarySearchThreshold arrays shorter than this are sorted with the
+     *        standard loop even when binary insertion is enabled
+     * @param leafSize run length sorted by insertion before the merging
+     *        engines take over
+     * @throws IllegalArgumentException if the threshold is negative or the leaf size not positive
+     */
+    public TuningProfile(int binarySearchThreshold, int leafSize) {
+        if (binarySearchThreshold < 0) {
+            throw new IllegalArgumentException("Threshold cannot be negative");
+        }
+        if (leafSize <= 0) {
+            throw new IllegalArgumentException("Leaf size must be positive");
+        }
+        this.binarySearchThreshold = binarySearchThreshold;
+        this.leafSize = leafSize;
+    }
+
+    /**
+     * Gets the built-in defaults.
+     *
+     * @return the default profile
+     */
+    public static TuningProfile defaults() {
+        return new TuningProfile(DEFAULT_BINARY_SEARCH_THRESHOLD, DEFAULT_LEAF_SIZE);
+    }
+
+    /**
+     * Gets the profile for this host, loading it on first use. Falls back to
+     * {@link #defaults()} if no profile exists or it cannot be read.
+     *
+     * @return the active profile
+     */
+    public static TuningProfile current() {
+        TuningProfile profile = current;
+        if (profile == null) {
+            synchronized (TuningProfile.class) {
+                profile = current;
+                if (profile == null) {
+                    profile = loadOrDefaults(defaultLocation());
+                    current = profile;
+                }
+            }
+        }
+        return profile;
+    }
+
+    /**
+     * Replaces the active profile for this JVM, so that sorters created
+     * afterwards ignore any profile file on the host.
+     *
+     * @param profile the profile to use, or null to load it again on next use
+     */
+    public static void setCurrent(TuningProfile profile) {
+        synchronized (TuningProfile.class) {
+            current = profile;
+        }
+    }
+
+    /**
+     * Gets the file the active profile is read from.
+     *
+     * @return the profile path
+     */
+    public static Path defaultLocation() {
+        String explicit = System.getProperty(PROFILE_PROPERTY);
+        if (explicit != null && !explicit.isEmpty()) {
+            return Paths.get(explicit);
+        }
+        return Paths.get(System.getProperty("user.home"), ".insertion-sort", "tuning.properties");
+    }
+
+    private static TuningProfile loadOrDefaults(Path file) {
+        if (!Files.exists(file)) {
+            return defaults();
+        }
+        try {
+            return load(file);
+        } catch (IOException | IllegalArgumentException e) {
+            System.err.println("Ignoring tuning profile " + file + ": " + e.getMessage());
+            return defaults();
+        }
+    }
+
+    /**
+     * Loads a profile. Missing keys take their default values.
+     *
+     * @param file the properties file
+     * @return the profile
+     * @throws IOException if the file cannot be read
+     * @throws IllegalArgumentException if a value is invalid
+     */
+    public static TuningProfile load(Path file) throws IOException {
+        Properties properties = new Properties();
+        try (InputStream in = Files.newInputStream(file)) {
+            properties.load(in);
+        }
+        return new TuningProfile(
+                intValue(properties, BINARY_SEARCH_THRESHOLD_KEY, DEFAULT_BINARY_SEARCH_THRESHOLD),
+                intValue(properties, LEAF_SIZE_KEY, DEFAULT_LEAF_SIZE));
+    }
+
+    private static int intValue(Properties properties, String key, int defaultValue) {
+        String value = properties.getProperty(key);
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid value for " + key + ": " + value);
+        }
+    }
+
+    /**
+     * Saves this profile.
+     *
+     * @param file the properties file
+     * @param comment header comment (e.g., host and JVM description)
+     * @throws IOException if the file cannot be written
+     */
+    public void save(Path file, String comment) throws IOException {
+        Properties properties = new Properties();
+        properties.setProperty(BINARY_SEARCH_THRESHOLD_KEY, String.valueOf(binarySearchThreshold));
+        properties.setProperty(LEAF_SIZE_KEY, String.valueOf(leafSize));
+        Path temp = AtomicFiles.createTempSibling(file);
+        try {
+            try (OutputStream out = Files.newOutputStream(temp)) {
+                properties.store(out, comment);
+            }
+            AtomicFiles.commit(temp, file);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * Gets the length below which binary insertion is not worth its overhead.
+     *
+     * @return the threshold
+     */
+    public int getBinarySearchThreshold() {
+        return binarySearchThreshold;
+    }
+
+    /**
+     * Gets the run length sorted by insertion before merging takes over.
+     *
+     * @return the leaf size
+     */
+    public int getLeafSize() {
+        return leafSize;
+    }
+
+    /**
+     * Describes the thresholds compactly for run metadata, e.g.
+     * {@code binarySearchThreshold=16;leafSize=32}. A threshold of
+     * {@link Integer#MAX_VALUE} (binary insertion never used) reads "never".
+     *
+     * @return the description
+     */
+    public String describe() {
+        return BINARY_SEARCH_THRESHOLD_KEY + "="
+                + (binarySearchThreshold == Integer.MAX_VALUE ? "never" : String.valueOf(binarySearchThreshold))
+                + ";" + LEAF_SIZE_KEY + "=" + leafSize;
+    }
+
+    @Override
+    public String toString() {
+        return "TuningProfile[binarySearchThreshold=" + binarySearchThreshold + ", leafSize=" + leafSize + "]";
+    }
+}
@@ -0,0 +1,256 @@
+package cli;
+
+import algorithms.InsertionSort;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * One line of a batch job file (see {@code --jobs-file}).
+ *
+ * Lines are whitespace-separated; blank lines and lines starting with '#'
+ * are ignored. A sort job reads
+ * <pre>
+ *   &lt;source&gt; &lt;size&gt; &lt;distribution&gt; &lt;strategy&gt; [repetitions]
+ * </pre>
+ * where source is {@code gen} for generated data or a dataset file path,
+ * size is the element count ({@code -} for a whole file), distribution is a
+ * {@link Distribution} label ({@code -} for files), and strategy is
+ * {@code std}, {@code opt} or an {@link InsertionSort.Kernel} name.
+ *
+ * Interactive-menu options are scripted by their menu number or name:
+ * <pre>
+ *   1 &lt;size&gt; &lt;type&gt; &lt;y|n&gt;    (single)
+ *   2 &lt;n,n,...&gt;             (comprehensive)
+ *   3                       (quick)
+ *   4 &lt;size&gt; &lt;type&gt;          (compare)
+ * </pre>
+ *
+ * @author Student A
+ */
+public final class BatchJob {
+
+    /**
+     * What a job does.
+     */
+    public enum Kind {
+        SORT,
+        SINGLE,
+        COMPREHENSIVE,
+        QUICK,
+        COMPARE
+    }
+
+    /** Source token selecting generated data. */
+    public static final String GENERATED = "gen";
+
+    private final int lineNumber;
+    private final Kind kind;
+    private final Path file;
+    private final int size;
+    private final Distribution distribution;
+    private final InsertionSort.Kernel kernel;
+    private final int repetitions;
+    private final int[] sizes;
+
+    private BatchJob(int lineNumber, Kind kind, Path file, int size, Distribution distribution,
+                     InsertionSort.Kernel kernel, int repetitions, int[] sizes) {
+        this.lineNumber = lineNumber;
+        this.kind = kind;
+        this.file = file;
+        this.size = size;
+        this.distribution = distribution;
+        this.kernel = kernel;
+        this.repetitions = repetitions;
+        this.sizes = sizes;
+    }
+
+    /**
+     * Reads all jobs from a file.
+     *
+     * @param jobsFile the job file
+     * @return the jobs in file order
+     * @throws IOException if the file cannot be read
+     * @throws IllegalArgumentException if a line is invalid (the message names the line)
+     */
+    public static List<BatchJob> load(Path jobsFile) throws IOException {
+        List<BatchJob> jobs = new ArrayList<>();
+        List<String> lines = Files.readAllLines(jobsFile, StandardCharsets.UTF_8);
+        for (int i = 0; i < lines.size(); i++) {
+            BatchJob job = parse(lines.get(i), i + 1);
+            if (job != null) {
+                jobs.add(job);
+            }
+        }
+        return jobs;
+    }
+
+    /**
+     * Parses one line.
+     *
+     * @param line the line
+     * @param lineNumber its 1-based line number, used in messages
+     * @return the job, or null for blank and comment lines
+     * @throws IllegalArgumentException if the line is invalid
+     */
+    public static BatchJob parse(String line, int lineNumber) {
+        String trimmed = line.trim();
+        if (trimmed.isEmpty() || trimmed.startsWith("#")) {
+            return null;
+        }
+        String[] tokens = trimmed.split("\\s+");
+        try {
+            switch (tokens[0].toLowerCase(Locale.ROOT)) {
+                case "1":
+                case "single":
+                    expectTokens(tokens, 4, 4);
+                    return new BatchJob(lineNumber, Kind.SINGLE, null, parseSize(tokens[1]),
+                            parseDistribution(tokens[2]), tokens[3].toLowerCase(Locale.ROOT).startsWith("y")
+                                    ? InsertionSort.Kernel.BINARY : InsertionSort.Kernel.STANDARD, 1, null);
+                case "2":
+                case "comprehensive":
+                    expectTokens(tokens, 2, 2);
+                    String[] parts = tokens[1].split(",");
+                    int[] sizes = new int[parts.length];
+                    for (int i = 0; i < parts.length; i++) {
+                        sizes[i] = parseSize(parts[i]);
+                    }
+                    return new BatchJob(lineNumber, Kind.COMPREHENSIVE, null, 0, null, null, 1, sizes);
+                case "3":
+                case "quick":
+                    expectTokens(tokens, 1, 1);
+                    return new BatchJob(lineNumber, Kind.QUICK, null, 0, null, null, 1, null);
+                case "4":
+                case "compare":
+                    expectTokens(tokens, 3, 3);
+                    return new BatchJob(lineNumber, Kind.COMPARE, null, parseSize(tokens[1]),
+                            parseDistribution(tokens[2]), null, 1, null);
+                default:
+                    return parseSortJob(tokens, lineNumber);
+            }
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Line " + lineNumber + ": " + e.getMessage());
+        }
+    }
+
+    private static BatchJob parseSortJob(String[] tokens, int lineNumber) {
+        expectTokens(tokens, 4, 5);
+        boolean generated = tokens[0].equals(GENERATED);
+        Path file = generated ? null : Paths.get(tokens[0]);
+        int size = !generated && tokens[1].equals("-") ? -1 : parseSize(tokens[1]);
+        Distribution distribution = !generated && tokens[2].equals("-") ? null : parseDistribution(tokens[2]);
+        int repetitions = tokens.length > 4 ? Integer.parseInt(tokens[4]) : 1;
+        if (repetitions <= 0) {
+            throw new IllegalArgumentException("Repetitions must be positive");
+        }
+        return new BatchJob(lineNumber, Kind.SORT, file, size, distribution,
+                parseStrategy(tokens[3]), repetitions, null);
+    }
+
+    private static void expectTokens(String[] tokens, int min, int max) {
+        if (tokens.length < min || tokens.length > max) {
+            throw new IllegalArgumentException("Expected " + (min == max ? String.valueOf(min) : min + "-" + max)
+                    + " fields but found " + tokens.length);
+        }
+    }
+
+    private static int parseSize(String token) {
+        int size = Integer.parseInt(token.trim());
+        if (size < 0) {
+            throw new IllegalArgumentException("Size cannot be negative: " + size);
+        }
+        return size;
+    }
+
+    private static Distribution parseDistribution(String token) {
+        Distribution distribution = Distribution.fromLabel(token);
+        if (distribution == null) {
+            throw new IllegalArgumentException("Unknown data type: " + token);
+        }
+        return distribution;
+    }
+
+    /**
+     * Maps a strategy token to a kernel: "std", "opt" or a kernel name.
+     *
+     * @param token the token
+     * @return the kernel
+     * @throws IllegalArgumentException if the token is unknown
+     */
+    public static InsertionSort.Kernel parseStrategy(String token) {
+        switch (token.toLowerCase(Locale.ROOT)) {
+            case "std":
+                return InsertionSort.Kernel.STANDARD;
+            case "opt":
+                return InsertionSort.Kernel.BINARY;
+            default:
+                try {
+                    return InsertionSort.Kernel.valueOf(token.toUpperCase(Locale.ROOT));
+                } catch (IllegalArgumentException e) {
+                    throw new IllegalArgumentException("Unknown strategy: " + token);
+                }
+        }
+    }
+
+    /**
+     * Gets the label used in results, e.g. "random_binary" or "file_pair".
+     *
+     * @return the label
+     */
+    public String label() {
+        String source = distribution != null ? distribution.label() : "file";
+        return source + "_" + kernel.name().toLowerCase(Locale.ROOT);
+    }
+
+    public int getLineNumber() {
+        return lineNumber;
+    }
+
+    public Kind getKind() {
+        return kind;
+    }
+
+    /**
+     * Gets the dataset file of a sort job.
+     *
+     * @return the file, or null for generated data
+     */
+    public Path getFile() {
+        return file;
+    }
+
+    /**
+     * Gets the element count.
+     *
+     * @return the size, or -1 for a whole file
+     */
+    public int getSize() {
+        return size;
+    }
+
+    public Distribution getDistribution() {
+        return distribution;
+    }
+
+    public InsertionSort.Kernel getKernel() {
+        return kernel;
+    }
+
+    public int getRepetitions() {
+        return repetitions;
+    }
+
+    /**
+     * Gets the sizes of a comprehensive job.
+     *
+     * @return the sizes, or null for other kinds
+     */
+    public int[] getSizes() {
+        return sizes == null ? null : sizes.clone();
+    }
+}
@@ -0,0 +1,251 @@
+package cli;
+
+import algorithms.TuningProfile;
+import metrics.BenchmarkResult;
+import metrics.ResultSink;
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Runs benchmark cases in freshly forked JVMs, several at a time.
+ *
+ * Each case gets its own JVM so JIT profiles from one case cannot skew the
+ * next. Workers print their result as a single line prefixed with
+ * {@link #RESULT_PREFIX} on stdout; the orchestrator parses those lines,
+ * forwards them to one results sink and prints a merged report.
+ *
+ * @author Student A
+ */
+public class BenchmarkOrchestrator {
+
+    /**
+     * Prefix of the machine-readable result line printed by worker processes.
+     */
+    public static final String RESULT_PREFIX = "RESULT,";
+
+    /**
+     * System properties passed on to worker JVMs: the dataset cache directory
+     * (also set by --cache) and the tuning profile file.
+     */
+    static final List<String> FORWARDED_PROPERTIES =
+            Collections.unmodifiableList(Arrays.asList(DatasetCache.CACHE_DIR_PROPERTY, TuningProfile.PROFILE_PROPERTY));
+
+    private final int jobs;
+    private final boolean pinCpus;
+    private int failedCount;
+
+    /**
+     * A single benchmark case.
+     */
+    public static final class BenchmarkCase {
+        final int size;
+        final String dataType;
+        final boolean useOptimization;
+
+        public BenchmarkCase(int size, String dataType, boolean useOptimization) {
+            this.size = size;
+            this.dataType = dataType;
+            this.useOptimization = useOptimization;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("n=%d %s %s", size, dataType, useOptimization ? "opt" : "std");
+        }
+    }
+
+    /**
+     * Creates an orchestrator.
+     *
+     * @param jobs maximum number of concurrently running worker JVMs
+     * @param pinCpus if true, pins each worker to its own CPU with {@code taskset}
+     */
+    public BenchmarkOrchestrator(int jobs, boolean pinCpus) {
+        if (jobs <= 0) {
+            throw new IllegalArgumentException("Number of jobs must be positive");
+        }
+        this.jobs = jobs;
+        this.pinCpus = pinCpus && tasksetAvailable();
+        if (pinCpus && !this.pinCpus) {
+            System.err.println("taskset not available; running without CPU affinity");
+        }
+    }
+
+    /**
+     * Runs all cases and writes their results to the sink. Cases whose worker
+     * fails are reported on stderr and counted in {@link #getFailedCount()}.
+     *
+     * @param cases the cases to run
+     * @param sink destination for results (must accept writes from several threads)
+     * @return results of the cases that completed, in case order
+     * @throws IOException if a result cannot be written
+     */
+    public List<BenchmarkResult> run(List<BenchmarkCase> cases, ResultSink sink) throws IOException {
+        failedCount = 0;
+        BlockingQueue<Integer> slots = new ArrayBlockingQueue<>(jobs);
+        for (int i = 0; i < jobs; i++) {
+            slots.add(i);
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(jobs);
+        List<Future<BenchmarkResult>> futures = new ArrayList<>();
+        for (BenchmarkCase benchmarkCase : cases) {
+            futures.add(executor.submit(() -> {
+                int slot = slots.take();
+                try {
+                    return runWorker(benchmarkCase, slot);
+                } finally {
+                    slots.put(slot);
+                }
+            }));
+        }
+        executor.shutdown();
+
+        List<BenchmarkResult> results = new ArrayList<>();
+        for (int i = 0; i < futures.size(); i++) {
+            try {
+                BenchmarkResult result = futures.get(i).get();
+                sink.write(result);
+                results.add(result);
+                System.out.printf("[%d/%d] %s%n", i + 1, cases.size(), result.toCsvRow());
+            } catch (ExecutionException e) {
+                failedCount++;
+                System.err.println("Case failed (" + cases.get(i) + "): " + e.getCause().getMessage());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                executor.shutdownNow();
+                throw new IOException("Interrupted while waiting for workers", e);
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Gets the number of cases of the last {@link #run} whose worker failed.
+     *
+     * @return the failed case count
+     */
+    public int getFailedCount() {
+        return failedCount;
+    }
+
+    /**
+     * Forks a JVM for one case and reads its result line.
+     */
+    private BenchmarkResult runWorker(BenchmarkCase benchmarkCase, int slot) throws IOException, InterruptedException {
+        List<String> command = new ArrayList<>();
+        if (pinCpus) {
+            command.add("taskset");
+            command.add("-c");
+            command.add(String.valueOf(slot % Runtime.getRuntime().availableProcessors()));
+        }
+        command.add(System.getProperty("java.home") + File.separator + "bin" + File.separator + "java");
+        command.addAll(forwardedJvmOptions());
+        command.add("-cp");
+        command.add(System.getProperty("java.class.path"));
+        command.add(BenchmarkRunner.class.getName());
+        command.add("--worker");
+        command.add(String.valueOf(benchmarkCase.size));
+        command.add(benchmarkCase.dataType);
+        command.add(benchmarkCase.useOptimization ? "opt" : "std");
+
+        Process process = new ProcessBuilder(command)
+                .redirectError(ProcessBuilder.Redirect.INHERIT)
+                .start();
+
+        BenchmarkResult result = null;
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.startsWith(RESULT_PREFIX)) {
+                    result = BenchmarkResult.fromCsvRow(line.substring(RESULT_PREFIX.length()));
+                }
+            }
+        }
+
+        int exitCode = process.waitFor();
+        if (exitCode != 0 || result == null) {
+            throw new IOException("worker exited with code " + exitCode);
+        }
+        return result;
+    }
+
+    /**
+     * Heap and -XX options of this JVM plus the current values of
+     * {@link #FORWARDED_PROPERTIES}, so workers run under the same settings,
+     * dataset cache and tuning profile.
+     */
+    static List<String> forwardedJvmOptions() {
+        List<String> options = new ArrayList<>();
+        for (String argument : ManagementFactory.getRuntimeMXBean().getInputArguments()) {
+            if (argument.startsWith("-X")) {
+                options.add(argument);
+            }
+        }
+        for (String property : FORWARDED_PROPERTIES) {
+            String value = System.getProperty(property);
+            if (value != null) {
+                options.add("-D" + property + "=" + value);
+            }
+        }
+        return options;
+    }
+
+    private static boolean tasksetAvailable() {
+        if (!System.getProperty("os.name", "").toLowerCase().contains("linux")) {
+            return false;
+        }
+        try {
+            Process process = new ProcessBuilder("taskset", "-V")
+                    .redirectErrorStream(true)
+                    .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                    .start();
+            return process.waitFor() == 0;
+        } catch (IOException e) {
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    /**
+     * Prints the merged results as a table ordered by size, data type and strategy.
+     *
+     * @param results results to report
+     */
+    public static void printReport(List<BenchmarkResult> results) {
+        List<BenchmarkResult> sorted = new ArrayList<>(results);
+        Collections.sort(sorted, Comparator.comparingInt(BenchmarkResult::getArraySize)
+                .thenComparing(BenchmarkResult::getDataType));
+
+        System.out.println("\n" + "=".repeat(80));
+        System.out.printf("%-10s %-20s %15s %15s %15s%n", "Size", "Case", "Comparisons", "Accesses", "Time (ms)");
+        System.out.println("-".repeat(80));
+        for (BenchmarkResult result : sorted) {
+            System.out.printf("%-10d %-20s %15d %15d %15.3f%n",
+                    result.getArraySize(),
+                    result.getDataType(),
+                    result.getComparisons(),
+                    result.getArrayAccesses(),
+                    result.getTimeMillis());
+        }
+        System.out.println("=".repeat(80));
+    }
+}
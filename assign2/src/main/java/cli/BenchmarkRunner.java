@@ -1,9 +1,31 @@
 package cli;
 
 import algorithms.InsertionSort;
+import algorithms.Sorter;
+import algorithms.SorterRegistry;
+import algorithms.TuningProfile;
+import metrics.AsyncResultSink;
+import metrics.BaselineStore;
+import metrics.BenchmarkResult;
+import metrics.CacheSimulator;
+import metrics.ComplexityReport;
 import metrics.PerformanceTracker;
+import metrics.PresortednessMetrics;
+import metrics.RegressionChecker;
+import metrics.ResultSink;
+import metrics.RunMetadata;
+import metrics.SortVerifier;
+import metrics.TrialStatistics;
+import metrics.TrialSummary;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.Random;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Scanner;
 
 /**
@@ -14,12 +36,36 @@ import java.util.Scanner;
  * - Sorted data
  * - Reverse sorted data
  * - Nearly sorted data
+ * - Duplicates, Zipf, sawtooth, organ-pipe, k-sorted and few-unique data
+ * 
+ * Inputs are generated per case from a seeded stream (see {@link DataGenerator}),
+ * so results do not depend on the order in which cases run.
  * 
  * @author Student A
  */
 public class BenchmarkRunner {
     
-    private static final Random random = new Random(42); // Fixed seed for reproducibility
+    static final String DEFAULT_RESULTS_FILE = "benchmark_results.csv";
+    
+    private static final String[] DATA_TYPES = {"random", "sorted", "reverse", "nearlysorted", "duplicates"};
+    
+    private static final boolean[] OPTIMIZATIONS = {false, true};
+    
+    private static final int[] DEFAULT_BASELINE_SIZES = {100, 1000, 10000};
+    
+    private static final int DEFAULT_TRIALS = 5;
+    
+    private static final int DEFAULT_PORT = 7070;
+    
+    /** Prefix of the per-job result lines printed in batch mode. */
+    public static final String JOB_PREFIX = "JOB,";
+    
+    private static RunMetadata runMetadata;
+    
+    private static boolean reportPresortedness;
+    
+    /** Cache geometry for --cache-sim ("" for the default), or null when off. */
+    private static String cacheSimulation;
     
     /**
      * Generates an array of random integers.
@@ -28,11 +74,7 @@ public class BenchmarkRunner {
      * @return array with random integers
      */
     public static int[] generateRandomArray(int size) {
-        int[] arr = new int[size];
-        for (int i = 0; i < size; i++) {
-            arr[i] = random.nextInt(size * 10);
-        }
-        return arr;
+        return generateData(Distribution.RANDOM, size);
     }
     
     /**
@@ -42,11 +84,7 @@ public class BenchmarkRunner {
      * @return sorted array
      */
     public static int[] generateSortedArray(int size) {
-        int[] arr = new int[size];
-        for (int i = 0; i < size; i++) {
-            arr[i] = i;
-        }
-        return arr;
+        return generateData(Distribution.SORTED, size);
     }
     
     /**
@@ -56,11 +94,7 @@ public class BenchmarkRunner {
      * @return reverse sorted array
      */
     public static int[] generateReverseSortedArray(int size) {
-        int[] arr = new int[size];
-        for (int i = 0; i < size; i++) {
-            arr[i] = size - i - 1;
-        }
-        return arr;
+        return generateData(Distribution.REVERSE, size);
     }
     
     /**
@@ -70,18 +104,7 @@ public class BenchmarkRunner {
      * @return nearly sorted array
      */
     public static int[] generateNearlySortedArray(int size) {
-        int[] arr = generateSortedArray(size);
-        int swaps = Math.max(1, size / 20); // 5% swaps
-        
-        for (int i = 0; i < swaps; i++) {
-            int idx1 = random.nextInt(size);
-            int idx2 = random.nextInt(size);
-            int temp = arr[idx1];
-            arr[idx1] = arr[idx2];
-            arr[idx2] = temp;
-        }
-        
-        return arr;
+        return generateData(Distribution.NEARLY_SORTED, size);
     }
     
     /**
@@ -91,87 +114,257 @@ public class BenchmarkRunner {
      * @return array with duplicates
      */
     public static int[] generateArrayWithDuplicates(int size) {
-        int[] arr = new int[size];
-        int uniqueValues = Math.max(1, size / 10);
-        
-        for (int i = 0; i < size; i++) {
-            arr[i] = random.nextInt(uniqueValues);
+        return generateData(Distribution.DUPLICATES, size);
+    }
+    
+    /**
+     * Generates input data for one case, using the dataset cache when one is
+     * configured through {@value DatasetCache#CACHE_DIR_PROPERTY}.
+     * 
+     * @param distribution the distribution
+     * @param size array size
+     * @return the generated array
+     */
+    public static int[] generateData(Distribution distribution, int size) {
+        long seed = DataGenerator.caseSeed(DataGenerator.DEFAULT_SEED, distribution, size);
+        DatasetCache cache = DatasetCache.fromSystemProperty();
+        if (cache != null) {
+            return cache.get(distribution, size, seed);
         }
-        
-        return arr;
+        return DataGenerator.generate(distribution, size, seed);
     }
     
     /**
-     * Runs a single benchmark.
+     * Generates input data of the given type.
+     * 
+     * @param dataType type of data
+     * @param size array size
+     * @return the generated array, or null if the data type is unknown
+     */
+    public static int[] generateData(String dataType, int size) {
+        Distribution distribution = Distribution.fromLabel(dataType);
+        return distribution == null ? null : generateData(distribution, size);
+    }
+    
+    /**
+     * Runs a single benchmark and appends its result to the default results file.
      * 
      * @param size array size
      * @param dataType type of data
      * @param useOptimization whether to use optimization
      */
     public static void runBenchmark(int size, String dataType, boolean useOptimization) {
-        int[] arr;
-        
-        switch (dataType.toLowerCase()) {
-            case "random":
-                arr = generateRandomArray(size);
-                break;
-            case "sorted":
-                arr = generateSortedArray(size);
-                break;
-            case "reverse":
-                arr = generateReverseSortedArray(size);
-                break;
-            case "nearlysorted":
-                arr = generateNearlySortedArray(size);
-                break;
-            case "duplicates":
-                arr = generateArrayWithDuplicates(size);
-                break;
-            default:
-                System.err.println("Unknown data type: " + dataType);
-                return;
+        Path resultsFile = Paths.get(DEFAULT_RESULTS_FILE);
+        try (ResultSink sink = ResultSink.open(resultsFile, metadata(), true)) {
+            if (runBenchmark(size, dataType, useOptimization, sink) != null) {
+                System.out.println("Results exported to: " + resultsFile);
+            }
+        } catch (IOException e) {
+            System.err.println("Failed to export results: " + e.getMessage());
         }
+    }
+    
+    /**
+     * Runs a single benchmark and writes its result to the given sink.
+     * 
+     * @param size array size
+     * @param dataType type of data
+     * @param useOptimization whether to use optimization
+     * @param sink destination for the result
+     * @return the result, or null if the data type is unknown
+     * @throws IOException if the result cannot be written
+     */
+    public static BenchmarkResult runBenchmark(int size, String dataType, boolean useOptimization,
+                                               ResultSink sink) throws IOException {
+        int[] arr = generateData(dataType, size);
+        if (arr == null) {
+            System.err.println("Unknown data type: " + dataType);
+            return null;
+        }
+        
+        PresortednessMetrics presortedness = reportPresortedness ? PresortednessMetrics.analyze(arr) : null;
+        SortVerifier.Fingerprint input = SortVerifier.fingerprint(arr);
         
         InsertionSort sorter = new InsertionSort(useOptimization);
+        if (cacheSimulation != null) {
+            sorter.getTracker().setCacheSimulator(cacheSimulation.isEmpty()
+                    ? new CacheSimulator() : CacheSimulator.parse(cacheSimulation));
+        }
         sorter.sort(arr);
         
         PerformanceTracker tracker = sorter.getTracker();
+        SortVerifier.Result verification = SortVerifier.verify(arr, input);
         
         System.out.println("\n" + "=".repeat(60));
         System.out.printf("Benchmark Results - %s data (n=%,d)%n", dataType, size);
         System.out.println("Optimization: " + (useOptimization ? "ENABLED" : "DISABLED"));
         System.out.println("=".repeat(60));
         System.out.println(tracker);
-        System.out.println("Sorted correctly: " + InsertionSort.isSorted(arr));
+        if (presortedness != null) {
+            System.out.println(presortedness);
+        }
+        if (tracker.getCacheSimulator() != null) {
+            System.out.println(tracker.getCacheSimulator());
+        }
+        System.out.println("Sorted correctly: " + verification.isValid() + " (" + verification + ")");
         System.out.println("=".repeat(60));
         
-        // Export to CSV
-        try {
-            String filename = "benchmark_results.csv";
-            tracker.exportToCSV(filename, size, dataType + "_" + (useOptimization ? "opt" : "std"));
-            System.out.println("Results exported to: " + filename);
-        } catch (Exception e) {
-            System.err.println("Failed to export CSV: " + e.getMessage());
+        BenchmarkResult result = BenchmarkResult.from(tracker, size, dataType + "_" + (useOptimization ? "opt" : "std"));
+        sink.write(result);
+        return result;
+    }
+    
+    /**
+     * Runs one case as a worker process of {@link BenchmarkOrchestrator},
+     * printing only the machine-readable result line.
+     * 
+     * @param size array size
+     * @param dataType type of data
+     * @param useOptimization whether to use optimization
+     * @return process exit code
+     */
+    static int runWorker(int size, String dataType, boolean useOptimization) {
+        int[] arr = generateData(dataType, size);
+        if (arr == null) {
+            System.err.println("Unknown data type: " + dataType);
+            return 2;
         }
+        
+        SortVerifier.Fingerprint input = SortVerifier.fingerprint(arr);
+        InsertionSort sorter = new InsertionSort(useOptimization);
+        sorter.sort(arr);
+        SortVerifier.Result verification = SortVerifier.verify(arr, input);
+        if (!verification.isValid()) {
+            System.err.println("Worker produced invalid output: " + verification);
+            return 1;
+        }
+        
+        BenchmarkResult result = BenchmarkResult.from(sorter.getTracker(), size,
+                dataType + "_" + (useOptimization ? "opt" : "std"));
+        System.out.println(BenchmarkOrchestrator.RESULT_PREFIX + result.toCsvRow());
+        return 0;
+    }
+    
+    /**
+     * Runs a comprehensive benchmark suite, appending to the default results file.
+     * 
+     * @param sizes array of sizes to test
+     * @return process exit code: 0 on success, 1 if the results could not be written
+     */
+    public static int runComprehensiveBenchmark(int[] sizes) {
+        return runComprehensiveBenchmark(sizes, Paths.get(DEFAULT_RESULTS_FILE));
+    }
+    
+    /**
+     * Runs a comprehensive benchmark suite in this JVM. All results go through
+     * one background writer, and the results file is finalized when the suite ends.
+     * 
+     * @param sizes array of sizes to test
+     * @param resultsFile output file (".bin" selects the binary format)
+     * @return process exit code: 0 on success, 1 if the results could not be written
+     */
+    public static int runComprehensiveBenchmark(int[] sizes, Path resultsFile) {
+        return runComprehensiveBenchmark(sizes, resultsFile, 0, false);
     }
     
     /**
      * Runs a comprehensive benchmark suite.
      * 
+     * With {@code jobs == 0} every case runs serially in this JVM. Otherwise each
+     * case runs in a freshly forked JVM, with up to {@code jobs} of them at once.
+     * 
      * @param sizes array of sizes to test
+     * @param resultsFile output file (".bin" selects the binary format)
+     * @param jobs number of concurrent worker JVMs, or 0 to run in-process
+     * @param pinCpus whether to pin worker JVMs to CPUs with taskset
+     * @return process exit code: 0 on success, 1 if a case failed or the results could not be written
      */
-    public static void runComprehensiveBenchmark(int[] sizes) {
-        String[] dataTypes = {"random", "sorted", "reverse", "nearlysorted", "duplicates"};
-        boolean[] optimizations = {false, true};
+    public static int runComprehensiveBenchmark(int[] sizes, Path resultsFile, int jobs, boolean pinCpus) {
+        printSuiteHeader(jobs > 0 ? "Isolated worker JVMs: " + jobs + (pinCpus ? " (pinned)" : "") : null);
+        
+        boolean exported = false;
+        int failedCases = 0;
+        List<BenchmarkResult> results = new ArrayList<>();
+        try (ResultSink sink = new AsyncResultSink(ResultSink.open(resultsFile, metadata(), true))) {
+            if (jobs > 0) {
+                List<BenchmarkOrchestrator.BenchmarkCase> cases = new ArrayList<>();
+                for (int size : sizes) {
+                    for (String dataType : DATA_TYPES) {
+                        for (boolean useOpt : OPTIMIZATIONS) {
+                            cases.add(new BenchmarkOrchestrator.BenchmarkCase(size, dataType, useOpt));
+                        }
+                    }
+                }
+                BenchmarkOrchestrator orchestrator = new BenchmarkOrchestrator(jobs, pinCpus);
+                results.addAll(orchestrator.run(cases, sink));
+                failedCases = orchestrator.getFailedCount();
+                BenchmarkOrchestrator.printReport(results);
+            } else {
+                results.addAll(runSuiteCases(sizes, sink));
+            }
+            exported = true;
+        } catch (IOException e) {
+            System.err.println("Failed to export results: " + e.getMessage());
+        }
         
+        if (sizes.length > 1 && !results.isEmpty()) {
+            ComplexityReport.print(results, System.out);
+        }
+        
+        System.out.println("\n" + "=".repeat(80));
+        if (!exported) {
+            System.out.println("BENCHMARK SUITE FAILED: results were not written to " + resultsFile);
+        } else if (failedCases > 0) {
+            System.out.println("BENCHMARK SUITE FAILED: " + failedCases + " of " + (results.size() + failedCases)
+                    + " cases failed");
+            System.out.println("Results of the remaining cases exported to: " + resultsFile);
+        } else {
+            System.out.println("BENCHMARK SUITE COMPLETED");
+            System.out.println("Results exported to: " + resultsFile);
+        }
+        System.out.println("=".repeat(80));
+        return exported && failedCases == 0 ? 0 : 1;
+    }
+    
+    /**
+     * Runs a comprehensive benchmark suite in this JVM, writing every result
+     * to a sink owned by the caller, so that a batch of runs has one writer.
+     * 
+     * @param sizes array of sizes to test
+     * @param sink destination for the results (not closed)
+     * @return the results
+     * @throws IOException if a result cannot be written
+     */
+    public static List<BenchmarkResult> runComprehensiveBenchmark(int[] sizes, ResultSink sink) throws IOException {
+        printSuiteHeader(null);
+        List<BenchmarkResult> results = runSuiteCases(sizes, sink);
+        if (sizes.length > 1) {
+            ComplexityReport.print(results, System.out);
+        }
+        System.out.println("\n" + "=".repeat(80));
+        System.out.println("BENCHMARK SUITE COMPLETED");
+        System.out.println("=".repeat(80));
+        return results;
+    }
+    
+    private static void printSuiteHeader(String detail) {
         System.out.println("\n" + "=".repeat(80));
         System.out.println("COMPREHENSIVE BENCHMARK SUITE");
+        if (detail != null) {
+            System.out.println(detail);
+        }
         System.out.println("=".repeat(80));
-        
+    }
+    
+    /**
+     * Runs every size, data type and optimization setting in this JVM.
+     */
+    private static List<BenchmarkResult> runSuiteCases(int[] sizes, ResultSink sink) throws IOException {
+        List<BenchmarkResult> results = new ArrayList<>();
         for (int size : sizes) {
-            for (String dataType : dataTypes) {
-                for (boolean useOpt : optimizations) {
-                    runBenchmark(size, dataType, useOpt);
+            for (String dataType : DATA_TYPES) {
+                for (boolean useOpt : OPTIMIZATIONS) {
+                    results.add(runBenchmark(size, dataType, useOpt, sink));
                     
                     // Small delay to allow GC
                     try {
@@ -182,10 +375,548 @@ public class BenchmarkRunner {
                 }
             }
         }
+        return results;
+    }
+    
+    /**
+     * Runs one case several times on identical input, after a discarded
+     * warm-up run.
+     * 
+     * @param size array size
+     * @param dataType type of data
+     * @param useOptimization whether to use optimization
+     * @param trials number of measured trials
+     * @return the trial summary, or null if the data type is unknown
+     */
+    public static TrialSummary runTrials(int size, String dataType, boolean useOptimization, int trials) {
+        int[] input = generateData(dataType, size);
+        if (input == null) {
+            System.err.println("Unknown data type: " + dataType);
+            return null;
+        }
         
-        System.out.println("\n" + "=".repeat(80));
-        System.out.println("BENCHMARK SUITE COMPLETED");
-        System.out.println("=".repeat(80));
+        String label = dataType + "_" + (useOptimization ? "opt" : "std");
+        InsertionSort sorter = new InsertionSort(useOptimization);
+        sorter.sort(input.clone()); // warm-up
+        
+        List<BenchmarkResult> results = new ArrayList<>();
+        for (int t = 0; t < trials; t++) {
+            sorter.sort(input.clone());
+            results.add(BenchmarkResult.from(sorter.getTracker(), size, label));
+        }
+        return TrialSummary.of(results);
+    }
+    
+    /**
+     * Races several engines on identical inputs. Each engine sorts a copy of
+     * the same array once to warm up and then {@code trials} more times; the
+     * report shows the median time, throughput and the speed-up over the
+     * first engine listed, which serves as the baseline.
+     * 
+     * @param algorithms engine names (see {@link SorterRegistry}); the first is the baseline
+     * @param sizes array sizes
+     * @param dataTypes data types
+     * @param trials measured trials per engine and case
+     * @param resultsFile output file for every trial (".bin" selects the binary format)
+     * @return process exit code
+     */
+    public static int runAlgorithmComparison(List<String> algorithms, int[] sizes, String[] dataTypes,
+                                             int trials, Path resultsFile) {
+        List<Sorter> sorters = new ArrayList<>();
+        for (String name : algorithms) {
+            sorters.add(SorterRegistry.create(name));
+        }
+        // Validate before the sink opens so a typo cannot commit a partial file
+        for (String dataType : dataTypes) {
+            if (Distribution.fromLabel(dataType) == null) {
+                System.err.println("Unknown data type: " + dataType);
+                return 2;
+            }
+        }
+        
+        System.out.println("\n" + "=".repeat(100));
+        System.out.println("ALGORITHM COMPARISON (baseline: " + sorters.get(0).name() + ", median of " + trials + " trials)");
+        System.out.println("=".repeat(100));
+        System.out.printf("%-10s %-14s %-20s %14s %18s %10s%n",
+                "Size", "Data Type", "Algorithm", "Median (ms)", "Throughput (M/s)", "Speed-up");
+        System.out.println("-".repeat(100));
+        
+        int failed = 0;
+        try (ResultSink sink = new AsyncResultSink(ResultSink.open(resultsFile, metadata(), true))) {
+            for (int size : sizes) {
+                for (String dataType : dataTypes) {
+                    int[] input = generateData(dataType, size);
+                    SortVerifier.Fingerprint fingerprint = SortVerifier.fingerprint(input);
+                    double baselineMedian = 0;
+                    for (Sorter sorter : sorters) {
+                        sorter.sort(input.clone()); // warm-up
+                        long[] times = new long[trials];
+                        for (int t = 0; t < trials; t++) {
+                            int[] arr = input.clone();
+                            sorter.sort(arr);
+                            SortVerifier.Result verification = SortVerifier.verify(arr, fingerprint);
+                            if (!verification.isValid()) {
+                                System.err.println(sorter.name() + " produced invalid output: " + verification);
+                                failed++;
+                            }
+                            times[t] = sorter.getTracker().getExecutionTimeNanos();
+                            sink.write(BenchmarkResult.from(sorter.getTracker(), size, dataType + "_" + sorter.name()));
+                        }
+                        
+                        double median = TrialStatistics.of(times).getMedian();
+                        if (sorter == sorters.get(0)) {
+                            baselineMedian = median;
+                        }
+                        System.out.printf("%-10d %-14s %-20s %14.3f %18.2f %9.2fx%n",
+                                size, dataType, sorter.name(), median / 1e6,
+                                median > 0 ? size / (median / 1e9) / 1e6 : 0.0,
+                                median > 0 ? baselineMedian / median : 0.0);
+                    }
+                    System.out.println("-".repeat(100));
+                }
+            }
+        } catch (IOException e) {
+            System.err.println("Failed to export results: " + e.getMessage());
+            return 2;
+        }
+        System.out.println("Speed-up > 1 means faster than " + sorters.get(0).name());
+        System.out.println("Results exported to: " + resultsFile);
+        return failed > 0 ? 1 : 0;
+    }
+    
+    /**
+     * Saves the current performance as a named baseline, or compares the
+     * current performance against one.
+     * 
+     * @param action "save" or "compare"
+     * @param name the baseline name
+     * @param sizes array sizes to run
+     * @param trials trials per case
+     * @param store the baseline store
+     * @param thresholds threshold spec for comparisons (may be null)
+     * @return process exit code: 0 on success, 1 if regressions were found, 2 on errors
+     */
+    public static int runBaseline(String action, String name, int[] sizes, int trials,
+                                  BaselineStore store, String thresholds) {
+        if (!action.equals("save") && !action.equals("compare")) {
+            System.err.println("Unknown baseline action: " + action);
+            return 2;
+        }
+        
+        BaselineStore.Baseline baseline = null;
+        RegressionChecker checker = new RegressionChecker();
+        try {
+            if (action.equals("compare")) {
+                baseline = store.load(name);
+                if (thresholds != null) {
+                    checker.setThresholds(thresholds);
+                }
+            }
+        } catch (IOException | IllegalArgumentException e) {
+            System.err.println("Cannot compare against baseline: " + e.getMessage());
+            return 2;
+        }
+        
+        List<TrialSummary> summaries = new ArrayList<>();
+        for (int size : sizes) {
+            for (String dataType : DATA_TYPES) {
+                for (boolean useOpt : new boolean[]{false, true}) {
+                    TrialSummary summary = runTrials(size, dataType, useOpt, trials);
+                    System.out.printf("%-24s comp=%d, accesses=%d, time %s%n",
+                            summary.key(), summary.getComparisons(), summary.getArrayAccesses(), summary.getTime());
+                    summaries.add(summary);
+                }
+            }
+        }
+        
+        if (baseline == null) {
+            try {
+                Path file = store.save(name, metadata(), summaries);
+                System.out.println("\nBaseline '" + name + "' saved to " + file);
+                return 0;
+            } catch (IOException | IllegalArgumentException e) {
+                System.err.println("Failed to save baseline: " + e.getMessage());
+                return 2;
+            }
+        }
+        
+        System.out.println("\n" + "=".repeat(100));
+        System.out.println("REGRESSION CHECK against '" + name + "' (baseline JVM "
+                + baseline.getMetadata().getOrDefault("JavaVersion", "unknown")
+                + ", current JVM " + metadata().get("JavaVersion") + ")");
+        System.out.println("=".repeat(100));
+        String baselineProfile = baseline.getMetadata().getOrDefault("TuningProfile", "unknown");
+        if (!baselineProfile.equals(metadata().get("TuningProfile"))) {
+            System.out.println("Note: baseline tuning profile " + baselineProfile + " differs from this run's "
+                    + metadata().get("TuningProfile") + "; counters on short arrays will differ");
+        }
+        List<RegressionChecker.Finding> findings = checker.compare(baseline.getCases(), summaries);
+        for (RegressionChecker.Finding finding : findings) {
+            System.out.println(finding);
+        }
+        boolean regressed = RegressionChecker.hasRegressions(findings);
+        System.out.println("=".repeat(100));
+        System.out.println(regressed ? "RESULT: REGRESSION DETECTED" : "RESULT: no regressions");
+        return regressed ? 1 : 0;
+    }
+    
+    /**
+     * Sorts a small random array and prints it before and after (menu option 3).
+     */
+    public static void runQuickTest() {
+        int[] testArr = generateRandomArray(20);
+        System.out.println("\nOriginal: " + Arrays.toString(testArr));
+        InsertionSort sorter = new InsertionSort(true);
+        sorter.sort(testArr);
+        System.out.println("Sorted: " + Arrays.toString(testArr));
+        System.out.println(sorter.getTracker());
+    }
+    
+    /**
+     * Runs one case without and with optimization (menu option 4), appending
+     * both results to the default results file.
+     * 
+     * @param size array size
+     * @param dataType type of data
+     */
+    public static void runOptimizationComparison(int size, String dataType) {
+        Path resultsFile = Paths.get(DEFAULT_RESULTS_FILE);
+        try (ResultSink sink = ResultSink.open(resultsFile, metadata(), true)) {
+            runOptimizationComparison(size, dataType, sink);
+            System.out.println("Results exported to: " + resultsFile);
+        } catch (IOException e) {
+            System.err.println("Failed to export results: " + e.getMessage());
+        }
+    }
+    
+    /**
+     * Runs one case without and with optimization, writing both results to
+     * a sink owned by the caller.
+     * 
+     * @param size array size
+     * @param dataType type of data
+     * @param sink destination for the results (not closed)
+     * @throws IOException if a result cannot be written
+     */
+    public static void runOptimizationComparison(int size, String dataType, ResultSink sink) throws IOException {
+        System.out.println("\n--- WITHOUT Optimization ---");
+        runBenchmark(size, dataType, false, sink);
+        
+        System.out.println("\n--- WITH Optimization ---");
+        runBenchmark(size, dataType, true, sink);
+    }
+    
+    /**
+     * Runs every job of a job file in this JVM (see {@link BatchJob} for the
+     * format). Sort jobs stream one {@value #JOB_PREFIX} line each as they
+     * finish and write every repetition to the results file; menu jobs print
+     * what the interactive menu would and write their results to the same
+     * file, through the same writer.
+     * 
+     * With {@code warmup > 0}, each sort job first runs that many discarded
+     * sorts, all before the first measurement, so every kernel is compiled
+     * by the time measuring starts.
+     * 
+     * @param jobsFile the job file
+     * @param warmup warm-up sorts per sort job
+     * @param resultsFile output file for all job results (".bin" selects the binary format)
+     * @return process exit code: 0 if all jobs ran, 1 if any failed, 2 if the file is invalid
+     */
+    public static int runJobsFile(Path jobsFile, int warmup, Path resultsFile) {
+        List<BatchJob> jobs;
+        try {
+            jobs = BatchJob.load(jobsFile);
+        } catch (IOException | IllegalArgumentException e) {
+            System.err.println("Invalid job file " + jobsFile + ": " + e.getMessage());
+            return 2;
+        }
+        
+        // Load inputs up front so file reads and generation stay out of the timings
+        Map<BatchJob, int[]> inputs = new HashMap<>();
+        for (BatchJob job : jobs) {
+            if (job.getKind() == BatchJob.Kind.SORT) {
+                try {
+                    inputs.put(job, loadJobInput(job));
+                } catch (IOException e) {
+                    System.err.println("Line " + job.getLineNumber() + ": cannot read " + job.getFile()
+                            + ": " + e.getMessage());
+                    return 2;
+                }
+            }
+        }
+        
+        if (warmup > 0) {
+            long start = System.nanoTime();
+            for (Map.Entry<BatchJob, int[]> entry : inputs.entrySet()) {
+                InsertionSort sorter = new InsertionSort(entry.getKey().getKernel());
+                for (int i = 0; i < warmup; i++) {
+                    sorter.sort(entry.getValue().clone());
+                }
+            }
+            System.out.printf("Warm-up: %d sorts per job in %.1f ms%n", warmup, (System.nanoTime() - start) / 1e6);
+        }
+        
+        System.out.println(JOB_PREFIX + "Line,Label,ArraySize,Repetitions,MedianNanos,MinNanos,"
+                + "Comparisons,Swaps,ArrayAccesses");
+        System.out.flush();
+        int failed = 0;
+        try (ResultSink sink = new AsyncResultSink(ResultSink.open(resultsFile, metadata(), true))) {
+            for (BatchJob job : jobs) {
+                switch (job.getKind()) {
+                    case SINGLE:
+                        runBenchmark(job.getSize(), job.getDistribution().label(),
+                                job.getKernel() == InsertionSort.Kernel.BINARY, sink);
+                        break;
+                    case COMPREHENSIVE:
+                        runComprehensiveBenchmark(job.getSizes(), sink);
+                        break;
+                    case QUICK:
+                        runQuickTest();
+                        break;
+                    case COMPARE:
+                        runOptimizationComparison(job.getSize(), job.getDistribution().label(), sink);
+                        break;
+                    default:
+                        if (!runSortJob(job, inputs.get(job), sink)) {
+                            failed++;
+                        }
+                }
+            }
+        } catch (IOException e) {
+            System.err.println("Failed to export results: " + e.getMessage());
+            return 1;
+        }
+        return failed > 0 ? 1 : 0;
+    }
+    
+    private static int[] loadJobInput(BatchJob job) throws IOException {
+        if (job.getFile() == null) {
+            return generateData(job.getDistribution(), job.getSize());
+        }
+        int[] values = IntFileIO.read(job.getFile(), IntFileIO.Format.forFile(job.getFile()));
+        return job.getSize() >= 0 && job.getSize() < values.length ? Arrays.copyOf(values, job.getSize()) : values;
+    }
+    
+    /**
+     * Runs the repetitions of one sort job and prints its result line.
+     */
+    private static boolean runSortJob(BatchJob job, int[] input, ResultSink sink) throws IOException {
+        InsertionSort sorter = new InsertionSort(job.getKernel());
+        SortVerifier.Fingerprint fingerprint = SortVerifier.fingerprint(input);
+        List<BenchmarkResult> results = new ArrayList<>();
+        for (int r = 0; r < job.getRepetitions(); r++) {
+            int[] arr = input.clone();
+            sorter.sort(arr);
+            SortVerifier.Result verification = SortVerifier.verify(arr, fingerprint);
+            if (!verification.isValid()) {
+                System.err.println("Line " + job.getLineNumber() + ": " + verification);
+                return false;
+            }
+            BenchmarkResult result = BenchmarkResult.from(sorter.getTracker(), input.length, job.label());
+            sink.write(result);
+            results.add(result);
+        }
+        
+        TrialSummary summary = TrialSummary.of(results);
+        System.out.printf(Locale.ROOT, "%s%d,%s,%d,%d,%.0f,%.0f,%d,%d,%d%n", JOB_PREFIX,
+                job.getLineNumber(), job.label(), input.length, job.getRepetitions(),
+                summary.getTime().getMedian(), summary.getTime().getMin(),
+                summary.getComparisons(), summary.getSwaps(), summary.getArrayAccesses());
+        System.out.flush();
+        return true;
+    }
+    
+    /**
+     * Sorts a dataset read from a file, optionally writing the sorted values,
+     * and reports parse, sort and write times separately.
+     * 
+     * @param input the file to sort
+     * @param inputFormat format of the input file
+     * @param output destination of the sorted values, or null to skip writing
+     * @param outputFormat format of the output file
+     * @param useOptimization whether to use optimization
+     * @return process exit code
+     */
+    public static int runFileSort(Path input, IntFileIO.Format inputFormat, Path output,
+                                  IntFileIO.Format outputFormat, boolean useOptimization) {
+        int[] arr;
+        long parseStart = System.nanoTime();
+        try {
+            arr = IntFileIO.read(input, inputFormat);
+        } catch (IOException e) {
+            System.err.println("Failed to read " + input + ": " + e.getMessage());
+            return 2;
+        }
+        long parseNanos = System.nanoTime() - parseStart;
+        
+        PresortednessMetrics presortedness = reportPresortedness ? PresortednessMetrics.analyze(arr) : null;
+        SortVerifier.Fingerprint fingerprint = SortVerifier.fingerprint(arr);
+        
+        InsertionSort sorter = new InsertionSort(useOptimization);
+        sorter.sort(arr);
+        PerformanceTracker tracker = sorter.getTracker();
+        
+        long verifyStart = System.nanoTime();
+        SortVerifier.Result verification = SortVerifier.verify(arr, fingerprint);
+        long verifyNanos = System.nanoTime() - verifyStart;
+        
+        long writeNanos = 0;
+        if (output != null) {
+            long writeStart = System.nanoTime();
+            try {
+                IntFileIO.write(output, outputFormat, arr);
+            } catch (IOException e) {
+                System.err.println("Failed to write " + output + ": " + e.getMessage());
+                return 2;
+            }
+            writeNanos = System.nanoTime() - writeStart;
+        }
+        
+        System.out.println("\n" + "=".repeat(60));
+        System.out.printf("File Sort Results - %s (%s, n=%,d)%n", input, inputFormat.name().toLowerCase(), arr.length);
+        System.out.println("Optimization: " + (useOptimization ? "ENABLED" : "DISABLED"));
+        System.out.println("=".repeat(60));
+        System.out.printf("Parse time: %.3f ms%n", parseNanos / 1_000_000.0);
+        System.out.printf("Sort time:  %.3f ms%n", tracker.getExecutionTimeMillis());
+        if (output != null) {
+            System.out.printf("Write time: %.3f ms (%s, %s)%n", writeNanos / 1_000_000.0,
+                    output, outputFormat.name().toLowerCase());
+        }
+        System.out.println(tracker);
+        if (presortedness != null) {
+            System.out.println(presortedness);
+        }
+        System.out.printf("Verify time: %.3f ms%n", verifyNanos / 1_000_000.0);
+        System.out.println("Sorted correctly: " + verification.isValid() + " (" + verification + ")");
+        System.out.println("=".repeat(60));
+        return verification.isValid() ? 0 : 1;
+    }
+    
+    /**
+     * Serves sort requests on the loopback interface until the process is stopped.
+     * 
+     * @param port the port, or 0 for an ephemeral one
+     * @param threads number of sorting threads
+     * @param maxPending requests in flight before clients are held back
+     * @param useOptimization whether to use optimization
+     * @return process exit code
+     */
+    public static int runServer(int port, int threads, int maxPending, boolean useOptimization) {
+        SortServer server;
+        try {
+            server = new SortServer(port, threads, maxPending, SortServer.DEFAULT_BATCH_THRESHOLD,
+                    SortServer.DEFAULT_MAX_BATCH, useOptimization);
+        } catch (IOException e) {
+            System.err.println("Failed to start server: " + e.getMessage());
+            return 2;
+        }
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            try {
+                server.close();
+            } catch (IOException e) {
+                System.err.println("Failed to stop server: " + e.getMessage());
+            }
+            System.out.printf("Served %,d requests (%,d batches)%n", server.getRequestCount(), server.getBatchCount());
+        }));
+        System.out.println("Sort server listening on 127.0.0.1:" + server.getPort()
+                + " (" + threads + " sort threads, " + maxPending + " pending max)");
+        try {
+            Thread.currentThread().join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return 0;
+    }
+    
+    /**
+     * Runs the load generator against a running sort server.
+     * 
+     * @param port server port
+     * @param connections number of concurrent connections
+     * @param requests requests per connection
+     * @param size elements per request
+     * @return process exit code
+     */
+    public static int runLoadTest(int port, int connections, int requests, int size) {
+        try {
+            SortLoadClient.Report report = new SortLoadClient(port, connections, requests, size).run();
+            System.out.println("\n" + "=".repeat(60));
+            System.out.printf("%d connections x %d requests of %d elements%n", connections, requests, size);
+            System.out.println("=".repeat(60));
+            System.out.println(report);
+            System.out.println("=".repeat(60));
+            return 0;
+        } catch (IOException e) {
+            System.err.println("Load test failed: " + e.getMessage());
+            return 1;
+        }
+    }
+    
+    /**
+     * Calibrates insertion thresholds on this host and writes a tuning profile.
+     * 
+     * @param profileFile destination of the profile
+     * @return process exit code
+     */
+    public static int runCalibration(Path profileFile) {
+        System.out.println("\n" + "=".repeat(60));
+        System.out.println("CALIBRATING INSERTION THRESHOLDS");
+        System.out.println("=".repeat(60));
+        
+        TuningProfile profile = new ThresholdCalibrator(System.out).calibrate();
+        RunMetadata host = metadata();
+        try {
+            profile.save(profileFile, "Calibrated on " + host.get("Host") + " (" + host.get("OsArch")
+                    + ", " + host.get("Processors") + " CPUs, Java " + host.get("JavaVersion") + ")");
+        } catch (IOException e) {
+            System.err.println("Failed to write tuning profile: " + e.getMessage());
+            return 2;
+        }
+        System.out.println("=".repeat(60));
+        System.out.println(profile);
+        System.out.println("Profile written to: " + profileFile);
+        return 0;
+    }
+    
+    /**
+     * Parses a comma-separated list of sizes such as "100,1000,10000".
+     * 
+     * @param spec the list
+     * @return the sizes
+     */
+    private static int[] parseSizes(String spec) {
+        String[] sizeStrings = spec.split(",");
+        int[] sizes = new int[sizeStrings.length];
+        for (int i = 0; i < sizeStrings.length; i++) {
+            sizes[i] = Integer.parseInt(sizeStrings[i].trim());
+        }
+        return sizes;
+    }
+    
+    /**
+     * Gets the metadata for this process, capturing it on first use.
+     */
+    private static synchronized RunMetadata metadata() {
+        if (runMetadata == null) {
+            runMetadata = RunMetadata.capture(TuningProfile.current().describe());
+        }
+        return runMetadata;
+    }
+    
+    /**
+     * Gets the value following a command-line option.
+     * 
+     * @param args command-line arguments
+     * @param option the option name (e.g., "--results")
+     * @return the option value, or null if absent
+     */
+    private static String optionValue(String[] args, String option) {
+        for (int i = 0; i < args.length - 1; i++) {
+            if (args[i].equals(option)) {
+                return args[i + 1];
+            }
+        }
+        return null;
     }
     
     /**
@@ -213,9 +944,96 @@ public class BenchmarkRunner {
         // Command-line argument parsing
         if (args.length > 0) {
             try {
+                reportPresortedness = Arrays.asList(args).contains("--presortedness");
+                if (Arrays.asList(args).contains("--cache-sim")) {
+                    String cacheConfig = optionValue(args, "--cache-config");
+                    cacheSimulation = cacheConfig != null ? cacheConfig : "";
+                }
+                String cacheDir = optionValue(args, "--cache");
+                if (cacheDir != null) {
+                    System.setProperty(DatasetCache.CACHE_DIR_PROPERTY, cacheDir);
+                }
+
                 if (args[0].equals("--comprehensive")) {
                     int[] sizes = {100, 1000, 10000, 100000};
-                    runComprehensiveBenchmark(sizes);
+                    String results = optionValue(args, "--results");
+                    String jobs = optionValue(args, "--jobs");
+                    boolean pinCpus = Arrays.asList(args).contains("--affinity");
+                    if (jobs != null && Integer.parseInt(jobs) > 0 && (reportPresortedness || cacheSimulation != null)) {
+                        // Workers print only their result line, so these reports would be lost
+                        System.err.println("--presortedness and --cache-sim cannot be combined with --jobs");
+                        System.exit(2);
+                        return;
+                    }
+                    System.exit(runComprehensiveBenchmark(sizes,
+                            Paths.get(results != null ? results : DEFAULT_RESULTS_FILE),
+                            jobs != null ? Integer.parseInt(jobs) : 0, pinCpus));
+                    return;
+                } else if (args[0].equals("--baseline") && args.length >= 3) {
+                    String sizes = optionValue(args, "--sizes");
+                    String trials = optionValue(args, "--trials");
+                    String dir = optionValue(args, "--baseline-dir");
+                    BaselineStore store = new BaselineStore(Paths.get(dir != null ? dir : BaselineStore.DEFAULT_DIRECTORY));
+                    System.exit(runBaseline(args[1], args[2],
+                            sizes != null ? parseSizes(sizes) : DEFAULT_BASELINE_SIZES,
+                            trials != null ? Integer.parseInt(trials) : DEFAULT_TRIALS,
+                            store, optionValue(args, "--threshold")));
+                    return;
+                } else if (args[0].equals("--calibrate")) {
+                    String profile = optionValue(args, "--profile");
+                    System.exit(runCalibration(profile != null ? Paths.get(profile) : TuningProfile.defaultLocation()));
+                    return;
+                } else if (args[0].equals("--input") && args.length >= 2) {
+                    Path input = Paths.get(args[1]);
+                    String output = optionValue(args, "--output");
+                    String format = optionValue(args, "--format");
+                    String outputFormat = optionValue(args, "--output-format");
+                    IntFileIO.Format inFormat = format != null
+                            ? IntFileIO.Format.fromName(format) : IntFileIO.Format.forFile(input);
+                    Path outPath = output != null ? Paths.get(output) : null;
+                    IntFileIO.Format outFormat = outputFormat != null ? IntFileIO.Format.fromName(outputFormat)
+                            : outPath != null ? IntFileIO.Format.forFile(outPath) : inFormat;
+                    System.exit(runFileSort(input, inFormat, outPath, outFormat,
+                            Arrays.asList(args).contains("--optimize")));
+                    return;
+                } else if (args[0].equals("--jobs-file") && args.length >= 2) {
+                    String warmup = optionValue(args, "--warmup");
+                    String results = optionValue(args, "--results");
+                    System.exit(runJobsFile(Paths.get(args[1]), warmup != null ? Integer.parseInt(warmup) : 0,
+                            Paths.get(results != null ? results : DEFAULT_RESULTS_FILE)));
+                    return;
+                } else if (args[0].equals("--serve")) {
+                    int port = args.length > 1 && !args[1].startsWith("--") ? Integer.parseInt(args[1]) : DEFAULT_PORT;
+                    String threads = optionValue(args, "--threads");
+                    String pending = optionValue(args, "--max-pending");
+                    System.exit(runServer(port,
+                            threads != null ? Integer.parseInt(threads) : Runtime.getRuntime().availableProcessors(),
+                            pending != null ? Integer.parseInt(pending) : SortServer.DEFAULT_MAX_PENDING,
+                            Arrays.asList(args).contains("--optimize")));
+                    return;
+                } else if (args[0].equals("--load-test")) {
+                    int port = args.length > 1 && !args[1].startsWith("--") ? Integer.parseInt(args[1]) : DEFAULT_PORT;
+                    String connections = optionValue(args, "--connections");
+                    String requests = optionValue(args, "--requests");
+                    String size = optionValue(args, "--size");
+                    System.exit(runLoadTest(port,
+                            connections != null ? Integer.parseInt(connections) : 8,
+                            requests != null ? Integer.parseInt(requests) : 1000,
+                            size != null ? Integer.parseInt(size) : 32));
+                    return;
+                } else if (args[0].equals("--algo") && args.length >= 2) {
+                    String sizes = optionValue(args, "--sizes");
+                    String types = optionValue(args, "--types");
+                    String trials = optionValue(args, "--trials");
+                    String results = optionValue(args, "--results");
+                    System.exit(runAlgorithmComparison(Arrays.asList(args[1].split(",")),
+                            sizes != null ? parseSizes(sizes) : DEFAULT_BASELINE_SIZES,
+                            types != null ? types.split(",") : DATA_TYPES,
+                            trials != null ? Integer.parseInt(trials) : DEFAULT_TRIALS,
+                            Paths.get(results != null ? results : DEFAULT_RESULTS_FILE)));
+                    return;
+                } else if (args[0].equals("--worker") && args.length >= 4) {
+                    System.exit(runWorker(Integer.parseInt(args[1]), args[2], args[3].equals("opt")));
                     return;
                 } else if (args[0].equals("--size") && args.length >= 3) {
                     int size = Integer.parseInt(args[1]);
@@ -247,7 +1065,7 @@ public class BenchmarkRunner {
                         int size = scanner.nextInt();
                         scanner.nextLine();
                         
-                        System.out.print("Data type (random/sorted/reverse/nearlysorted/duplicates): ");
+                        System.out.print("Data type (" + Distribution.labels() + "): ");
                         String dataType = scanner.nextLine();
                         
                         System.out.print("Use optimization? (y/n): ");
@@ -258,21 +1076,12 @@ public class BenchmarkRunner {
                         
                     case 2:
                         System.out.print("Enter sizes (comma-separated, e.g., 100,1000,10000): ");
-                        String[] sizeStrings = scanner.nextLine().split(",");
-                        int[] sizes = new int[sizeStrings.length];
-                        for (int i = 0; i < sizeStrings.length; i++) {
-                            sizes[i] = Integer.parseInt(sizeStrings[i].trim());
-                        }
+                        int[] sizes = parseSizes(scanner.nextLine());
                         runComprehensiveBenchmark(sizes);
                         break;
                         
                     case 3:
-                        int[] testArr = generateRandomArray(20);
-                        System.out.println("\nOriginal: " + Arrays.toString(testArr));
-                        InsertionSort sorter = new InsertionSort(true);
-                        sorter.sort(testArr);
-                        System.out.println("Sorted: " + Arrays.toString(testArr));
-                        System.out.println(sorter.getTracker());
+                        runQuickTest();
                         break;
                         
                     case 4:
@@ -283,11 +1092,7 @@ public class BenchmarkRunner {
                         System.out.print("Data type: ");
                         String compDataType = scanner.nextLine();
                         
-                        System.out.println("\n--- WITHOUT Optimization ---");
-                        runBenchmark(compSize, compDataType, false);
-                        
-                        System.out.println("\n--- WITH Optimization ---");
-                        runBenchmark(compSize, compDataType, true);
+                        runOptimizationComparison(compSize, compDataType);
                         break;
                         
                     case 5:
@@ -314,10 +1119,40 @@ public class BenchmarkRunner {
     private static void printUsage() {
         System.out.println("\nUsage:");
         System.out.println("  java cli.BenchmarkRunner");
-        System.out.println("  java cli.BenchmarkRunner --comprehensive");
+        System.out.println("  java cli.BenchmarkRunner --comprehensive [--results <file.csv|file.bin>] [--jobs <n>] [--affinity]");
+        System.out.println("                         (--presortedness and --cache-sim need the in-process run, not --jobs)");
         System.out.println("  java cli.BenchmarkRunner --size <n> <datatype> [--optimize]");
+        System.out.println("  java cli.BenchmarkRunner --baseline save|compare <name> [--sizes <n,n,...>] [--trials <n>]");
+        System.out.println("                         [--threshold time=10,comparisons=0,swaps=0,accesses=0] [--baseline-dir <dir>]");
+        System.out.println("  java cli.BenchmarkRunner --calibrate [--profile <file>]");
+        System.out.println("  java cli.BenchmarkRunner --algo <name,name,...> [--sizes <n,n,...>] [--types <t,t,...>] [--trials <n>]");
+        System.out.println("  java cli.BenchmarkRunner --jobs-file <file> [--warmup <n>] [--results <file.csv|file.bin>]");
+        System.out.println("  java cli.BenchmarkRunner --serve [port] [--threads <n>] [--max-pending <n>] [--optimize]");
+        System.out.println("  java cli.BenchmarkRunner --load-test [port] [--connections <n>] [--requests <n>] [--size <n>]");
+        System.out.println("  java cli.BenchmarkRunner --input <file> [--output <file>] [--optimize]");
+        System.out.println("                         [--format text|binary] [--output-format text|binary]");
+        System.out.println("\nOptions:");
+        System.out.println("  --cache <dir>       reuse generated datasets from memory-mapped files in <dir>");
+        System.out.println("  --presortedness     report inversions, runs, LIS and max displacement of each input");
+        System.out.println("  --cache-sim         simulate L1/L2 caches on the accessed indices and report hits,");
+        System.out.println("                      misses and estimated stall cycles per sort");
+        System.out.println("  --cache-config <c>  cache geometry, e.g. l1=32K/8,l2=1M/16,line=64 (the default)");
+        System.out.println("\nFile formats: text (one integer per line, or whitespace/comma separated) and");
+        System.out.println("  binary (raw little-endian 32-bit ints); .bin, .i32 and .ints files default to binary");
+        System.out.println("\nJob file lines: <gen|file> <size|-> <datatype|-> <std|opt|standard|binary|sentinel|pair> [reps]");
+        System.out.println("  or menu options: 1 <size> <datatype> <y|n>, 2 <n,n,...>, 3, 4 <size> <datatype>");
+        System.out.println("\nAlgorithms (first listed is the baseline): " + String.join(", ", SorterRegistry.names()));
+        System.out.println("\nData types: " + Distribution.labels());
         System.out.println("\nExamples:");
         System.out.println("  java cli.BenchmarkRunner --size 10000 random --optimize");
+        System.out.println("  java cli.BenchmarkRunner --size 100000 random --optimize --cache-sim");
         System.out.println("  java cli.BenchmarkRunner --comprehensive");
+        System.out.println("  java cli.BenchmarkRunner --comprehensive --results sweep.bin");
+        System.out.println("  java cli.BenchmarkRunner --comprehensive --jobs 4 --affinity");
+        System.out.println("  java cli.BenchmarkRunner --baseline compare jdk17 --threshold time=5");
+        System.out.println("  java cli.BenchmarkRunner --input incident.txt --output sorted.bin --optimize");
+        System.out.println("  java cli.BenchmarkRunner --algo jdk-sort,insertion-opt,insertion-pair --sizes 1000,10000");
+        System.out.println("  java cli.BenchmarkRunner --jobs-file nightly.jobs --warmup 20");
+        System.out.println("  java cli.BenchmarkRunner --serve 7070 & java cli.BenchmarkRunner --load-test 7070 --connections 16");
     }
 }
\ No newline at end of file
@@ -0,0 +1,209 @@
+package cli;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.stream.IntStream;
+
+/**
+ * Deterministic, parallel input generation.
+ * 
+ * Every case (distribution, size, seed) gets its own random stream, so the
+ * generated data does not depend on which cases ran before it. Large arrays
+ * are filled in fixed-size chunks, each seeded from the case seed and the
+ * chunk index, which makes the output identical whether chunks are filled
+ * serially or in parallel.
+ * 
+ * @author Student A
+ */
+public final class DataGenerator {
+    
+    /** Base seed used when none is given. */
+    public static final long DEFAULT_SEED = 42L;
+    
+    /** Maximum displacement used by {@link Distribution#K_SORTED}. */
+    public static final int DEFAULT_K = 16;
+    
+    /** Number of distinct values used by {@link Distribution#FEW_UNIQUE}. */
+    public static final int FEW_UNIQUE_VALUES = 8;
+    
+    private static final int CHUNK_SIZE = 1 << 16;
+    private static final int MAX_ZIPF_RANKS = 1 << 20;
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+    
+    private DataGenerator() {
+    }
+    
+    /**
+     * Derives the seed for one case from a base seed.
+     * 
+     * @param baseSeed the base seed
+     * @param distribution the distribution
+     * @param size the array size
+     * @return the case seed
+     */
+    public static long caseSeed(long baseSeed, Distribution distribution, int size) {
+        long h = mix64(baseSeed + GOLDEN_GAMMA * (distribution.ordinal() + 1));
+        return mix64(h + GOLDEN_GAMMA * size);
+    }
+    
+    /**
+     * Generates an array using the default base seed.
+     * 
+     * @param distribution the distribution
+     * @param size the array size
+     * @return a new array
+     */
+    public static int[] generate(Distribution distribution, int size) {
+        return generate(distribution, size, caseSeed(DEFAULT_SEED, distribution, size));
+    }
+    
+    /**
+     * Generates an array from an explicit case seed.
+     * 
+     * @param distribution the distribution
+     * @param size the array size
+     * @param seed the case seed
+     * @return a new array
+     * @throws IllegalArgumentException if size is negative
+     */
+    public static int[] generate(Distribution distribution, int size, long seed) {
+        if (size < 0) {
+            throw new IllegalArgumentException("Size cannot be negative");
+        }
+        int[] arr = new int[size];
+        if (size == 0) {
+            return arr;
+        }
+        
+        switch (distribution) {
+            case RANDOM:
+                fillUniform(arr, seed, (int) Math.min(Integer.MAX_VALUE, size * 10L));
+                break;
+            case SORTED:
+                Arrays.parallelSetAll(arr, i -> i);
+                break;
+            case REVERSE:
+                Arrays.parallelSetAll(arr, i -> size - i - 1);
+                break;
+            case NEARLY_SORTED:
+                Arrays.parallelSetAll(arr, i -> i);
+                swapRandomPairs(arr, seed, Math.max(1, size / 20)); // 5% swaps
+                break;
+            case DUPLICATES:
+                fillUniform(arr, seed, Math.max(1, size / 10));
+                break;
+            case ZIPF:
+                fillZipf(arr, seed, Math.min(MAX_ZIPF_RANKS, Math.max(1, size / 10)));
+                break;
+            case SAWTOOTH:
+                int period = Math.max(1, (int) Math.sqrt(size));
+                Arrays.parallelSetAll(arr, i -> i % period);
+                break;
+            case ORGAN_PIPE:
+                Arrays.parallelSetAll(arr, i -> i < size / 2 ? i : size - 1 - i);
+                break;
+            case K_SORTED:
+                Arrays.parallelSetAll(arr, i -> i);
+                shuffleWindows(arr, seed, Math.min(DEFAULT_K, size - 1) + 1);
+                break;
+            case FEW_UNIQUE:
+                fillUniform(arr, seed, FEW_UNIQUE_VALUES);
+                break;
+            default:
+                throw new IllegalArgumentException("Unsupported distribution: " + distribution);
+        }
+        return arr;
+    }
+    
+    /**
+     * Fills the array with uniform values in [0, bound), chunk by chunk.
+     */
+    private static void fillUniform(int[] arr, long seed, int bound) {
+        chunks(arr.length).forEach(chunk -> {
+            SplittableRandom random = chunkRandom(seed, chunk);
+            int end = (int) Math.min(arr.length, (long) (chunk + 1) * CHUNK_SIZE);
+            for (int i = chunk * CHUNK_SIZE; i < end; i++) {
+                arr[i] = random.nextInt(bound);
+            }
+        });
+    }
+    
+    /**
+     * Fills the array with Zipf(1) ranks in [0, ranks) by inverse-CDF lookup.
+     */
+    private static void fillZipf(int[] arr, long seed, int ranks) {
+        double[] cdf = new double[ranks];
+        double total = 0;
+        for (int k = 0; k < ranks; k++) {
+            total += 1.0 / (k + 1);
+            cdf[k] = total;
+        }
+        double norm = total;
+        
+        chunks(arr.length).forEach(chunk -> {
+            SplittableRandom random = chunkRandom(seed, chunk);
+            int end = (int) Math.min(arr.length, (long) (chunk + 1) * CHUNK_SIZE);
+            for (int i = chunk * CHUNK_SIZE; i < end; i++) {
+                int pos = Arrays.binarySearch(cdf, random.nextDouble() * norm);
+                arr[i] = Math.min(ranks - 1, pos >= 0 ? pos : -pos - 1);
+            }
+        });
+    }
+    
+    /**
+     * Swaps random index pairs. Sequential, since swaps may overlap.
+     */
+    private static void swapRandomPairs(int[] arr, long seed, int swaps) {
+        SplittableRandom random = new SplittableRandom(seed);
+        for (int i = 0; i < swaps; i++) {
+            int idx1 = random.nextInt(arr.length);
+            int idx2 = random.nextInt(arr.length);
+            int temp = arr[idx1];
+            arr[idx1] = arr[idx2];
+            arr[idx2] = temp;
+        }
+    }
+    
+    /**
+     * Shuffles disjoint windows of the given length, which bounds every
+     * element's displacement by window - 1.
+     */
+    private static void shuffleWindows(int[] arr, long seed, int window) {
+        // Chunk boundaries are aligned to windows so no window spans two chunks
+        int chunkLength = Math.max(window, CHUNK_SIZE / window * window);
+        int chunkCount = (arr.length + chunkLength - 1) / chunkLength;
+        IntStream range = IntStream.range(0, chunkCount);
+        (chunkCount > 1 ? range.parallel() : range).forEach(chunk -> {
+            SplittableRandom random = chunkRandom(seed, chunk);
+            int chunkEnd = (int) Math.min(arr.length, (long) (chunk + 1) * chunkLength);
+            for (int start = chunk * chunkLength; start < chunkEnd; start += window) {
+                int end = Math.min(chunkEnd, start + window);
+                for (int i = end - 1; i > start; i--) {
+                    int j = start + random.nextInt(i - start + 1);
+                    int temp = arr[i];
+                    arr[i] = arr[j];
+                    arr[j] = temp;
+                }
+            }
+        });
+    }
+    
+    private static IntStream chunks(int length) {
+        int count = (length + CHUNK_SIZE - 1) / CHUNK_SIZE;
+        IntStream range = IntStream.range(0, count);
+        return count > 1 ? range.parallel() : range;
+    }
+    
+    private static SplittableRandom chunkRandom(long seed, int chunk) {
+        return new SplittableRandom(mix64(seed + GOLDEN_GAMMA * (chunk + 1)));
+    }
+    
+    /**
+     * Stafford variant 13 of the MurmurHash3 finalizer, as used by SplittableRandom.
+     */
+    private static long mix64(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
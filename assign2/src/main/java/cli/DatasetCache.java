@@ -0,0 +1,142 @@
+package cli;
+
+import metrics.AtomicFiles;
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Persists generated datasets as memory-mapped binary files, keyed by
+ * (distribution, size, seed).
+ * 
+ * File layout (native byte order): magic, format version, element count,
+ * then the elements. Files are written to a temporary sibling and renamed
+ * into place, so concurrent workers never read a partial dataset.
+ * 
+ * @author Student A
+ */
+public class DatasetCache {
+    
+    /** System property naming the cache directory; caching is off when unset. */
+    public static final String CACHE_DIR_PROPERTY = "benchmark.cache.dir";
+    
+    /** Arrays smaller than this are cheaper to regenerate than to map. */
+    public static final int MIN_CACHED_SIZE = 10_000;
+    
+    private static final int MAGIC = 0x49534443; // "ISDC"
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 12;
+    
+    private final Path directory;
+    
+    /**
+     * Creates a cache rooted at the given directory.
+     * 
+     * @param directory the cache directory (created on first write)
+     */
+    public DatasetCache(Path directory) {
+        if (directory == null) {
+            throw new IllegalArgumentException("Cache directory cannot be null");
+        }
+        this.directory = directory;
+    }
+    
+    /**
+     * Gets a dataset, generating and storing it on a miss. Each call returns a
+     * fresh array, so callers may sort it in place.
+     * 
+     * @param distribution the distribution
+     * @param size the array size
+     * @param seed the case seed
+     * @return the dataset
+     */
+    public int[] get(Distribution distribution, int size, long seed) {
+        if (size < MIN_CACHED_SIZE || !distribution.isRandomized()) {
+            return DataGenerator.generate(distribution, size, seed);
+        }
+        
+        Path file = fileFor(distribution, size, seed);
+        try {
+            int[] cached = read(file, size);
+            if (cached != null) {
+                return cached;
+            }
+        } catch (IOException e) {
+            System.err.println("Ignoring unreadable cache entry " + file + ": " + e.getMessage());
+        }
+        
+        int[] arr = DataGenerator.generate(distribution, size, seed);
+        try {
+            write(file, arr);
+        } catch (IOException e) {
+            System.err.println("Failed to cache dataset " + file + ": " + e.getMessage());
+        }
+        return arr;
+    }
+    
+    /**
+     * Gets the cache file for a key.
+     * 
+     * @param distribution the distribution
+     * @param size the array size
+     * @param seed the case seed
+     * @return the file path
+     */
+    public Path fileFor(Distribution distribution, int size, long seed) {
+        return directory.resolve(String.format("%s-%d-%016x.ints", distribution.label(), size, seed));
+    }
+    
+    private static int[] read(Path file, int size) throws IOException {
+        if (!Files.exists(file)) {
+            return null;
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long expectedBytes = HEADER_BYTES + 4L * size;
+            if (channel.size() != expectedBytes) {
+                throw new IOException("unexpected file size " + channel.size());
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, expectedBytes);
+            buffer.order(ByteOrder.nativeOrder());
+            if (buffer.getInt() != MAGIC || buffer.getInt() != VERSION || buffer.getInt() != size) {
+                throw new IOException("bad header");
+            }
+            int[] arr = new int[size];
+            buffer.asIntBuffer().get(arr);
+            return arr;
+        }
+    }
+    
+    private static void write(Path file, int[] arr) throws IOException {
+        Path temp = AtomicFiles.createTempSibling(file);
+        try {
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                long bytes = HEADER_BYTES + 4L * arr.length;
+                MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, bytes);
+                buffer.order(ByteOrder.nativeOrder());
+                buffer.putInt(MAGIC).putInt(VERSION).putInt(arr.length);
+                IntBuffer ints = buffer.asIntBuffer();
+                ints.put(arr);
+                buffer.force();
+            }
+            AtomicFiles.commit(temp, file);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+    
+    /**
+     * Creates a cache from the {@value #CACHE_DIR_PROPERTY} system property.
+     * 
+     * @return the configured cache, or null if caching is disabled
+     */
+    public static DatasetCache fromSystemProperty() {
+        String dir = System.getProperty(CACHE_DIR_PROPERTY);
+        return dir == null || dir.isEmpty() ? null : new DatasetCache(Paths.get(dir));
+    }
+}
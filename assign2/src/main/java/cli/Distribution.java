@@ -0,0 +1,87 @@
+package cli;
+
+/**
+ * Input data distributions supported by the benchmark generators.
+ * 
+ * @author Student A
+ */
+public enum Distribution {
+    /** Uniform random values in [0, 10n). */
+    RANDOM("random", true),
+    /** Ascending values 0..n-1. */
+    SORTED("sorted", false),
+    /** Descending values n-1..0. */
+    REVERSE("reverse", false),
+    /** Sorted data with 5% random swaps. */
+    NEARLY_SORTED("nearlysorted", true),
+    /** Uniform random values from n/10 distinct keys. */
+    DUPLICATES("duplicates", true),
+    /** Zipf-distributed ranks (exponent 1): a few values dominate. */
+    ZIPF("zipf", true),
+    /** Repeated ascending runs of length about sqrt(n). */
+    SAWTOOTH("sawtooth", false),
+    /** Ascending to the middle, then descending. */
+    ORGAN_PIPE("organpipe", false),
+    /** Every element at most k positions from its sorted place. */
+    K_SORTED("ksorted", true),
+    /** Uniform random values from a handful of distinct keys. */
+    FEW_UNIQUE("fewunique", true);
+    
+    private final String label;
+    private final boolean randomized;
+    
+    Distribution(String label, boolean randomized) {
+        this.label = label;
+        this.randomized = randomized;
+    }
+    
+    /**
+     * Whether the generated data depends on the seed. Deterministic
+     * distributions are never worth caching.
+     * 
+     * @return true if the distribution draws random values
+     */
+    public boolean isRandomized() {
+        return randomized;
+    }
+    
+    /**
+     * Gets the name used on the command line and in result labels.
+     * 
+     * @return the label
+     */
+    public String label() {
+        return label;
+    }
+    
+    /**
+     * Looks up a distribution by its label (case-insensitive).
+     * 
+     * @param label the label, e.g. "nearlysorted"
+     * @return the distribution, or null if unknown
+     */
+    public static Distribution fromLabel(String label) {
+        for (Distribution distribution : values()) {
+            if (distribution.label.equalsIgnoreCase(label)) {
+                return distribution;
+            }
+        }
+        return null;
+    }
+    
+    /**
+     * Lists all labels separated by '/', for prompts and usage text.
+     * 
+     * @return the labels
+     */
+    public static String labels() {
+        StringBuilder sb = new StringBuilder();
+        for (Distribution distribution : values()) {
+            if (sb.length() > 0) {
+                sb.append('/');
+            }
+            sb.append(distribution.label);
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,253 @@
+package cli;
+
+import metrics.AtomicFiles;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * Reads and writes int datasets for sorting real inputs from the CLI.
+ *
+ * Two formats are supported:
+ * - TEXT: decimal integers separated by whitespace, newlines or commas
+ * - BINARY: raw 32-bit little-endian ints with no header
+ *
+ * Input files are memory-mapped in windows and parsed byte by byte, so no
+ * per-line Strings are created. Output goes through a direct buffer and is
+ * written to a temporary sibling that is renamed into place.
+ *
+ * @author Student A
+ */
+public final class IntFileIO {
+
+    /**
+     * On-disk representation of a dataset.
+     */
+    public enum Format {
+        TEXT,
+        BINARY;
+
+        /**
+         * Guesses the format from a file name: ".bin", ".i32" and ".ints" are binary.
+         *
+         * @param file the file
+         * @return the format
+         */
+        public static Format forFile(Path file) {
+            String name = file.getFileName().toString().toLowerCase(Locale.ROOT);
+            return name.endsWith(".bin") || name.endsWith(".i32") || name.endsWith(".ints") ? BINARY : TEXT;
+        }
+
+        /**
+         * Parses a format name ("text" or "binary").
+         *
+         * @param name the name
+         * @return the format
+         * @throws IllegalArgumentException if the name is unknown
+         */
+        public static Format fromName(String name) {
+            try {
+                return valueOf(name.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Unknown format: " + name + " (expected text or binary)");
+            }
+        }
+    }
+
+    /** Bytes mapped at a time; bounded so huge files never need one giant mapping. */
+    static final int DEFAULT_WINDOW = 1 << 26;
+
+    private static final int WRITE_BUFFER_BYTES = 1 << 16;
+
+    /** Longest text representation of an int ("-2147483648") plus a newline. */
+    private static final int MAX_INT_CHARS = 12;
+
+    private IntFileIO() {
+    }
+
+    /**
+     * Reads a dataset.
+     *
+     * @param file the file
+     * @param format its format
+     * @return the values in file order
+     * @throws IOException if the file cannot be read or is malformed
+     */
+    public static int[] read(Path file, Format format) throws IOException {
+        return format == Format.BINARY ? readBinary(file) : readText(file, DEFAULT_WINDOW);
+    }
+
+    /**
+     * Writes a dataset.
+     *
+     * @param file the file
+     * @param format the format to write
+     * @param values the values
+     * @throws IOException if the file cannot be written
+     */
+    public static void write(Path file, Format format, int[] values) throws IOException {
+        Path temp = AtomicFiles.createTempSibling(file);
+        try {
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE,
+                    StandardOpenOption.TRUNCATE_EXISTING)) {
+                if (format == Format.BINARY) {
+                    writeBinary(channel, values);
+                } else {
+                    writeText(channel, values);
+                }
+            }
+            AtomicFiles.commit(temp, file);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * Parses a text file, mapping it window by window. A number may straddle
+     * two windows; the parser state simply carries over.
+     */
+    static int[] readText(Path file, int window) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            int[] values = new int[(int) Math.min(1 << 20, Math.max(16, size / 4))];
+            int count = 0;
+
+            long value = 0;
+            boolean negative = false;
+            boolean inNumber = false;  // at least one digit seen
+            boolean signed = false;    // '-' seen, digits pending
+
+            for (long position = 0; position < size; position += window) {
+                long length = Math.min(window, size - position);
+                MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, position, length);
+                for (int i = 0; i < length; i++) {
+                    byte b = buffer.get(i);
+                    if (b >= '0' && b <= '9') {
+                        value = value * 10 + (b - '0');
+                        if (value > (negative ? 1L << 31 : Integer.MAX_VALUE)) {
+                            throw new IOException("Value out of int range at byte " + (position + i));
+                        }
+                        inNumber = true;
+                    } else if (b == ' ' || b == '\n' || b == '\r' || b == '\t' || b == ',') {
+                        if (signed && !inNumber) {
+                            throw new IOException("Dangling '-' at byte " + (position + i));
+                        }
+                        if (inNumber) {
+                            if (count == values.length) {
+                                values = Arrays.copyOf(values, grow(count));
+                            }
+                            values[count++] = (int) (negative ? -value : value);
+                            value = 0;
+                            negative = false;
+                            inNumber = false;
+                        }
+                        signed = false;
+                    } else if (b == '-' && !inNumber && !signed) {
+                        negative = true;
+                        signed = true;
+                    } else {
+                        throw new IOException("Unexpected character '" + (char) (b & 0xff)
+                                + "' at byte " + (position + i));
+                    }
+                }
+            }
+            if (signed && !inNumber) {
+                throw new IOException("Dangling '-' at end of file");
+            }
+            if (inNumber) {
+                if (count == values.length) {
+                    values = Arrays.copyOf(values, grow(count));
+                }
+                values[count++] = (int) (negative ? -value : value);
+            }
+            return count == values.length ? values : Arrays.copyOf(values, count);
+        }
+    }
+
+    private static int grow(int length) throws IOException {
+        if (length >= Integer.MAX_VALUE - 8) {
+            throw new IOException("Too many values for one array");
+        }
+        return (int) Math.min(Integer.MAX_VALUE - 8L, length * 2L);
+    }
+
+    /**
+     * Reads raw little-endian ints, mapping the file in windows.
+     */
+    private static int[] readBinary(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size % Integer.BYTES != 0) {
+                throw new IOException("Binary file length " + size + " is not a multiple of 4");
+            }
+            if (size / Integer.BYTES > Integer.MAX_VALUE - 8) {
+                throw new IOException("Too many values for one array");
+            }
+            int[] values = new int[(int) (size / Integer.BYTES)];
+            int count = 0;
+            for (long position = 0; position < size; position += DEFAULT_WINDOW) {
+                long length = Math.min(DEFAULT_WINDOW, size - position);
+                MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, position, length);
+                buffer.order(ByteOrder.LITTLE_ENDIAN);
+                int ints = (int) (length / Integer.BYTES);
+                buffer.asIntBuffer().get(values, count, ints);
+                count += ints;
+            }
+            return values;
+        }
+    }
+
+    private static void writeBinary(FileChannel channel, int[] values) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocateDirect(WRITE_BUFFER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        int perBuffer = WRITE_BUFFER_BYTES / Integer.BYTES;
+        for (int from = 0; from < values.length; from += perBuffer) {
+            int count = Math.min(perBuffer, values.length - from);
+            buffer.clear();
+            buffer.asIntBuffer().put(values, from, count);
+            buffer.limit(count * Integer.BYTES);
+            drain(channel, buffer);
+        }
+    }
+
+    /**
+     * Formats each value as ASCII digits directly into the buffer, one per line.
+     */
+    private static void writeText(FileChannel channel, int[] values) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocateDirect(WRITE_BUFFER_BYTES);
+        byte[] digits = new byte[MAX_INT_CHARS];
+        for (int value : values) {
+            if (buffer.remaining() < MAX_INT_CHARS) {
+                buffer.flip();
+                drain(channel, buffer);
+                buffer.clear();
+            }
+            // Work on the negated magnitude so Integer.MIN_VALUE needs no special case
+            int pos = digits.length;
+            int rest = value < 0 ? value : -value;
+            do {
+                digits[--pos] = (byte) ('0' - rest % 10);
+                rest /= 10;
+            } while (rest != 0);
+            if (value < 0) {
+                digits[--pos] = '-';
+            }
+            buffer.put(digits, pos, digits.length - pos);
+            buffer.put((byte) '\n');
+        }
+        buffer.flip();
+        drain(channel, buffer);
+    }
+
+    private static void drain(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+}
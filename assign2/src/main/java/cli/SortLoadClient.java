@@ -0,0 +1,184 @@
+package cli;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Load generator for {@link SortServer}: several connections each send a
+ * fixed number of random arrays back to back and time every round trip.
+ *
+ * @author Student A
+ */
+public class SortLoadClient {
+
+    private final int port;
+    private final int connections;
+    private final int requestsPerConnection;
+    private final int size;
+
+    /**
+     * Result of a load test.
+     */
+    public static final class Report {
+        private final long[] latenciesNanos;
+        private final long elapsedNanos;
+        private final long elements;
+
+        Report(long[] latenciesNanos, long elapsedNanos, long elements) {
+            this.latenciesNanos = latenciesNanos;
+            this.elapsedNanos = elapsedNanos;
+            this.elements = elements;
+        }
+
+        public int getRequests() {
+            return latenciesNanos.length;
+        }
+
+        public double getRequestsPerSecond() {
+            return latenciesNanos.length / (elapsedNanos / 1e9);
+        }
+
+        public double getElementsPerSecond() {
+            return elements / (elapsedNanos / 1e9);
+        }
+
+        /**
+         * Gets a latency percentile by the nearest-rank method.
+         *
+         * @param percentile percentile in (0, 100]
+         * @return the latency in nanoseconds, or 0 if there were no requests
+         */
+        public long getLatencyPercentile(double percentile) {
+            if (latenciesNanos.length == 0) {
+                return 0;
+            }
+            int rank = (int) Math.ceil(percentile / 100.0 * latenciesNanos.length);
+            return latenciesNanos[Math.max(0, Math.min(latenciesNanos.length, rank) - 1)];
+        }
+
+        @Override
+        public String toString() {
+            return String.format(
+                "Load Test:\n" +
+                "  Requests: %,d in %.3f s\n" +
+                "  Throughput: %,.0f req/s (%,.0f elements/s)\n" +
+                "  Latency p50: %.3f ms, p90: %.3f ms, p99: %.3f ms, max: %.3f ms",
+                latenciesNanos.length,
+                elapsedNanos / 1e9,
+                getRequestsPerSecond(),
+                getElementsPerSecond(),
+                getLatencyPercentile(50) / 1e6,
+                getLatencyPercentile(90) / 1e6,
+                getLatencyPercentile(99) / 1e6,
+                getLatencyPercentile(100) / 1e6
+            );
+        }
+    }
+
+    /**
+     * Creates a load generator.
+     *
+     * @param port server port on the loopback interface
+     * @param connections number of concurrent connections
+     * @param requestsPerConnection requests sent on each connection
+     * @param size elements per request
+     * @throws IllegalArgumentException if a count is not positive or size is negative
+     */
+    public SortLoadClient(int port, int connections, int requestsPerConnection, int size) {
+        if (connections <= 0 || requestsPerConnection <= 0 || size < 0) {
+            throw new IllegalArgumentException("Connections and requests must be positive, size non-negative");
+        }
+        this.port = port;
+        this.connections = connections;
+        this.requestsPerConnection = requestsPerConnection;
+        this.size = size;
+    }
+
+    /**
+     * Runs the load test.
+     *
+     * @return the report
+     * @throws IOException if a connection fails or a response is not sorted
+     */
+    public Report run() throws IOException {
+        ExecutorService executor = Executors.newFixedThreadPool(connections);
+        List<Future<long[]>> futures = new ArrayList<>();
+        long start = System.nanoTime();
+        for (int c = 0; c < connections; c++) {
+            long seed = DataGenerator.DEFAULT_SEED + c;
+            futures.add(executor.submit(() -> runConnection(seed)));
+        }
+        executor.shutdown();
+
+        long[] latencies = new long[connections * requestsPerConnection];
+        int count = 0;
+        try {
+            for (Future<long[]> future : futures) {
+                long[] connectionLatencies = future.get();
+                System.arraycopy(connectionLatencies, 0, latencies, count, connectionLatencies.length);
+                count += connectionLatencies.length;
+            }
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof IOException ? (IOException) e.getCause() : new IOException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            executor.shutdownNow();
+            throw new IOException("Interrupted while waiting for connections", e);
+        }
+        long elapsed = System.nanoTime() - start;
+
+        Arrays.sort(latencies);
+        return new Report(latencies, elapsed, (long) latencies.length * size);
+    }
+
+    private long[] runConnection(long seed) throws IOException {
+        SplittableRandom random = new SplittableRandom(seed);
+        long[] latencies = new long[requestsPerConnection];
+        try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), port);
+             DataOutputStream out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+             DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream()))) {
+            socket.setTcpNoDelay(true);
+            int[] request = new int[size];
+            for (int r = 0; r < requestsPerConnection; r++) {
+                for (int i = 0; i < size; i++) {
+                    request[i] = random.nextInt();
+                }
+
+                long sent = System.nanoTime();
+                out.writeInt(size);
+                for (int value : request) {
+                    out.writeInt(value);
+                }
+                out.flush();
+
+                int length = in.readInt();
+                if (length != size) {
+                    throw new IOException("Expected " + size + " elements but got " + length);
+                }
+                int previous = Integer.MIN_VALUE;
+                for (int i = 0; i < length; i++) {
+                    int value = in.readInt();
+                    if (value < previous) {
+                        throw new IOException("Server returned unsorted data");
+                    }
+                    previous = value;
+                }
+                latencies[r] = System.nanoTime() - sent;
+            }
+        }
+        return latencies;
+    }
+}
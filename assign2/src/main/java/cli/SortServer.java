@@ -0,0 +1,377 @@
+package cli;
+
+import algorithms.InsertionSort;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Sorts int arrays for other local processes over a loopback TCP socket.
+ *
+ * Wire format (big-endian, both directions): an int element count followed
+ * by that many ints. A connection may send any number of requests; each
+ * gets its sorted array back in order. A negative or oversized count closes
+ * the connection.
+ *
+ * Connections are served on virtual threads when the JVM provides them
+ * (Java 21+) and on a cached pool otherwise. Sorting runs on a fixed pool
+ * of platform threads. Requests of at most {@code batchThreshold} elements
+ * are queued and sorted together through {@link InsertionSort#sortBatch};
+ * larger ones are sorted individually. Two semaphores bound the work in
+ * flight, one counting requests and one counting elements. A connection
+ * thread acquires both after reading a request's length and before
+ * allocating its array. When either runs out, connection threads stop
+ * reading, and TCP flow control pushes back on the clients.
+ *
+ * @author Student A
+ */
+public class SortServer implements AutoCloseable {
+
+    /** Largest accepted request, in elements; quadratic sorts get slow well beyond this. */
+    public static final int MAX_REQUEST_LENGTH = 1 << 16;
+
+    /** Default requests in flight before clients are held back. */
+    public static final int DEFAULT_MAX_PENDING = 1024;
+
+    /** Default elements in flight (4 MB of ints) before clients are held back. */
+    public static final int DEFAULT_MAX_PENDING_ELEMENTS = 1 << 20;
+
+    /** Default largest request that is batched. */
+    public static final int DEFAULT_BATCH_THRESHOLD = 64;
+
+    /** Default most requests sorted per batch. */
+    public static final int DEFAULT_MAX_BATCH = 256;
+
+    private final ServerSocket serverSocket;
+    private final ExecutorService connectionExecutor;
+    private final ExecutorService sortPool;
+    private final BlockingQueue<Request> batchQueue;
+    private final Semaphore pending;
+    private final Semaphore pendingElements;
+    private final int batchThreshold;
+    private final int maxBatch;
+    private final Thread acceptor;
+    private final Thread batcher;
+    private final ThreadLocal<InsertionSort> sorters;
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicLong batches = new AtomicLong();
+    private volatile boolean running = true;
+
+    /**
+     * A request waiting to be sorted.
+     */
+    private static final class Request {
+        final int[] values;
+        final CompletableFuture<int[]> result = new CompletableFuture<>();
+
+        Request(int[] values) {
+            this.values = values;
+        }
+    }
+
+    /**
+     * Starts a server with default limits.
+     *
+     * @param port the port, or 0 for an ephemeral one
+     * @param threads number of sorting threads
+     * @throws IOException if the socket cannot be bound
+     */
+    public SortServer(int port, int threads) throws IOException {
+        this(port, threads, DEFAULT_MAX_PENDING, DEFAULT_BATCH_THRESHOLD, DEFAULT_MAX_BATCH, false);
+    }
+
+    /**
+     * Starts a server.
+     *
+     * @param port the port, or 0 for an ephemeral one
+     * @param threads number of sorting threads
+     * @param maxPending requests in flight before clients are held back
+     * @param batchThreshold largest request (in elements) that is batched
+     * @param maxBatch most requests sorted per batch
+     * @param useOptimization whether sorters use binary insertion
+     * @throws IOException if the socket cannot be bound
+     * @throws IllegalArgumentException if a limit is not positive
+     */
+    public SortServer(int port, int threads, int maxPending, int batchThreshold, int maxBatch,
+                      boolean useOptimization) throws IOException {
+        this(port, threads, maxPending, DEFAULT_MAX_PENDING_ELEMENTS, batchThreshold, maxBatch, useOptimization);
+    }
+
+    /**
+     * Starts a server with an explicit memory budget.
+     *
+     * @param port the port, or 0 for an ephemeral one
+     * @param threads number of sorting threads
+     * @param maxPending requests in flight before clients are held back
+     * @param maxPendingElements elements in flight before clients are held back
+     * @param batchThreshold largest request (in elements) that is batched
+     * @param maxBatch most requests sorted per batch
+     * @param useOptimization whether sorters use binary insertion
+     * @throws IOException if the socket cannot be bound
+     * @throws IllegalArgumentException if a limit is not positive or the element
+     *         budget cannot hold a request of {@link #MAX_REQUEST_LENGTH}
+     */
+    public SortServer(int port, int threads, int maxPending, int maxPendingElements, int batchThreshold,
+                      int maxBatch, boolean useOptimization) throws IOException {
+        if (threads <= 0 || maxPending <= 0 || batchThreshold < 0 || maxBatch <= 0) {
+            throw new IllegalArgumentException("Server limits must be positive");
+        }
+        if (maxPendingElements < MAX_REQUEST_LENGTH) {
+            throw new IllegalArgumentException("Element budget must hold at least " + MAX_REQUEST_LENGTH + " elements");
+        }
+        this.serverSocket = new ServerSocket(port, 128, InetAddress.getLoopbackAddress());
+        this.connectionExecutor = connectionExecutor();
+        this.sortPool = Executors.newFixedThreadPool(threads, daemonFactory("sort-worker"));
+        this.batchQueue = new ArrayBlockingQueue<>(maxPending);
+        this.pending = new Semaphore(maxPending);
+        this.pendingElements = new Semaphore(maxPendingElements);
+        this.batchThreshold = batchThreshold;
+        this.maxBatch = maxBatch;
+        this.sorters = ThreadLocal.withInitial(() -> new InsertionSort(useOptimization));
+
+        this.acceptor = new Thread(this::acceptLoop, "sort-server-acceptor");
+        this.batcher = new Thread(this::batchLoop, "sort-server-batcher");
+        this.batcher.setDaemon(true);
+        this.batcher.start();
+        this.acceptor.start();
+    }
+
+    /**
+     * Uses virtual threads through reflection so the code still compiles for Java 11.
+     */
+    private static ExecutorService connectionExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return Executors.newCachedThreadPool(daemonFactory("sort-connection"));
+        }
+    }
+
+    private static ThreadFactory daemonFactory(String name) {
+        AtomicLong counter = new AtomicLong();
+        return runnable -> {
+            Thread thread = new Thread(runnable, name + "-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /**
+     * Gets the bound port.
+     *
+     * @return the port
+     */
+    public int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    /**
+     * Gets the number of requests completed so far.
+     *
+     * @return the request count
+     */
+    public long getRequestCount() {
+        return requests.get();
+    }
+
+    /**
+     * Gets the number of batches sorted so far.
+     *
+     * @return the batch count
+     */
+    public long getBatchCount() {
+        return batches.get();
+    }
+
+    private void acceptLoop() {
+        while (running) {
+            try {
+                Socket socket = serverSocket.accept();
+                connectionExecutor.execute(() -> serve(socket));
+            } catch (IOException e) {
+                if (running) {
+                    System.err.println("Accept failed: " + e.getMessage());
+                }
+            }
+        }
+    }
+
+    /**
+     * Reads requests from one connection and answers them in order.
+     */
+    private void serve(Socket socket) {
+        try (Socket s = socket;
+             DataInputStream in = new DataInputStream(new BufferedInputStream(s.getInputStream()));
+             DataOutputStream out = new DataOutputStream(new BufferedOutputStream(s.getOutputStream()))) {
+            s.setTcpNoDelay(true);
+            while (running) {
+                int length;
+                try {
+                    length = in.readInt();
+                } catch (EOFException e) {
+                    return; // client closed the connection
+                }
+                if (length < 0 || length > MAX_REQUEST_LENGTH) {
+                    return;
+                }
+
+                // Reserve the budget before allocating, so slow clients cannot pile up arrays
+                int weight = Math.max(1, length);
+                pending.acquire();
+                try {
+                    pendingElements.acquire(weight);
+                } catch (InterruptedException e) {
+                    pending.release();
+                    throw e;
+                }
+                CompletableFuture<int[]> result;
+                try {
+                    int[] values = new int[length];
+                    for (int i = 0; i < length; i++) {
+                        values[i] = in.readInt();
+                    }
+                    result = submit(values);
+                } catch (IOException | RuntimeException e) {
+                    pendingElements.release(weight);
+                    pending.release();
+                    throw e;
+                }
+
+                int[] sorted = result.get();
+
+                out.writeInt(sorted.length);
+                for (int value : sorted) {
+                    out.writeInt(value);
+                }
+                out.flush();
+            }
+        } catch (SocketException | EOFException e) {
+            // connection dropped
+        } catch (IOException | ExecutionException e) {
+            System.err.println("Request failed: " + e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Queues an array for sorting. The caller holds its request and element
+     * permits; they are released when the result completes.
+     */
+    private CompletableFuture<int[]> submit(int[] values) {
+        Request request = new Request(values);
+        request.result.whenComplete((result, error) -> {
+            pendingElements.release(Math.max(1, values.length));
+            pending.release();
+            requests.incrementAndGet();
+        });
+        if (values.length <= batchThreshold) {
+            // Never blocks: the queue holds maxPending requests and the caller holds a request permit
+            if (!batchQueue.offer(request)) {
+                request.result.completeExceptionally(new IllegalStateException("Batch queue full"));
+            }
+        } else {
+            dispatch(new Request[] {request});
+        }
+        return request.result;
+    }
+
+    /**
+     * Hands a batch to the sort pool, failing its requests if the pool has
+     * been shut down by {@link #close()}.
+     */
+    private void dispatch(Request[] batch) {
+        try {
+            sortPool.execute(() -> sortBatch(batch));
+        } catch (RejectedExecutionException e) {
+            for (Request request : batch) {
+                request.result.completeExceptionally(e);
+            }
+        }
+    }
+
+    /**
+     * Collects queued small requests into batches and hands them to the sort pool.
+     */
+    private void batchLoop() {
+        List<Request> drained = new ArrayList<>();
+        while (running) {
+            try {
+                Request first = batchQueue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                drained.add(first);
+                batchQueue.drainTo(drained, maxBatch - 1);
+                Request[] batch = drained.toArray(new Request[0]);
+                drained.clear();
+                batches.incrementAndGet();
+                dispatch(batch);
+            } catch (InterruptedException e) {
+                break;
+            }
+        }
+
+        // Fail whatever was still queued when the server closed
+        batchQueue.drainTo(drained);
+        for (Request request : drained) {
+            request.result.completeExceptionally(new RejectedExecutionException("Server closed"));
+        }
+    }
+
+    private void sortBatch(Request[] batch) {
+        int[][] arrays = new int[batch.length][];
+        for (int i = 0; i < batch.length; i++) {
+            arrays[i] = batch[i].values;
+        }
+        try {
+            sorters.get().sortBatch(arrays);
+            for (Request request : batch) {
+                request.result.complete(request.values);
+            }
+        } catch (RuntimeException e) {
+            for (Request request : batch) {
+                request.result.completeExceptionally(e);
+            }
+        }
+    }
+
+    /**
+     * Stops accepting connections and shuts the pools down.
+     *
+     * @throws IOException if the server socket cannot be closed
+     */
+    @Override
+    public void close() throws IOException {
+        running = false;
+        serverSocket.close();
+        batcher.interrupt();
+        connectionExecutor.shutdownNow();
+        sortPool.shutdownNow();
+        try {
+            acceptor.join(1000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
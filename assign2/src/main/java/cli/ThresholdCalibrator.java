@@ -0,0 +1,146 @@
+package cli;
+
+import algorithms.InsertionSort;
+import algorithms.TuningProfile;
+import java.io.PrintStream;
+import java.util.Arrays;
+
+/**
+ * Measures the insertion sort thresholds that work best on this host.
+ * 
+ * For each candidate length, batches of random arrays are sorted with the
+ * standard loop and with binary insertion, alternating between the two so
+ * that JIT and frequency drift affect both equally. The binary-search
+ * threshold is the smallest candidate from which binary insertion wins at
+ * that length and every larger candidate; if it does not win at the
+ * largest candidate, the threshold is {@link Integer#MAX_VALUE} and binary
+ * insertion is never used.
+ * 
+ * The leaf size is then calibrated as well: it is the candidate with the
+ * fastest median {@link InsertionSort#sortInto(int[], int[])} on larger
+ * random arrays, timed with the threshold just measured. The same leaf size
+ * is used by the keyed object sorts, which merge insertion-sorted leaves in
+ * the same way. Both values go into the returned profile.
+ * 
+ * @author Student A
+ */
+public class ThresholdCalibrator {
+    
+    /** Candidate array lengths. */
+    static final int[] CANDIDATES = {4, 8, 12, 16, 24, 32, 48, 64, 96, 128, 192, 256};
+    
+    /** Candidate leaf sizes for the merging engines. */
+    static final int[] LEAF_CANDIDATES = {8, 16, 24, 32, 48, 64, 96, 128};
+    
+    private static final int LEAF_ARRAY_LENGTH = 1 << 12;
+    
+    private static final int BATCH_ELEMENTS = 1 << 14;
+    private static final int WARMUP_ROUNDS = 20;
+    private static final int MEASURED_ROUNDS = 31;
+    
+    private final PrintStream out;
+    
+    /**
+     * Creates a calibrator.
+     * 
+     * @param out destination for progress output
+     */
+    public ThresholdCalibrator(PrintStream out) {
+        this.out = out;
+    }
+    
+    /**
+     * Runs the calibration.
+     * 
+     * @return the measured profile
+     */
+    public TuningProfile calibrate() {
+        // Threshold 0 forces each sorter onto the kernel under test
+        InsertionSort standard = new InsertionSort(false, new TuningProfile(0));
+        InsertionSort binary = new InsertionSort(true, new TuningProfile(0));
+        
+        out.printf("%-8s %14s %14s %8s%n", "Length", "std (ns/sort)", "opt (ns/sort)", "Winner");
+        boolean[] binaryWins = new boolean[CANDIDATES.length];
+        for (int c = 0; c < CANDIDATES.length; c++) {
+            int length = CANDIDATES[c];
+            int[][] batch = batch(length);
+            int[][] work = new int[batch.length][length];
+            
+            long[] standardTimes = new long[MEASURED_ROUNDS];
+            long[] binaryTimes = new long[MEASURED_ROUNDS];
+            for (int round = -WARMUP_ROUNDS; round < MEASURED_ROUNDS; round++) {
+                long std = timeBatch(standard, batch, work);
+                long bin = timeBatch(binary, batch, work);
+                if (round >= 0) {
+                    standardTimes[round] = std;
+                    binaryTimes[round] = bin;
+                }
+            }
+            
+            double std = median(standardTimes) / batch.length;
+            double bin = median(binaryTimes) / batch.length;
+            binaryWins[c] = bin < std;
+            out.printf("%-8d %14.1f %14.1f %8s%n", length, std, bin, binaryWins[c] ? "opt" : "std");
+        }
+        
+        int threshold = Integer.MAX_VALUE;
+        for (int c = CANDIDATES.length - 1; c >= 0 && binaryWins[c]; c--) {
+            threshold = CANDIDATES[c];
+        }
+        return new TuningProfile(threshold, calibrateLeafSize(threshold));
+    }
+    
+    private int calibrateLeafSize(int threshold) {
+        int[][] batch = batch(LEAF_ARRAY_LENGTH);
+        int[][] work = new int[batch.length][LEAF_ARRAY_LENGTH];
+        
+        out.printf("%n%-8s %14s%n", "Leaf", "ns/sortInto");
+        int bestLeaf = TuningProfile.DEFAULT_LEAF_SIZE;
+        double bestTime = Double.MAX_VALUE;
+        for (int leaf : LEAF_CANDIDATES) {
+            InsertionSort sorter = new InsertionSort(true, new TuningProfile(threshold, leaf));
+            long[] times = new long[MEASURED_ROUNDS];
+            for (int round = -WARMUP_ROUNDS; round < MEASURED_ROUNDS; round++) {
+                long start = System.nanoTime();
+                for (int i = 0; i < batch.length; i++) {
+                    sorter.sortInto(batch[i], work[i]);
+                }
+                if (round >= 0) {
+                    times[round] = System.nanoTime() - start;
+                }
+            }
+            double time = median(times) / batch.length;
+            out.printf("%-8d %14.1f%n", leaf, time);
+            if (time < bestTime) {
+                bestTime = time;
+                bestLeaf = leaf;
+            }
+        }
+        return bestLeaf;
+    }
+    
+    private static int[][] batch(int length) {
+        int[][] batch = new int[Math.max(1, BATCH_ELEMENTS / length)][];
+        for (int i = 0; i < batch.length; i++) {
+            batch[i] = DataGenerator.generate(Distribution.RANDOM, length,
+                    DataGenerator.caseSeed(DataGenerator.DEFAULT_SEED + i, Distribution.RANDOM, length));
+        }
+        return batch;
+    }
+    
+    private static long timeBatch(InsertionSort sorter, int[][] batch, int[][] work) {
+        long start = System.nanoTime();
+        for (int i = 0; i < batch.length; i++) {
+            System.arraycopy(batch[i], 0, work[i], 0, batch[i].length);
+            sorter.sort(work[i]);
+        }
+        return System.nanoTime() - start;
+    }
+    
+    private static double median(long[] samples) {
+        long[] sorted = samples.clone();
+        Arrays.sort(sorted);
+        int mid = sorted.length / 2;
+        return sorted.length % 2 == 1 ? sorted[mid] : (sorted[mid - 1] + sorted[mid]) / 2.0;
+    }
+}
@@ -0,0 +1,150 @@
+package metrics;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Decorates a sink with a background writer thread and a bounded queue, so
+ * file I/O happens off the benchmarking thread.
+ *
+ * {@link #write(BenchmarkResult)} only enqueues; it blocks when the queue is
+ * full. Failures on the writer thread, including runtime exceptions thrown by
+ * the delegate, are reported as an IOException on the next write or on
+ * {@link #close()}; the writer keeps draining the queue afterwards so
+ * producers never block on it. After a failure, close discards the delegate
+ * instead of committing a file with missing rows.
+ *
+ * @author Student A
+ */
+public class AsyncResultSink implements ResultSink {
+
+    /**
+     * Default queue capacity.
+     */
+    public static final int DEFAULT_CAPACITY = 4096;
+
+    private static final Object END = new Object();
+
+    private final ResultSink delegate;
+    private final BlockingQueue<Object> queue;
+    private final Thread worker;
+    private volatile Throwable failure;
+    private boolean closed;
+
+    /**
+     * Wraps a sink using the default queue capacity.
+     *
+     * @param delegate the sink that performs the actual writes
+     */
+    public AsyncResultSink(ResultSink delegate) {
+        this(delegate, DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Wraps a sink.
+     *
+     * @param delegate the sink that performs the actual writes
+     * @param capacity maximum number of queued results
+     */
+    public AsyncResultSink(ResultSink delegate, int capacity) {
+        if (delegate == null) {
+            throw new IllegalArgumentException("Delegate sink cannot be null");
+        }
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive");
+        }
+        this.delegate = delegate;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.worker = new Thread(this::drain, "results-writer");
+        this.worker.setDaemon(true);
+        this.worker.start();
+    }
+
+    @Override
+    public void write(BenchmarkResult result) throws IOException {
+        if (closed) {
+            throw new IOException("Sink is closed");
+        }
+        rethrowFailure();
+        try {
+            queue.put(result);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while queueing result");
+        }
+    }
+
+    private void drain() {
+        List<Object> batch = new ArrayList<>();
+        try {
+            while (true) {
+                batch.add(queue.take());
+                queue.drainTo(batch);
+                for (Object item : batch) {
+                    if (item == END) {
+                        return;
+                    }
+                    if (failure == null) {
+                        try {
+                            delegate.write((BenchmarkResult) item);
+                        } catch (Throwable e) {
+                            // Keep draining: a dead writer would block put() forever
+                            failure = e;
+                        }
+                    }
+                }
+                batch.clear();
+            }
+        } catch (InterruptedException e) {
+            failure = new InterruptedIOException("Results writer interrupted");
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            queue.put(END);
+            worker.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            worker.interrupt();
+            delegate.discard();
+            throw new InterruptedIOException("Interrupted while flushing results");
+        }
+        if (failure != null) {
+            delegate.discard();
+            rethrowFailure();
+        }
+        delegate.close();
+    }
+
+    @Override
+    public void discard() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        worker.interrupt();
+        try {
+            worker.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        delegate.discard();
+    }
+
+    private void rethrowFailure() throws IOException {
+        Throwable e = failure;
+        if (e != null) {
+            throw new IOException("Results writer failed: " + e.getMessage(), e);
+        }
+    }
+}
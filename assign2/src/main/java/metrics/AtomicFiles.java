@@ -0,0 +1,58 @@
+package metrics;
+
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * Helpers for writing files via a temporary sibling and an atomic rename.
+ *
+ * @author Student A
+ */
+public final class AtomicFiles {
+
+    private AtomicFiles() {
+    }
+
+    /**
+     * Creates a temporary file in the same directory as the target, so the
+     * final rename never crosses file systems.
+     */
+    public static Path createTempSibling(Path target) throws IOException {
+        Path absolute = target.toAbsolutePath();
+        Path dir = absolute.getParent();
+        if (dir != null) {
+            Files.createDirectories(dir);
+        }
+        return Files.createTempFile(dir, absolute.getFileName().toString() + ".", ".tmp");
+    }
+
+    /**
+     * Finds a free name next to the target for keeping an old version of it,
+     * e.g. {@code results.v1.csv}, then {@code results.v1-2.csv} and so on.
+     */
+    public static Path versionedSibling(Path target, String version) {
+        String name = target.getFileName().toString();
+        int dot = name.lastIndexOf('.');
+        String base = dot > 0 ? name.substring(0, dot) : name;
+        String extension = dot > 0 ? name.substring(dot) : "";
+        Path candidate = target.resolveSibling(base + "." + version + extension);
+        for (int i = 2; Files.exists(candidate); i++) {
+            candidate = target.resolveSibling(base + "." + version + "-" + i + extension);
+        }
+        return candidate;
+    }
+
+    /**
+     * Moves the temporary file over the target, atomically where supported.
+     */
+    public static void commit(Path temp, Path target) throws IOException {
+        try {
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+}
@@ -0,0 +1,192 @@
+package metrics;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Stores named performance baselines as CSV files in a local directory.
+ * 
+ * Each baseline file starts with "# key=value" lines holding the
+ * {@link RunMetadata} of the run that produced it, followed by one row per
+ * case with its counters and timing statistics.
+ * 
+ * @author Student A
+ */
+public class BaselineStore {
+    
+    /** Default directory for baselines, relative to the working directory. */
+    public static final String DEFAULT_DIRECTORY = "benchmark-baselines";
+    
+    private static final String HEADER =
+            "ArraySize,DataType,Comparisons,Swaps,ArrayAccesses,"
+            + "Trials,TimeMedianNanos,TimeMeanNanos,TimeStdDevNanos,TimeMadNanos,TimeMinNanos,TimeMaxNanos";
+    
+    private final Path directory;
+    
+    /**
+     * A loaded baseline.
+     */
+    public static final class Baseline {
+        private final Map<String, String> metadata;
+        private final Map<String, TrialSummary> cases;
+        
+        Baseline(Map<String, String> metadata, Map<String, TrialSummary> cases) {
+            this.metadata = metadata;
+            this.cases = cases;
+        }
+        
+        /**
+         * Gets the metadata of the run that produced this baseline.
+         * 
+         * @return metadata keyed by {@link RunMetadata#COLUMNS} names
+         */
+        public Map<String, String> getMetadata() {
+            return metadata;
+        }
+        
+        /**
+         * Gets the stored cases.
+         * 
+         * @return summaries keyed by {@link TrialSummary#key()}
+         */
+        public Map<String, TrialSummary> getCases() {
+            return cases;
+        }
+    }
+    
+    /**
+     * Creates a store rooted at the given directory.
+     * 
+     * @param directory the baseline directory (created on first save)
+     */
+    public BaselineStore(Path directory) {
+        if (directory == null) {
+            throw new IllegalArgumentException("Baseline directory cannot be null");
+        }
+        this.directory = directory;
+    }
+    
+    /**
+     * Saves a baseline, replacing any existing baseline with the same name.
+     * 
+     * @param name the baseline name
+     * @param metadata metadata of the current run
+     * @param summaries the case summaries
+     * @return the file the baseline was written to
+     * @throws IOException if the baseline cannot be written
+     */
+    public Path save(String name, RunMetadata metadata, List<TrialSummary> summaries) throws IOException {
+        Path file = fileFor(name);
+        Path temp = AtomicFiles.createTempSibling(file);
+        try {
+            try (BufferedWriter writer = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+                String[] values = metadata.values();
+                for (int i = 0; i < values.length; i++) {
+                    writer.write("# " + RunMetadata.COLUMNS[i] + "=" + values[i]);
+                    writer.newLine();
+                }
+                writer.write(HEADER);
+                writer.newLine();
+                for (TrialSummary summary : summaries) {
+                    TrialStatistics time = summary.getTime();
+                    writer.write(String.format(Locale.ROOT, "%d,%s,%d,%d,%d,%d,%.1f,%.1f,%.1f,%.1f,%.1f,%.1f",
+                            summary.getArraySize(),
+                            summary.getDataType(),
+                            summary.getComparisons(),
+                            summary.getSwaps(),
+                            summary.getArrayAccesses(),
+                            time.getCount(),
+                            time.getMedian(),
+                            time.getMean(),
+                            time.getStdDev(),
+                            time.getMad(),
+                            time.getMin(),
+                            time.getMax()));
+                    writer.newLine();
+                }
+            }
+            AtomicFiles.commit(temp, file);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+        return file;
+    }
+    
+    /**
+     * Loads a baseline.
+     * 
+     * @param name the baseline name
+     * @return the baseline
+     * @throws IOException if the baseline does not exist or is malformed
+     */
+    public Baseline load(String name) throws IOException {
+        Path file = fileFor(name);
+        if (!Files.exists(file)) {
+            throw new IOException("No baseline named '" + name + "' in " + directory);
+        }
+        
+        Map<String, String> metadata = new LinkedHashMap<>();
+        Map<String, TrialSummary> cases = new LinkedHashMap<>();
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.startsWith("#")) {
+                    int eq = line.indexOf('=');
+                    if (eq > 0) {
+                        metadata.put(line.substring(1, eq).trim(), line.substring(eq + 1));
+                    }
+                } else if (!line.isEmpty() && !line.equals(HEADER)) {
+                    TrialSummary summary = parse(line);
+                    cases.put(summary.key(), summary);
+                }
+            }
+        } catch (IllegalArgumentException e) {
+            throw new IOException("Malformed baseline " + file + ": " + e.getMessage(), e);
+        }
+        return new Baseline(metadata, cases);
+    }
+    
+    private static TrialSummary parse(String line) {
+        String[] parts = line.split(",", -1);
+        if (parts.length != 12) {
+            throw new IllegalArgumentException("expected 12 columns: " + line);
+        }
+        TrialStatistics time = new TrialStatistics(
+                Integer.parseInt(parts[5]),
+                Double.parseDouble(parts[7]),
+                Double.parseDouble(parts[6]),
+                Double.parseDouble(parts[8]),
+                Double.parseDouble(parts[9]),
+                Double.parseDouble(parts[10]),
+                Double.parseDouble(parts[11]));
+        return new TrialSummary(
+                Integer.parseInt(parts[0]),
+                parts[1],
+                Long.parseLong(parts[2]),
+                Long.parseLong(parts[3]),
+                Long.parseLong(parts[4]),
+                time);
+    }
+    
+    /**
+     * Gets the file backing a baseline name.
+     * 
+     * @param name the baseline name
+     * @return the file path
+     * @throws IllegalArgumentException if the name is not a plain identifier
+     */
+    public Path fileFor(String name) {
+        if (name == null || !name.matches("[A-Za-z0-9._-]+")) {
+            throw new IllegalArgumentException("Invalid baseline name: " + name);
+        }
+        return directory.resolve(name + ".csv");
+    }
+}
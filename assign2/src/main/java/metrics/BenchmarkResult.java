@@ -0,0 +1,155 @@
+package metrics;
+
+import java.util.Locale;
+
+/**
+ * Immutable snapshot of the metrics produced by a single benchmark case.
+ *
+ * The column order defined by {@link #COLUMNS} is the stable schema shared by
+ * every results sink, so downstream tooling can rely on it across runs.
+ *
+ * @author Student A
+ */
+public final class BenchmarkResult {
+
+    /**
+     * Result columns in schema order.
+     */
+    public static final String[] COLUMNS = {
+        "ArraySize", "DataType", "Comparisons", "Swaps", "ArrayAccesses",
+        "MemoryAllocations", "TimeNanos", "TimeMillis"
+    };
+
+    private final int arraySize;
+    private final String dataType;
+    private final long comparisons;
+    private final long swaps;
+    private final long arrayAccesses;
+    private final long memoryAllocations;
+    private final long timeNanos;
+
+    /**
+     * Creates a result from raw metric values.
+     *
+     * @param arraySize the size of the sorted array
+     * @param dataType the input/strategy label (e.g., "random_opt")
+     * @param comparisons number of comparisons
+     * @param swaps number of swaps/moves
+     * @param arrayAccesses number of array accesses
+     * @param memoryAllocations number of memory allocations
+     * @param timeNanos execution time in nanoseconds
+     */
+    public BenchmarkResult(int arraySize, String dataType, long comparisons, long swaps,
+                           long arrayAccesses, long memoryAllocations, long timeNanos) {
+        if (dataType == null) {
+            throw new IllegalArgumentException("Data type cannot be null");
+        }
+        this.arraySize = arraySize;
+        this.dataType = dataType;
+        this.comparisons = comparisons;
+        this.swaps = swaps;
+        this.arrayAccesses = arrayAccesses;
+        this.memoryAllocations = memoryAllocations;
+        this.timeNanos = timeNanos;
+    }
+
+    /**
+     * Captures the current state of a tracker.
+     *
+     * @param tracker the tracker to snapshot
+     * @param arraySize the size of the sorted array
+     * @param dataType the input/strategy label
+     * @return a new result
+     */
+    public static BenchmarkResult from(PerformanceTracker tracker, int arraySize, String dataType) {
+        return new BenchmarkResult(arraySize, dataType,
+                tracker.getComparisons(),
+                tracker.getSwaps(),
+                tracker.getArrayAccesses(),
+                tracker.getMemoryAllocations(),
+                tracker.getExecutionTimeNanos());
+    }
+
+    /**
+     * Parses a row produced by {@link #toCsvRow()}. Trailing columns beyond the
+     * result schema (such as run metadata) are ignored.
+     *
+     * @param row the CSV row
+     * @return the parsed result
+     * @throws IllegalArgumentException if the row is malformed
+     */
+    public static BenchmarkResult fromCsvRow(String row) {
+        String[] parts = row.split(",", -1);
+        if (parts.length < COLUMNS.length) {
+            throw new IllegalArgumentException("Malformed result row: " + row);
+        }
+        try {
+            return new BenchmarkResult(
+                    Integer.parseInt(parts[0].trim()),
+                    parts[1].trim(),
+                    Long.parseLong(parts[2].trim()),
+                    Long.parseLong(parts[3].trim()),
+                    Long.parseLong(parts[4].trim()),
+                    Long.parseLong(parts[5].trim()),
+                    Long.parseLong(parts[6].trim()));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Malformed result row: " + row, e);
+        }
+    }
+
+    /**
+     * Formats this result as a CSV row in {@link #COLUMNS} order.
+     *
+     * @return CSV row without a line terminator
+     */
+    public String toCsvRow() {
+        return String.format(Locale.ROOT, "%d,%s,%d,%d,%d,%d,%d,%.6f",
+                arraySize,
+                dataType,
+                comparisons,
+                swaps,
+                arrayAccesses,
+                memoryAllocations,
+                timeNanos,
+                getTimeMillis());
+    }
+
+    // Getters
+
+    public int getArraySize() {
+        return arraySize;
+    }
+
+    public String getDataType() {
+        return dataType;
+    }
+
+    public long getComparisons() {
+        return comparisons;
+    }
+
+    public long getSwaps() {
+        return swaps;
+    }
+
+    public long getArrayAccesses() {
+        return arrayAccesses;
+    }
+
+    public long getMemoryAllocations() {
+        return memoryAllocations;
+    }
+
+    public long getTimeNanos() {
+        return timeNanos;
+    }
+
+    public double getTimeMillis() {
+        return timeNanos / 1_000_000.0;
+    }
+
+    @Override
+    public String toString() {
+        return toCsvRow();
+    }
+}
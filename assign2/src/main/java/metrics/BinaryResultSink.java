@@ -0,0 +1,233 @@
+package metrics;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writes results in a compact, block-columnar binary format for large sweeps.
+ *
+ * Layout (big-endian):
+ * - header: magic, version, metadata count, then (key, value) pairs
+ * - blocks: row count, newly seen labels, then one array per column
+ * - trailer: a block with row count 0
+ *
+ * Labels (the DataType column) are dictionary-encoded, so repeated labels cost
+ * four bytes per row instead of a string.
+ *
+ * @author Student A
+ */
+public class BinaryResultSink implements ResultSink {
+
+    /**
+     * File magic: "ISRB" (insertion sort results, binary).
+     */
+    public static final int MAGIC = 0x49535242;
+
+    /**
+     * Current format version.
+     */
+    public static final int VERSION = 1;
+
+    private static final int BLOCK_ROWS = 1024;
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final Path target;
+    private final Path temp;
+    private final DataOutputStream out;
+
+    private final Map<String, Integer> labelIds = new HashMap<>();
+    private final List<String> pendingLabels = new ArrayList<>();
+
+    private final int[] sizes = new int[BLOCK_ROWS];
+    private final int[] labels = new int[BLOCK_ROWS];
+    private final long[] comparisons = new long[BLOCK_ROWS];
+    private final long[] swaps = new long[BLOCK_ROWS];
+    private final long[] arrayAccesses = new long[BLOCK_ROWS];
+    private final long[] memoryAllocations = new long[BLOCK_ROWS];
+    private final long[] timeNanos = new long[BLOCK_ROWS];
+    private int rows;
+    private boolean closed;
+
+    /**
+     * Opens a binary sink. Any existing target is replaced on close.
+     *
+     * @param target the output file
+     * @param metadata run metadata stored in the file header
+     * @throws IOException if the file cannot be opened
+     */
+    public BinaryResultSink(Path target, RunMetadata metadata) throws IOException {
+        this.target = target;
+        this.temp = AtomicFiles.createTempSibling(target);
+        this.out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp), BUFFER_SIZE));
+
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+        String[] values = metadata.values();
+        out.writeInt(RunMetadata.COLUMNS.length);
+        for (int i = 0; i < values.length; i++) {
+            out.writeUTF(RunMetadata.COLUMNS[i]);
+            out.writeUTF(values[i]);
+        }
+    }
+
+    @Override
+    public void write(BenchmarkResult result) throws IOException {
+        if (closed) {
+            throw new IOException("Sink is closed");
+        }
+        Integer id = labelIds.get(result.getDataType());
+        if (id == null) {
+            id = labelIds.size();
+            labelIds.put(result.getDataType(), id);
+            pendingLabels.add(result.getDataType());
+        }
+
+        sizes[rows] = result.getArraySize();
+        labels[rows] = id;
+        comparisons[rows] = result.getComparisons();
+        swaps[rows] = result.getSwaps();
+        arrayAccesses[rows] = result.getArrayAccesses();
+        memoryAllocations[rows] = result.getMemoryAllocations();
+        timeNanos[rows] = result.getTimeNanos();
+        rows++;
+
+        if (rows == BLOCK_ROWS) {
+            flushBlock();
+        }
+    }
+
+    private void flushBlock() throws IOException {
+        if (rows == 0) {
+            return;
+        }
+        out.writeInt(rows);
+        out.writeInt(pendingLabels.size());
+        for (String label : pendingLabels) {
+            out.writeUTF(label);
+        }
+        pendingLabels.clear();
+
+        for (int i = 0; i < rows; i++) {
+            out.writeInt(sizes[i]);
+        }
+        for (int i = 0; i < rows; i++) {
+            out.writeInt(labels[i]);
+        }
+        writeColumn(comparisons);
+        writeColumn(swaps);
+        writeColumn(arrayAccesses);
+        writeColumn(memoryAllocations);
+        writeColumn(timeNanos);
+        rows = 0;
+    }
+
+    private void writeColumn(long[] column) throws IOException {
+        for (int i = 0; i < rows; i++) {
+            out.writeLong(column[i]);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            flushBlock();
+            out.writeInt(0);
+        } finally {
+            out.close();
+        }
+        AtomicFiles.commit(temp, target);
+    }
+
+    @Override
+    public void discard() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            out.close();
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * Reads every result from a file written by this sink.
+     *
+     * @param file the binary results file
+     * @return the results in write order
+     * @throws IOException if the file cannot be read or is not in this format
+     */
+    public static List<BenchmarkResult> readAll(Path file) throws IOException {
+        List<BenchmarkResult> results = new ArrayList<>();
+        try (DataInputStream in = new DataInputStream(
+                new BufferedInputStream(Files.newInputStream(file), BUFFER_SIZE))) {
+            if (in.readInt() != MAGIC) {
+                throw new IOException("Not a binary results file: " + file);
+            }
+            int version = in.readInt();
+            if (version != VERSION) {
+                throw new IOException("Unsupported results format version " + version);
+            }
+            int metadataCount = in.readInt();
+            for (int i = 0; i < metadataCount; i++) {
+                in.readUTF();
+                in.readUTF();
+            }
+
+            List<String> dictionary = new ArrayList<>();
+            int blockRows;
+            while ((blockRows = in.readInt()) > 0) {
+                int newLabels = in.readInt();
+                for (int i = 0; i < newLabels; i++) {
+                    dictionary.add(in.readUTF());
+                }
+                int[] blockSizes = readInts(in, blockRows);
+                int[] blockLabels = readInts(in, blockRows);
+                long[] blockComparisons = readLongs(in, blockRows);
+                long[] blockSwaps = readLongs(in, blockRows);
+                long[] blockAccesses = readLongs(in, blockRows);
+                long[] blockAllocations = readLongs(in, blockRows);
+                long[] blockTimes = readLongs(in, blockRows);
+                for (int i = 0; i < blockRows; i++) {
+                    results.add(new BenchmarkResult(blockSizes[i], dictionary.get(blockLabels[i]),
+                            blockComparisons[i], blockSwaps[i], blockAccesses[i],
+                            blockAllocations[i], blockTimes[i]));
+                }
+            }
+        } catch (EOFException e) {
+            throw new IOException("Truncated results file: " + file, e);
+        }
+        return results;
+    }
+
+    private static int[] readInts(DataInputStream in, int count) throws IOException {
+        int[] values = new int[count];
+        for (int i = 0; i < count; i++) {
+            values[i] = in.readInt();
+        }
+        return values;
+    }
+
+    private static long[] readLongs(DataInputStream in, int count) throws IOException {
+        long[] values = new long[count];
+        for (int i = 0; i < count; i++) {
+            values[i] = in.readLong();
+        }
+        return values;
+    }
+}
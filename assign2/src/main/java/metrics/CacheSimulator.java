@@ -0,0 +1,324 @@
+package metrics;
+
+import java.util.Arrays;
+
+/**
+ * Two-level set-associative LRU cache model for explaining the memory
+ * behaviour of sort kernels without hardware counters.
+ *
+ * Kernels report the array indices they touch through
+ * {@link PerformanceTracker#recordAccess}; each index becomes a byte
+ * address (index times the element size) that is looked up in L1, then L2.
+ * Kernels that use several arrays (a source, a destination and a merge
+ * buffer) tag each access with an array id; every id gets its own base
+ * address, so index i of two different arrays never shares a line. The
+ * bases are aligned to a large power of two, so like real page-aligned
+ * allocations the arrays start in the same cache set.
+ * Both levels are inclusive-on-fill: a miss loads the line into every level
+ * it missed. The stall estimate charges the extra latency of each level
+ * beyond L1, so two kernels with the same access count but different
+ * locality (a binary search versus a linear shift) get different costs.
+ *
+ * The model ignores prefetching, so streaming access is pessimistic; it is
+ * meant for comparing kernels, not predicting absolute times.
+ *
+ * @author Student A
+ */
+public final class CacheSimulator {
+
+    /** Default line size in bytes. */
+    public static final int DEFAULT_LINE_SIZE = 64;
+
+    /** Default L1 data cache: 32 KiB, 8-way. */
+    public static final int DEFAULT_L1_SIZE = 32 * 1024;
+    public static final int DEFAULT_L1_WAYS = 8;
+
+    /** Default L2 cache: 1 MiB, 16-way. */
+    public static final int DEFAULT_L2_SIZE = 1024 * 1024;
+    public static final int DEFAULT_L2_WAYS = 16;
+
+    /** Extra cycles for an L1 miss that hits in L2. */
+    public static final int L2_PENALTY_CYCLES = 12;
+
+    /** Extra cycles for a miss in both levels. */
+    public static final int MEMORY_PENALTY_CYCLES = 200;
+
+    /** Address bits per array; larger than any Java array in bytes. */
+    private static final int ARRAY_ADDRESS_BITS = 36;
+
+    private final int lineShift;
+    private final int elementBytes;
+    private final Level l1;
+    private final Level l2;
+    private long accesses;
+
+    /**
+     * Creates a simulator for int arrays with the default geometry.
+     */
+    public CacheSimulator() {
+        this(DEFAULT_L1_SIZE, DEFAULT_L1_WAYS, DEFAULT_L2_SIZE, DEFAULT_L2_WAYS, DEFAULT_LINE_SIZE);
+    }
+
+    /**
+     * Creates a simulator for int arrays.
+     *
+     * @param l1Size L1 capacity in bytes
+     * @param l1Ways L1 associativity
+     * @param l2Size L2 capacity in bytes
+     * @param l2Ways L2 associativity
+     * @param lineSize line size in bytes
+     * @throws IllegalArgumentException if a size is not a power of two or a
+     *         level holds fewer lines than its associativity
+     */
+    public CacheSimulator(int l1Size, int l1Ways, int l2Size, int l2Ways, int lineSize) {
+        if (!isPowerOfTwo(lineSize) || lineSize < Integer.BYTES) {
+            throw new IllegalArgumentException("Line size must be a power of two of at least 4 bytes");
+        }
+        this.lineShift = Integer.numberOfTrailingZeros(lineSize);
+        this.elementBytes = Integer.BYTES;
+        this.l1 = new Level("L1", l1Size, l1Ways, lineSize);
+        this.l2 = new Level("L2", l2Size, l2Ways, lineSize);
+    }
+
+    /**
+     * Parses a geometry such as {@code l1=32K/8,l2=1M/16,line=64}. Missing
+     * keys keep their defaults; sizes accept K and M suffixes.
+     *
+     * @param spec comma-separated key=value pairs
+     * @return the simulator
+     * @throws IllegalArgumentException if the spec is malformed
+     */
+    public static CacheSimulator parse(String spec) {
+        int l1Size = DEFAULT_L1_SIZE;
+        int l1Ways = DEFAULT_L1_WAYS;
+        int l2Size = DEFAULT_L2_SIZE;
+        int l2Ways = DEFAULT_L2_WAYS;
+        int lineSize = DEFAULT_LINE_SIZE;
+        for (String part : spec.split(",")) {
+            String[] kv = part.trim().split("=", 2);
+            if (kv.length != 2) {
+                throw new IllegalArgumentException("Expected key=value but got: " + part);
+            }
+            String[] sizeAndWays = kv[1].trim().split("/", 2);
+            switch (kv[0].trim().toLowerCase()) {
+                case "l1":
+                    l1Size = parseBytes(sizeAndWays[0]);
+                    l1Ways = sizeAndWays.length > 1 ? Integer.parseInt(sizeAndWays[1]) : l1Ways;
+                    break;
+                case "l2":
+                    l2Size = parseBytes(sizeAndWays[0]);
+                    l2Ways = sizeAndWays.length > 1 ? Integer.parseInt(sizeAndWays[1]) : l2Ways;
+                    break;
+                case "line":
+                    lineSize = parseBytes(kv[1]);
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown cache key: " + kv[0]);
+            }
+        }
+        return new CacheSimulator(l1Size, l1Ways, l2Size, l2Ways, lineSize);
+    }
+
+    private static int parseBytes(String value) {
+        String v = value.trim().toUpperCase();
+        int scale = 1;
+        if (v.endsWith("K")) {
+            scale = 1024;
+        } else if (v.endsWith("M")) {
+            scale = 1024 * 1024;
+        }
+        if (scale != 1) {
+            v = v.substring(0, v.length() - 1);
+        }
+        return Math.multiplyExact(Integer.parseInt(v), scale);
+    }
+
+    private static boolean isPowerOfTwo(int value) {
+        return value > 0 && (value & (value - 1)) == 0;
+    }
+
+    /**
+     * Records one access to an element of array 0.
+     *
+     * @param index the element index
+     */
+    public void access(int index) {
+        access(0, index);
+    }
+
+    /**
+     * Records one access to an array element.
+     *
+     * @param array the array id, unique per array within one sort
+     * @param index the element index
+     * @throws IllegalArgumentException if the array id is negative
+     */
+    public void access(int array, int index) {
+        if (array < 0) {
+            throw new IllegalArgumentException("Array id must be non-negative");
+        }
+        accesses++;
+        long address = ((long) array << ARRAY_ADDRESS_BITS) + (long) index * elementBytes;
+        long line = address >> lineShift;
+        if (!l1.touch(line)) {
+            l2.touch(line);
+        }
+    }
+
+    /**
+     * Records one access to each element of a contiguous range of array 0.
+     *
+     * @param from first element index
+     * @param count number of elements
+     */
+    public void accessRange(int from, int count) {
+        accessRange(0, from, count);
+    }
+
+    /**
+     * Records one access to each element of a contiguous range, as done by
+     * a block copy. Every line in the range is touched once per element it
+     * holds, so hit counts stay comparable with element-wise loops.
+     *
+     * @param array the array id, unique per array within one sort
+     * @param from first element index
+     * @param count number of elements
+     */
+    public void accessRange(int array, int from, int count) {
+        for (int i = 0; i < count; i++) {
+            access(array, from + i);
+        }
+    }
+
+    /**
+     * Clears the statistics and empties both levels, so the next sort starts
+     * from a cold cache.
+     */
+    public void reset() {
+        accesses = 0;
+        l1.reset();
+        l2.reset();
+    }
+
+    public long getAccesses() {
+        return accesses;
+    }
+
+    public long getL1Hits() {
+        return l1.hits;
+    }
+
+    public long getL1Misses() {
+        return l1.misses;
+    }
+
+    public long getL2Hits() {
+        return l2.hits;
+    }
+
+    public long getL2Misses() {
+        return l2.misses;
+    }
+
+    /**
+     * Estimates the cycles spent waiting on L2 and memory.
+     *
+     * @return the estimated stall cycles
+     */
+    public long getStallCycles() {
+        return l2.hits * L2_PENALTY_CYCLES + l2.misses * MEMORY_PENALTY_CYCLES;
+    }
+
+    /**
+     * Gets the L1 miss ratio.
+     *
+     * @return misses divided by accesses, or 0 if nothing was accessed
+     */
+    public double getL1MissRate() {
+        return accesses == 0 ? 0.0 : (double) l1.misses / accesses;
+    }
+
+    @Override
+    public String toString() {
+        return String.format(
+            "Cache Simulation (%s, %s):\n" +
+            "  Accesses: %,d\n" +
+            "  L1: %,d hits, %,d misses (%.2f%% miss rate)\n" +
+            "  L2: %,d hits, %,d misses\n" +
+            "  Estimated stall: %,d cycles",
+            l1.describe(),
+            l2.describe(),
+            accesses,
+            l1.hits,
+            l1.misses,
+            getL1MissRate() * 100.0,
+            l2.hits,
+            l2.misses,
+            getStallCycles()
+        );
+    }
+
+    /**
+     * One cache level. Each set keeps its tags in recency order, most recent
+     * first, so a hit moves the tag to the front and a miss evicts the last.
+     */
+    private static final class Level {
+        private final String name;
+        private final int size;
+        private final int ways;
+        private final int setMask;
+        private final long[] tags;
+        private long hits;
+        private long misses;
+
+        Level(String name, int size, int ways, int lineSize) {
+            if (ways <= 0 || !isPowerOfTwo(size) || size < lineSize * ways) {
+                throw new IllegalArgumentException(name + " size must be a power of two holding at least "
+                        + "one line per way");
+            }
+            int sets = size / lineSize / ways;
+            if (!isPowerOfTwo(sets)) {
+                throw new IllegalArgumentException(name + " must have a power-of-two number of sets");
+            }
+            this.name = name;
+            this.size = size;
+            this.ways = ways;
+            this.setMask = sets - 1;
+            this.tags = new long[sets * ways];
+            reset();
+        }
+
+        /**
+         * Looks up a line, filling it on a miss.
+         *
+         * @return true on a hit
+         */
+        boolean touch(long line) {
+            int base = (int) (line & setMask) * ways;
+            int way = 0;
+            while (way < ways - 1 && tags[base + way] != line) {
+                way++;
+            }
+            boolean hit = tags[base + way] == line;
+            if (hit) {
+                hits++;
+            } else {
+                misses++;
+            }
+            // Move to front; on a miss the last (least recent) tag falls off
+            System.arraycopy(tags, base, tags, base + 1, way);
+            tags[base] = line;
+            return hit;
+        }
+
+        void reset() {
+            Arrays.fill(tags, -1L);
+            hits = 0;
+            misses = 0;
+        }
+
+        String describe() {
+            return String.format("%s %dK %d-way", name, size / 1024, ways);
+        }
+    }
+}
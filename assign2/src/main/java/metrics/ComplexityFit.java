@@ -0,0 +1,324 @@
+package metrics;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Fits measurements against the classic growth models
+ * y = a * f(n) + b * g(n), where g is the next lower-order term (n for
+ * n log n and n^2, a constant for n).
+ * 
+ * The lower-order term matters for crossovers: two strategies with the
+ * same leading order differ only in their constants, and a single-term fit
+ * c * f(n) makes one of them faster at every size. With a per-element
+ * overhead b * n in the model, a strategy with a smaller a but a larger b
+ * wins only beyond a finite size.
+ * 
+ * Benchmark sizes usually span several orders of magnitude, so an ordinary
+ * least-squares fit would be dominated by the largest size. The
+ * coefficients are therefore fitted by minimizing the relative error, and
+ * models are ranked by their root-mean-square relative error. R² on the
+ * raw values is reported as a familiar goodness-of-fit figure.
+ * 
+ * Two coefficients fit any two points exactly, so with fewer than
+ * {@link #MIN_SIZES_FOR_LOWER_ORDER} distinct sizes every model would tie
+ * at zero error; such fits use the leading term only and report
+ * {@link #hasLowerOrderTerm()} as false. A negative lower-order coefficient
+ * makes the model negative at small n; predictions are clamped at 0 there
+ * and {@link #crossover} only searches sizes where both fits are positive.
+ * 
+ * @author Student A
+ */
+public final class ComplexityFit {
+    
+    /**
+     * Candidate growth models.
+     */
+    public enum Model {
+        LINEAR("n", ""),
+        N_LOG_N("n log n", "n"),
+        QUADRATIC("n^2", "n");
+        
+        private final String label;
+        private final String lowerLabel;
+        
+        Model(String label, String lowerLabel) {
+            this.label = label;
+            this.lowerLabel = lowerLabel;
+        }
+        
+        /**
+         * Evaluates the model's growth function.
+         * 
+         * @param n the input size
+         * @return f(n)
+         */
+        public double apply(double n) {
+            switch (this) {
+                case LINEAR:
+                    return n;
+                case N_LOG_N:
+                    return n * Math.log(Math.max(n, 2)) / Math.log(2);
+                default:
+                    return n * n;
+            }
+        }
+        
+        /**
+         * Evaluates the model's lower-order term.
+         * 
+         * @param n the input size
+         * @return g(n)
+         */
+        public double applyLowerOrder(double n) {
+            return this == LINEAR ? 1 : n;
+        }
+        
+        @Override
+        public String toString() {
+            return label;
+        }
+    }
+    
+    /**
+     * A higher-order model must lower the RMS relative error by more than
+     * this to be preferred, since it can always mimic a lower-order one.
+     */
+    private static final double MODEL_TOLERANCE = 1e-3;
+    
+    /** Distinct sizes needed before the lower-order term is fitted. */
+    public static final int MIN_SIZES_FOR_LOWER_ORDER = 3;
+    
+    private final Model model;
+    private final double coefficient;
+    private final double lowerCoefficient;
+    private final boolean lowerOrderTerm;
+    private final double rSquared;
+    private final double relativeError;
+    
+    private ComplexityFit(Model model, double coefficient, double lowerCoefficient, boolean lowerOrderTerm,
+                          double rSquared, double relativeError) {
+        this.model = model;
+        this.coefficient = coefficient;
+        this.lowerCoefficient = lowerCoefficient;
+        this.lowerOrderTerm = lowerOrderTerm;
+        this.rSquared = rSquared;
+        this.relativeError = relativeError;
+    }
+    
+    /**
+     * Fits one model to the measurements. With fewer than
+     * {@link #MIN_SIZES_FOR_LOWER_ORDER} distinct sizes only the leading term
+     * is fitted.
+     * 
+     * @param model the model
+     * @param sizes input sizes
+     * @param values measured values (must be positive to contribute)
+     * @return the fit
+     * @throws IllegalArgumentException if the arrays differ in length or are empty
+     */
+    public static ComplexityFit fit(Model model, double[] sizes, double[] values) {
+        if (sizes.length != values.length || sizes.length == 0) {
+            throw new IllegalArgumentException("Need the same, non-zero number of sizes and values");
+        }
+        
+        // Minimize sum((1 - a u - b v)^2) with u = f / y and v = g / y:
+        // a Suu + b Suv = Su,  a Suv + b Svv = Sv
+        Set<Double> distinct = new HashSet<>();
+        double su = 0;
+        double sv = 0;
+        double suu = 0;
+        double suv = 0;
+        double svv = 0;
+        for (int i = 0; i < sizes.length; i++) {
+            if (values[i] > 0) {
+                double u = model.apply(sizes[i]) / values[i];
+                double v = model.applyLowerOrder(sizes[i]) / values[i];
+                distinct.add(sizes[i]);
+                su += u;
+                sv += v;
+                suu += u * u;
+                suv += u * v;
+                svv += v * v;
+            }
+        }
+        double det = suu * svv - suv * suv;
+        double c;
+        double d;
+        boolean twoTerm = distinct.size() >= MIN_SIZES_FOR_LOWER_ORDER && det > 1e-9 * suu * svv;
+        if (twoTerm) {
+            c = (su * svv - sv * suv) / det;
+            d = (suu * sv - suv * su) / det;
+        } else {
+            c = suu > 0 ? su / suu : 0;
+            d = 0;
+        }
+        
+        double mean = 0;
+        for (double value : values) {
+            mean += value;
+        }
+        mean /= values.length;
+        
+        double ssRes = 0;
+        double ssTot = 0;
+        double relSquares = 0;
+        int relCount = 0;
+        for (int i = 0; i < sizes.length; i++) {
+            double predicted = c * model.apply(sizes[i]) + d * model.applyLowerOrder(sizes[i]);
+            ssRes += (values[i] - predicted) * (values[i] - predicted);
+            ssTot += (values[i] - mean) * (values[i] - mean);
+            if (values[i] > 0) {
+                double rel = (values[i] - predicted) / values[i];
+                relSquares += rel * rel;
+                relCount++;
+            }
+        }
+        double r2 = ssTot > 0 ? 1 - ssRes / ssTot : (ssRes == 0 ? 1 : 0);
+        double rms = relCount > 0 ? Math.sqrt(relSquares / relCount) : 0;
+        return new ComplexityFit(model, c, d, twoTerm, r2, rms);
+    }
+    
+    /**
+     * Fits every model and returns the one with the smallest relative error,
+     * preferring the lower-order model when the errors are within
+     * {@link #MODEL_TOLERANCE} of each other.
+     * 
+     * @param sizes input sizes
+     * @param values measured values
+     * @return the best fit
+     */
+    public static ComplexityFit best(double[] sizes, double[] values) {
+        ComplexityFit best = null;
+        for (Model model : Model.values()) {
+            ComplexityFit fit = fit(model, sizes, values);
+            if (best == null || fit.relativeError < best.relativeError - MODEL_TOLERANCE) {
+                best = fit;
+            }
+        }
+        return best;
+    }
+    
+    /**
+     * Predicts the value at a given size.
+     * 
+     * @param n the input size
+     * @return a * f(n) + b * g(n), or 0 where that is negative
+     */
+    public double predict(double n) {
+        return Math.max(0, rawPredict(n));
+    }
+    
+    private double rawPredict(double n) {
+        return coefficient * model.apply(n) + lowerCoefficient * model.applyLowerOrder(n);
+    }
+    
+    /**
+     * Gets the smallest size from which the model predicts a positive value.
+     * Since f(n) / g(n) grows with n, the unclamped prediction changes sign
+     * at most once.
+     * 
+     * @return the first valid size (at least 1), or {@link Long#MAX_VALUE} if there is none
+     */
+    public long getValidFrom() {
+        if (rawPredict(1) > 0) {
+            return 1;
+        }
+        if (coefficient <= 0) {
+            return Long.MAX_VALUE;
+        }
+        long hi = 2;
+        while (rawPredict(hi) <= 0) {
+            if (hi > Long.MAX_VALUE / 2) {
+                return Long.MAX_VALUE;
+            }
+            hi *= 2;
+        }
+        long lo = hi / 2; // rawPredict(lo) <= 0
+        while (lo + 1 < hi) {
+            long mid = lo + (hi - lo) / 2;
+            if (rawPredict(mid) > 0) {
+                hi = mid;
+            } else {
+                lo = mid;
+            }
+        }
+        return hi;
+    }
+    
+    /**
+     * Finds the smallest size in [lo, hi] from which fit {@code a} predicts
+     * a lower value than fit {@code b}, assuming the sign of the difference
+     * changes at most once in the range. Sizes where either fit predicts a
+     * non-positive value are outside its valid range and are skipped, so
+     * the search starts at the larger of lo and both
+     * {@link #getValidFrom()} values.
+     * 
+     * @param a the candidate that should win for large n
+     * @param b the incumbent
+     * @param lo lower bound of the search
+     * @param hi upper bound of the search
+     * @return the crossover size, or -1 if a never wins in range
+     */
+    public static long crossover(ComplexityFit a, ComplexityFit b, long lo, long hi) {
+        lo = Math.max(lo, Math.max(a.getValidFrom(), b.getValidFrom()));
+        if (lo > hi || a.predict(hi) >= b.predict(hi)) {
+            return -1;
+        }
+        if (a.predict(lo) < b.predict(lo)) {
+            return lo;
+        }
+        while (lo + 1 < hi) {
+            long mid = lo + (hi - lo) / 2;
+            if (a.predict(mid) < b.predict(mid)) {
+                hi = mid;
+            } else {
+                lo = mid;
+            }
+        }
+        return hi;
+    }
+    
+    // Getters
+    
+    public Model getModel() {
+        return model;
+    }
+    
+    public double getCoefficient() {
+        return coefficient;
+    }
+    
+    public double getLowerCoefficient() {
+        return lowerCoefficient;
+    }
+    
+    /**
+     * Tells whether the lower-order term was fitted; false when there were
+     * too few distinct sizes to determine it.
+     * 
+     * @return true if the fit has two terms
+     */
+    public boolean hasLowerOrderTerm() {
+        return lowerOrderTerm;
+    }
+    
+    public double getRSquared() {
+        return rSquared;
+    }
+    
+    public double getRelativeError() {
+        return relativeError;
+    }
+    
+    @Override
+    public String toString() {
+        if (!lowerOrderTerm) {
+            return String.format("%.4g * %s (R^2=%.4f, rel.err=%.1f%%)", coefficient, model,
+                    rSquared, relativeError * 100);
+        }
+        return String.format("%.4g * %s %s %.4g%s (R^2=%.4f, rel.err=%.1f%%)", coefficient, model,
+                lowerCoefficient < 0 ? "-" : "+", Math.abs(lowerCoefficient),
+                model.lowerLabel.isEmpty() ? "" : " * " + model.lowerLabel, rSquared, relativeError * 100);
+    }
+}
@@ -0,0 +1,165 @@
+package metrics;
+
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Turns a benchmark sweep into per-case growth models and crossover sizes.
+ * 
+ * Results are grouped by data type and strategy, using the
+ * "dataType_strategy" labels written by the benchmark runner (for example
+ * "random_opt"). For every group, comparisons, array accesses and time are
+ * fitted against n, n log n and n^2, each with a lower-order term (see
+ * {@link ComplexityFit}). For every data type, the size at which
+ * the "opt" strategy (binary insertion) becomes faster than "std" is
+ * reported, both as observed and as predicted by the fitted time models.
+ * 
+ * @author Student A
+ */
+public final class ComplexityReport {
+    
+    /** Upper bound for model-predicted crossovers. */
+    private static final long MAX_CROSSOVER = 1L << 31;
+    
+    private ComplexityReport() {
+    }
+    
+    /**
+     * Prints the report.
+     * 
+     * @param results results of a sweep over several sizes
+     * @param out destination
+     */
+    public static void print(List<BenchmarkResult> results, PrintStream out) {
+        // dataType -> strategy -> size -> result
+        Map<String, Map<String, TreeMap<Integer, BenchmarkResult>>> groups = new TreeMap<>();
+        for (BenchmarkResult result : results) {
+            String label = result.getDataType();
+            int split = label.lastIndexOf('_');
+            String dataType = split > 0 ? label.substring(0, split) : label;
+            String strategy = split > 0 ? label.substring(split + 1) : "";
+            groups.computeIfAbsent(dataType, k -> new TreeMap<>())
+                  .computeIfAbsent(strategy, k -> new TreeMap<>())
+                  .put(result.getArraySize(), result);
+        }
+        
+        out.println("\n" + "=".repeat(120));
+        out.println("EMPIRICAL COMPLEXITY (best model by relative error)");
+        int sizeCount = 0;
+        for (Map<String, TreeMap<Integer, BenchmarkResult>> byStrategy : groups.values()) {
+            for (TreeMap<Integer, BenchmarkResult> bySize : byStrategy.values()) {
+                sizeCount = Math.max(sizeCount, bySize.size());
+            }
+        }
+        if (sizeCount < ComplexityFit.MIN_SIZES_FOR_LOWER_ORDER) {
+            out.printf("Note: only %d sizes measured, too few to fit a lower-order term; single-term fits%n"
+                    + "      below are underdetermined and the growth class is a rough guess (use %d+ sizes)%n",
+                    sizeCount, ComplexityFit.MIN_SIZES_FOR_LOWER_ORDER);
+        }
+        out.println("=".repeat(120));
+        out.printf("%-14s %-6s %-12s %-64s %s%n", "Data type", "Mode", "Metric", "Best fit", "R^2 n / nlogn / n^2");
+        out.println("-".repeat(120));
+        
+        Map<String, ComplexityFit[]> timeFits = new TreeMap<>();
+        for (Map.Entry<String, Map<String, TreeMap<Integer, BenchmarkResult>>> byType : groups.entrySet()) {
+            for (Map.Entry<String, TreeMap<Integer, BenchmarkResult>> byStrategy : byType.getValue().entrySet()) {
+                TreeMap<Integer, BenchmarkResult> bySize = byStrategy.getValue();
+                if (bySize.size() < 2) {
+                    continue;
+                }
+                double[] sizes = new double[bySize.size()];
+                double[] comparisons = new double[sizes.length];
+                double[] accesses = new double[sizes.length];
+                double[] times = new double[sizes.length];
+                int i = 0;
+                for (BenchmarkResult result : bySize.values()) {
+                    sizes[i] = result.getArraySize();
+                    comparisons[i] = result.getComparisons();
+                    accesses[i] = result.getArrayAccesses();
+                    times[i] = result.getTimeNanos();
+                    i++;
+                }
+                
+                String type = byType.getKey();
+                String mode = byStrategy.getKey();
+                printFit(out, type, mode, "comparisons", sizes, comparisons);
+                printFit(out, type, mode, "accesses", sizes, accesses);
+                ComplexityFit timeFit = printFit(out, type, mode, "time (ns)", sizes, times);
+                
+                ComplexityFit[] pair = timeFits.computeIfAbsent(type, k -> new ComplexityFit[2]);
+                if (mode.equals("std")) {
+                    pair[0] = timeFit;
+                } else if (mode.equals("opt")) {
+                    pair[1] = timeFit;
+                }
+            }
+        }
+        
+        out.println("\n" + "=".repeat(120));
+        out.println("CROSSOVER: binary insertion (opt) vs standard loop (std)");
+        out.println("=".repeat(120));
+        for (Map.Entry<String, Map<String, TreeMap<Integer, BenchmarkResult>>> byType : groups.entrySet()) {
+            TreeMap<Integer, BenchmarkResult> std = byType.getValue().get("std");
+            TreeMap<Integer, BenchmarkResult> opt = byType.getValue().get("opt");
+            if (std == null || opt == null) {
+                continue;
+            }
+            ComplexityFit[] fits = timeFits.get(byType.getKey());
+            out.printf("%-14s observed: %-36s predicted: %s%n",
+                    byType.getKey(),
+                    observedCrossover(std, opt),
+                    fits == null || fits[0] == null || fits[1] == null
+                            ? "n/a"
+                            : predictedCrossover(fits[1], fits[0]));
+        }
+        out.println("=".repeat(120));
+    }
+    
+    private static ComplexityFit printFit(PrintStream out, String type, String mode, String metric,
+                                          double[] sizes, double[] values) {
+        ComplexityFit best = ComplexityFit.best(sizes, values);
+        List<String> r2 = new ArrayList<>();
+        for (ComplexityFit.Model model : ComplexityFit.Model.values()) {
+            r2.add(String.format("%.3f", ComplexityFit.fit(model, sizes, values).getRSquared()));
+        }
+        out.printf("%-14s %-6s %-12s %-64s %s%n", type, mode, metric, best, String.join(" / ", r2));
+        return best;
+    }
+    
+    /**
+     * Describes the measured sizes between which opt starts beating std.
+     */
+    private static String observedCrossover(TreeMap<Integer, BenchmarkResult> std,
+                                            TreeMap<Integer, BenchmarkResult> opt) {
+        Integer previous = null;
+        for (Map.Entry<Integer, BenchmarkResult> entry : opt.entrySet()) {
+            BenchmarkResult baseline = std.get(entry.getKey());
+            if (baseline == null) {
+                continue;
+            }
+            if (entry.getValue().getTimeNanos() < baseline.getTimeNanos()) {
+                return previous == null
+                        ? "opt faster from n=" + entry.getKey()
+                        : "opt faster between n=" + previous + " and n=" + entry.getKey();
+            }
+            previous = entry.getKey();
+        }
+        return "std faster at all measured sizes";
+    }
+    
+    private static String predictedCrossover(ComplexityFit opt, ComplexityFit std) {
+        long n = ComplexityFit.crossover(opt, std, 2, MAX_CROSSOVER);
+        if (n < 0) {
+            return "std stays faster";
+        }
+        long validFrom = Math.max(2, Math.max(opt.getValidFrom(), std.getValidFrom()));
+        if (n == validFrom) {
+            return n == 2 ? "opt faster at all sizes"
+                    : String.format("opt faster wherever both fits are positive (n>=%,d)", n);
+        }
+        return String.format("use opt from n~%,d", n);
+    }
+}
@@ -0,0 +1,118 @@
+package metrics;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Writes results as CSV through a single buffered writer per run.
+ *
+ * Each row holds the {@link BenchmarkResult#COLUMNS} followed by the
+ * {@link RunMetadata#COLUMNS}. The header is decided once when the sink is
+ * opened, never per row. A file written with an older column schema is not
+ * appended to; it is kept as {@code <name>.v1.csv} and a fresh file takes
+ * its place when the sink is closed.
+ *
+ * @author Student A
+ */
+public class CsvResultSink implements ResultSink {
+
+    /**
+     * Full CSV header: result columns followed by metadata columns.
+     */
+    public static final String HEADER =
+            String.join(",", BenchmarkResult.COLUMNS) + "," + String.join(",", RunMetadata.COLUMNS);
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final Path target;
+    private final Path temp;
+    private final String metadataFragment;
+    private final BufferedWriter writer;
+    private final boolean rotateLegacy;
+    private boolean closed;
+
+    /**
+     * Opens a CSV sink.
+     *
+     * @param target the output file
+     * @param metadata run metadata recorded with every row
+     * @param append if true, rows already in the target are kept
+     * @throws IOException if the file cannot be opened
+     */
+    public CsvResultSink(Path target, RunMetadata metadata, boolean append) throws IOException {
+        this.target = target;
+        this.metadataFragment = metadata.toCsvFragment();
+        this.temp = AtomicFiles.createTempSibling(target);
+
+        boolean keepExisting = append && Files.exists(target) && Files.size(target) > 0;
+        boolean legacy = false;
+        try {
+            if (keepExisting) {
+                String existingHeader;
+                try (BufferedReader reader = Files.newBufferedReader(target, StandardCharsets.UTF_8)) {
+                    existingHeader = reader.readLine();
+                }
+                legacy = !HEADER.equals(existingHeader);
+                keepExisting = !legacy;
+            }
+            if (keepExisting) {
+                Files.copy(target, temp, StandardCopyOption.REPLACE_EXISTING);
+            }
+            this.writer = new BufferedWriter(Files.newBufferedWriter(temp, StandardCharsets.UTF_8,
+                    StandardOpenOption.WRITE, StandardOpenOption.APPEND), BUFFER_SIZE);
+        } catch (IOException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+        this.rotateLegacy = legacy;
+        if (!keepExisting) {
+            writer.write(HEADER);
+            writer.newLine();
+        }
+    }
+
+    @Override
+    public void write(BenchmarkResult result) throws IOException {
+        if (closed) {
+            throw new IOException("Sink is closed");
+        }
+        writer.write(result.toCsvRow());
+        writer.write(',');
+        writer.write(metadataFragment);
+        writer.newLine();
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        writer.close();
+        if (rotateLegacy && Files.exists(target)) {
+            Path legacyFile = AtomicFiles.versionedSibling(target, "v1");
+            Files.move(target, legacyFile);
+            System.err.println("Note: " + target + " used an older column schema; kept it as " + legacyFile);
+        }
+        AtomicFiles.commit(temp, target);
+    }
+
+    @Override
+    public void discard() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            writer.close();
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+}
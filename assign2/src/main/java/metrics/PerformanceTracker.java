@@ -25,6 +25,7 @@ public class PerformanceTracker {
     private long startTime;
     private long endTime;
     private boolean timing;
+    private CacheSimulator cacheSimulator;
     
     /**
      * Creates a new performance tracker with all metrics set to zero.
@@ -44,6 +45,9 @@ public class PerformanceTracker {
         startTime = 0;
         endTime = 0;
         timing = false;
+        if (cacheSimulator != null) {
+            cacheSimulator.reset();
+        }
     }
     
     /**
@@ -112,6 +116,81 @@ public class PerformanceTracker {
         arrayAccesses += count;
     }
     
+    /**
+     * Counts one access to an element of the sorted array and, in cache
+     * simulation mode, reports its index to the simulator.
+     * 
+     * @param index the element index
+     */
+    public void recordAccess(int index) {
+        recordAccess(0, index);
+    }
+    
+    /**
+     * Counts one access to an element of one of several arrays and, in cache
+     * simulation mode, reports it to the simulator. Kernels that touch more
+     * than one array give each a distinct id so the simulator does not
+     * treat their elements as the same memory.
+     * 
+     * @param array the array id (0 for the sorted array)
+     * @param index the element index
+     */
+    public void recordAccess(int array, int index) {
+        arrayAccesses++;
+        if (cacheSimulator != null) {
+            cacheSimulator.access(array, index);
+        }
+    }
+    
+    /**
+     * Counts one access to each element of a contiguous range of the sorted
+     * array, as touched by a block copy.
+     * 
+     * @param from first element index
+     * @param count number of elements
+     */
+    public void recordAccessRange(int from, int count) {
+        recordAccessRange(0, from, count);
+    }
+    
+    /**
+     * Counts one access to each element of a contiguous range of one of
+     * several arrays. See {@link #recordAccess(int, int)}.
+     * 
+     * @param array the array id (0 for the sorted array)
+     * @param from first element index
+     * @param count number of elements
+     */
+    public void recordAccessRange(int array, int from, int count) {
+        arrayAccesses += count;
+        if (cacheSimulator != null) {
+            cacheSimulator.accessRange(array, from, count);
+        }
+    }
+    
+    /**
+     * Enables cache simulation mode. Kernels that report indices through
+     * {@link #recordAccess} feed the simulator, which is reset together with
+     * the counters at the start of every sort.
+     * 
+     * @param cacheSimulator the simulator, or null to disable the mode
+     */
+    public void setCacheSimulator(CacheSimulator cacheSimulator) {
+        this.cacheSimulator = cacheSimulator;
+        if (cacheSimulator != null) {
+            cacheSimulator.reset();
+        }
+    }
+    
+    /**
+     * Gets the attached cache simulator.
+     * 
+     * @return the simulator, or null if cache simulation is off
+     */
+    public CacheSimulator getCacheSimulator() {
+        return cacheSimulator;
+    }
+    
     /**
      * Increments the memory allocation counter by 1.
      */
@@ -165,29 +244,28 @@ public class PerformanceTracker {
     }
     
     /**
-     * Exports metrics to a CSV file.
+     * Exports metrics to a CSV file, appending one row per call.
+     * 
+     * Opens the file on every call; benchmark runs should write through a
+     * {@link ResultSink} instead, which keeps one writer open for the run.
      * 
      * @param filename the output filename
      * @param arraySize the size of the sorted array
      * @param dataType the type of input data (e.g., "random", "sorted", "reverse")
      * @throws IOException if file cannot be written
+     * @deprecated use {@link ResultSink#open} with {@link BenchmarkResult#from}
      */
+    @Deprecated
     public void exportToCSV(String filename, int arraySize, String dataType) throws IOException {
-        try (PrintWriter writer = new PrintWriter(new FileWriter(filename, true))) {
-            // Check if file is empty to write header
-            if (new java.io.File(filename).length() == 0) {
-                writer.println("ArraySize,DataType,Comparisons,Swaps,ArrayAccesses,MemoryAllocations,TimeNanos,TimeMillis");
+        // Decide on the header before the writer creates the file
+        java.io.File file = new java.io.File(filename);
+        boolean writeHeader = !file.exists() || file.length() == 0;
+        
+        try (PrintWriter writer = new PrintWriter(new FileWriter(file, true))) {
+            if (writeHeader) {
+                writer.println(String.join(",", BenchmarkResult.COLUMNS));
             }
-            
-            writer.printf("%d,%s,%d,%d,%d,%d,%d,%.6f%n",
-                    arraySize,
-                    dataType,
-                    comparisons,
-                    swaps,
-                    arrayAccesses,
-                    memoryAllocations,
-                    getExecutionTimeNanos(),
-                    getExecutionTimeMillis());
+            writer.println(BenchmarkResult.from(this, arraySize, dataType).toCsvRow());
         }
     }
     
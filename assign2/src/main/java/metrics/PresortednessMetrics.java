@@ -0,0 +1,270 @@
+package metrics;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Measures how sorted an input already is, in O(n log n).
+ *
+ * Metrics computed:
+ * - Inversions: pairs i &lt; j with a[i] &gt; a[j]; equals the number of
+ *   shifts the standard insertion sort performs
+ * - Runs: number of maximal non-decreasing runs
+ * - LIS: length of the longest non-decreasing subsequence;
+ *   Rem = n - LIS is the fewest elements to remove to leave sorted data
+ * - Max displacement: largest distance between an element's position and
+ *   its position in the stable sorted order
+ *
+ * The input array is never modified.
+ *
+ * @author Student A
+ */
+public final class PresortednessMetrics {
+
+    /** Sub-arrays at or below this length are counted without forking. */
+    private static final int PARALLEL_THRESHOLD = 1 << 13;
+
+    private final int length;
+    private final long inversions;
+    private final int runs;
+    private final int longestIncreasingSubsequence;
+    private final int maxDisplacement;
+
+    private PresortednessMetrics(int length, long inversions, int runs,
+                                 int longestIncreasingSubsequence, int maxDisplacement) {
+        this.length = length;
+        this.inversions = inversions;
+        this.runs = runs;
+        this.longestIncreasingSubsequence = longestIncreasingSubsequence;
+        this.maxDisplacement = maxDisplacement;
+    }
+
+    /**
+     * Computes all metrics for an array.
+     *
+     * @param arr the array to analyze
+     * @return the metrics
+     * @throws IllegalArgumentException if array is null
+     */
+    public static PresortednessMetrics analyze(int[] arr) {
+        if (arr == null) {
+            throw new IllegalArgumentException("Array cannot be null");
+        }
+        return new PresortednessMetrics(arr.length, countInversions(arr), countRuns(arr),
+                longestNonDecreasingSubsequence(arr), maxDisplacement(arr));
+    }
+
+    /**
+     * Counts inversions with a merge sort over a copy, forking halves in parallel.
+     *
+     * @param arr the array
+     * @return the number of inversions
+     */
+    public static long countInversions(int[] arr) {
+        if (arr.length < 2) {
+            return 0;
+        }
+        int[] work = arr.clone();
+        int[] buffer = new int[arr.length];
+        if (arr.length <= PARALLEL_THRESHOLD) {
+            return sortAndCount(work, buffer, 0, arr.length);
+        }
+        return ForkJoinPool.commonPool().invoke(new InversionTask(work, buffer, 0, arr.length));
+    }
+
+    /**
+     * Sorts work[lo, hi) and returns its inversion count.
+     */
+    private static long sortAndCount(int[] work, int[] buffer, int lo, int hi) {
+        if (hi - lo < 2) {
+            return 0;
+        }
+        int mid = (lo + hi) >>> 1;
+        long count = sortAndCount(work, buffer, lo, mid) + sortAndCount(work, buffer, mid, hi);
+        return count + mergeAndCount(work, buffer, lo, mid, hi);
+    }
+
+    /**
+     * Merges the sorted halves work[lo, mid) and work[mid, hi), counting the
+     * pairs where a right-half element is smaller than a left-half element.
+     */
+    private static long mergeAndCount(int[] work, int[] buffer, int lo, int mid, int hi) {
+        if (work[mid - 1] <= work[mid]) {
+            return 0; // halves already in order
+        }
+        System.arraycopy(work, lo, buffer, lo, hi - lo);
+        long count = 0;
+        int i = lo;
+        int j = mid;
+        int k = lo;
+        while (i < mid && j < hi) {
+            if (buffer[i] <= buffer[j]) {
+                work[k++] = buffer[i++];
+            } else {
+                count += mid - i;
+                work[k++] = buffer[j++];
+            }
+        }
+        while (i < mid) {
+            work[k++] = buffer[i++];
+        }
+        while (j < hi) {
+            work[k++] = buffer[j++];
+        }
+        return count;
+    }
+
+    private static final class InversionTask extends RecursiveTask<Long> {
+        private static final long serialVersionUID = 1L;
+
+        private final int[] work;
+        private final int[] buffer;
+        private final int lo;
+        private final int hi;
+
+        InversionTask(int[] work, int[] buffer, int lo, int hi) {
+            this.work = work;
+            this.buffer = buffer;
+            this.lo = lo;
+            this.hi = hi;
+        }
+
+        @Override
+        protected Long compute() {
+            if (hi - lo <= PARALLEL_THRESHOLD) {
+                return sortAndCount(work, buffer, lo, hi);
+            }
+            int mid = (lo + hi) >>> 1;
+            InversionTask left = new InversionTask(work, buffer, lo, mid);
+            left.fork();
+            long count = new InversionTask(work, buffer, mid, hi).compute();
+            count += left.join();
+            return count + mergeAndCount(work, buffer, lo, mid, hi);
+        }
+    }
+
+    /**
+     * Counts maximal non-decreasing runs.
+     *
+     * @param arr the array
+     * @return number of runs (0 for an empty array)
+     */
+    public static int countRuns(int[] arr) {
+        if (arr.length == 0) {
+            return 0;
+        }
+        int runs = 1;
+        for (int i = 1; i < arr.length; i++) {
+            if (arr[i] < arr[i - 1]) {
+                runs++;
+            }
+        }
+        return runs;
+    }
+
+    /**
+     * Computes the longest non-decreasing subsequence by patience sorting.
+     *
+     * @param arr the array
+     * @return the subsequence length
+     */
+    public static int longestNonDecreasingSubsequence(int[] arr) {
+        // tails[k] = smallest possible tail of a subsequence of length k + 1
+        int[] tails = new int[arr.length];
+        int size = 0;
+        for (int value : arr) {
+            // First tail strictly greater than value (upper bound keeps ties)
+            int lo = 0;
+            int hi = size;
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (tails[mid] <= value) {
+                    lo = mid + 1;
+                } else {
+                    hi = mid;
+                }
+            }
+            tails[lo] = value;
+            if (lo == size) {
+                size++;
+            }
+        }
+        return size;
+    }
+
+    /**
+     * Computes the largest distance between an element's index and its index
+     * in the stable sorted order.
+     *
+     * @param arr the array
+     * @return the maximum displacement
+     */
+    public static int maxDisplacement(int[] arr) {
+        // Pack (value, index) so that sorting the longs yields the stable order
+        long[] keyed = new long[arr.length];
+        for (int i = 0; i < arr.length; i++) {
+            keyed[i] = ((long) (arr[i] ^ Integer.MIN_VALUE) << 32) | i;
+        }
+        Arrays.parallelSort(keyed);
+        int max = 0;
+        for (int rank = 0; rank < keyed.length; rank++) {
+            int original = (int) keyed[rank];
+            max = Math.max(max, Math.abs(original - rank));
+        }
+        return max;
+    }
+
+    // Getters
+
+    public int getLength() {
+        return length;
+    }
+
+    public long getInversions() {
+        return inversions;
+    }
+
+    public int getRuns() {
+        return runs;
+    }
+
+    public int getLongestIncreasingSubsequence() {
+        return longestIncreasingSubsequence;
+    }
+
+    public int getRem() {
+        return length - longestIncreasingSubsequence;
+    }
+
+    public int getMaxDisplacement() {
+        return maxDisplacement;
+    }
+
+    /**
+     * Gets inversions relative to the maximum n(n-1)/2.
+     *
+     * @return fraction in [0, 1]
+     */
+    public double getInversionRatio() {
+        double max = (double) length * (length - 1) / 2;
+        return max > 0 ? inversions / max : 0;
+    }
+
+    @Override
+    public String toString() {
+        return String.format(
+            "Presortedness:\n" +
+            "  Inversions: %,d (%.4f of max)\n" +
+            "  Runs: %,d\n" +
+            "  LIS: %,d (Rem: %,d)\n" +
+            "  Max Displacement: %,d",
+            inversions,
+            getInversionRatio(),
+            runs,
+            longestIncreasingSubsequence,
+            getRem(),
+            maxDisplacement
+        );
+    }
+}
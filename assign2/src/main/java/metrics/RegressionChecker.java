@@ -0,0 +1,224 @@
+package metrics;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Compares a run against a stored baseline and flags regressions.
+ * 
+ * Counters (comparisons, swaps, array accesses) are deterministic, so they
+ * are compared directly against a percentage threshold that applies in both
+ * directions; the default of 0 means any change is a regression, since a
+ * drop in comparisons is just as much a sign that the algorithm changed as
+ * a rise. Timing is noisy, so a time regression needs both a median
+ * slowdown above the threshold and a difference larger than the combined
+ * spread (MAD) of the two runs. Cases present on only one side are
+ * reported as regressions too, so a shrunken run cannot pass unnoticed.
+ * 
+ * @author Student A
+ */
+public class RegressionChecker {
+    
+    /** Default allowed median slowdown, in percent. */
+    public static final double DEFAULT_TIME_THRESHOLD = 10.0;
+    
+    /** Scales MAD to a standard-deviation estimate for normal data. */
+    private static final double MAD_SCALE = 1.4826;
+    
+    /** Number of combined standard deviations a slowdown must exceed. */
+    private static final double NOISE_SIGMAS = 2.0;
+    
+    private double timeThreshold = DEFAULT_TIME_THRESHOLD;
+    private double comparisonsThreshold = 0.0;
+    private double swapsThreshold = 0.0;
+    private double arrayAccessesThreshold = 0.0;
+    
+    /**
+     * A single metric comparison.
+     */
+    public static final class Finding {
+        /** Metric name of a baseline case the current run did not produce. */
+        public static final String MISSING_CASE = "missingCase";
+        
+        /** Metric name of a current case the baseline does not have. */
+        public static final String EXTRA_CASE = "extraCase";
+        
+        private final String caseKey;
+        private final String metric;
+        private final double baseline;
+        private final double current;
+        private final boolean regression;
+        
+        Finding(String caseKey, String metric, double baseline, double current, boolean regression) {
+            this.caseKey = caseKey;
+            this.metric = metric;
+            this.baseline = baseline;
+            this.current = current;
+            this.regression = regression;
+        }
+        
+        /**
+         * Creates a failing finding for a case that only one side ran.
+         * 
+         * @param caseKey the case key
+         * @param inBaseline true if only the baseline has the case
+         */
+        static Finding unmatched(String caseKey, boolean inBaseline) {
+            return new Finding(caseKey, inBaseline ? MISSING_CASE : EXTRA_CASE, Double.NaN, Double.NaN, true);
+        }
+        
+        public String getCaseKey() {
+            return caseKey;
+        }
+        
+        public String getMetric() {
+            return metric;
+        }
+        
+        public double getBaseline() {
+            return baseline;
+        }
+        
+        public double getCurrent() {
+            return current;
+        }
+        
+        public boolean isRegression() {
+            return regression;
+        }
+        
+        /**
+         * Gets the relative change from baseline to current.
+         * 
+         * @return change in percent (positive means larger/slower)
+         */
+        public double getChangePercent() {
+            if (baseline == 0) {
+                return current == 0 ? 0 : Double.POSITIVE_INFINITY;
+            }
+            return (current - baseline) / baseline * 100.0;
+        }
+        
+        @Override
+        public String toString() {
+            if (Double.isNaN(baseline)) {
+                return String.format("%-8s %-24s %s", "REGRESS", caseKey,
+                        metric.equals(MISSING_CASE) ? "in baseline but not in this run" : "not in baseline");
+            }
+            return String.format("%-8s %-24s %-14s %16.0f -> %16.0f (%+.2f%%)",
+                    regression ? "REGRESS" : "ok", caseKey, metric, baseline, current, getChangePercent());
+        }
+    }
+    
+    /**
+     * Sets the threshold for a metric.
+     * 
+     * @param metric one of "time", "comparisons", "swaps" or "accesses"
+     * @param percent allowed change in percent (counters: either direction; time: slowdown)
+     * @throws IllegalArgumentException if the metric is unknown or the threshold negative
+     */
+    public void setThreshold(String metric, double percent) {
+        if (percent < 0) {
+            throw new IllegalArgumentException("Threshold cannot be negative");
+        }
+        switch (metric.toLowerCase()) {
+            case "time":
+                timeThreshold = percent;
+                break;
+            case "comparisons":
+                comparisonsThreshold = percent;
+                break;
+            case "swaps":
+                swapsThreshold = percent;
+                break;
+            case "accesses":
+                arrayAccessesThreshold = percent;
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown metric: " + metric);
+        }
+    }
+    
+    /**
+     * Parses thresholds such as "time=5,comparisons=0,swaps=0,accesses=1".
+     * 
+     * @param spec comma-separated metric=percent pairs
+     * @throws IllegalArgumentException if the spec is malformed
+     */
+    public void setThresholds(String spec) {
+        for (String pair : spec.split(",")) {
+            String[] parts = pair.split("=");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Expected metric=percent: " + pair);
+            }
+            setThreshold(parts[0].trim(), Double.parseDouble(parts[1].trim()));
+        }
+    }
+    
+    /**
+     * Compares current summaries against a baseline. A case present on only
+     * one side yields a failing {@link Finding#MISSING_CASE} or
+     * {@link Finding#EXTRA_CASE} finding.
+     * 
+     * @param baseline baseline summaries keyed by {@link TrialSummary#key()}
+     * @param current summaries of the current run
+     * @return one finding per compared metric and per unmatched case
+     */
+    public List<Finding> compare(Map<String, TrialSummary> baseline, List<TrialSummary> current) {
+        List<Finding> findings = new ArrayList<>();
+        Set<String> seen = new HashSet<>();
+        for (TrialSummary now : current) {
+            seen.add(now.key());
+            TrialSummary before = baseline.get(now.key());
+            if (before == null) {
+                findings.add(Finding.unmatched(now.key(), false));
+                continue;
+            }
+            findings.add(counterFinding(now.key(), "comparisons",
+                    before.getComparisons(), now.getComparisons(), comparisonsThreshold));
+            findings.add(counterFinding(now.key(), "swaps",
+                    before.getSwaps(), now.getSwaps(), swapsThreshold));
+            findings.add(counterFinding(now.key(), "arrayAccesses",
+                    before.getArrayAccesses(), now.getArrayAccesses(), arrayAccessesThreshold));
+            findings.add(timeFinding(now.key(), before.getTime(), now.getTime()));
+        }
+        for (String key : new TreeSet<>(baseline.keySet())) {
+            if (!seen.contains(key)) {
+                findings.add(Finding.unmatched(key, true));
+            }
+        }
+        return Collections.unmodifiableList(findings);
+    }
+    
+    private static Finding counterFinding(String key, String metric, long before, long now, double threshold) {
+        boolean regression = Math.abs(now - before) > before * threshold / 100.0;
+        return new Finding(key, metric, before, now, regression);
+    }
+    
+    private Finding timeFinding(String key, TrialStatistics before, TrialStatistics now) {
+        double slowdown = now.getMedian() - before.getMedian();
+        double noise = NOISE_SIGMAS * MAD_SCALE * Math.hypot(before.getMad(), now.getMad());
+        boolean regression = slowdown > before.getMedian() * timeThreshold / 100.0 && slowdown > noise;
+        return new Finding(key, "timeMedianNanos", before.getMedian(), now.getMedian(), regression);
+    }
+    
+    /**
+     * Checks whether any finding is a regression.
+     * 
+     * @param findings the findings
+     * @return true if at least one regression was found
+     */
+    public static boolean hasRegressions(List<Finding> findings) {
+        for (Finding finding : findings) {
+            if (finding.isRegression()) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,59 @@
+package metrics;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Destination for benchmark results.
+ *
+ * A sink is opened once per run and receives every result of that run.
+ * Implementations write to a temporary file and only move it into place
+ * when {@link #close()} succeeds, so readers never observe a half-written
+ * results file.
+ *
+ * @author Student A
+ */
+public interface ResultSink extends AutoCloseable {
+
+    /**
+     * Writes a single result.
+     *
+     * @param result the result to write
+     * @throws IOException if the result cannot be written
+     */
+    void write(BenchmarkResult result) throws IOException;
+
+    /**
+     * Flushes all pending results and atomically finalizes the output file.
+     *
+     * @throws IOException if the output cannot be finalized
+     */
+    @Override
+    void close() throws IOException;
+
+    /**
+     * Abandons the sink without finalizing it: pending results are dropped,
+     * the temporary file is deleted and the target is left untouched.
+     *
+     * @throws IOException if the temporary file cannot be deleted
+     */
+    void discard() throws IOException;
+
+    /**
+     * Opens a sink for the given file. Files ending in ".bin" use the compact
+     * columnar format, everything else is written as CSV.
+     *
+     * @param target the output file
+     * @param metadata run metadata recorded with the results
+     * @param append if true, existing CSV results are kept (binary files are always rewritten)
+     * @return a new sink
+     * @throws IOException if the sink cannot be opened
+     */
+    static ResultSink open(Path target, RunMetadata metadata, boolean append) throws IOException {
+        String name = target.getFileName().toString().toLowerCase();
+        if (name.endsWith(".bin")) {
+            return new BinaryResultSink(target, metadata);
+        }
+        return new CsvResultSink(target, metadata, append);
+    }
+}
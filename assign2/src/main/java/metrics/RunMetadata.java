@@ -0,0 +1,153 @@
+package metrics;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.InetAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Describes the environment a benchmark run was produced in: JVM, machine,
+ * source revision and the insertion tuning profile in effect. Written
+ * alongside every result so runs from different hosts or JDKs can be told
+ * apart.
+ *
+ * @author Student A
+ */
+public final class RunMetadata {
+
+    /**
+     * Metadata columns in schema order.
+     */
+    public static final String[] COLUMNS = {
+        "JavaVersion", "JvmName", "OsName", "OsArch", "Processors", "MaxHeapBytes", "Host", "GitCommit",
+        "TuningProfile"
+    };
+
+    private static final String UNKNOWN = "unknown";
+
+    private final Map<String, String> fields;
+
+    private RunMetadata(Map<String, String> fields) {
+        this.fields = fields;
+    }
+
+    /**
+     * Collects metadata for the current process.
+     *
+     * @param tuningProfile description of the active tuning profile
+     * @return metadata describing this JVM and host
+     */
+    public static RunMetadata capture(String tuningProfile) {
+        Map<String, String> fields = new LinkedHashMap<>();
+        fields.put("JavaVersion", System.getProperty("java.version", UNKNOWN));
+        fields.put("JvmName", System.getProperty("java.vm.name", UNKNOWN));
+        fields.put("OsName", System.getProperty("os.name", UNKNOWN));
+        fields.put("OsArch", System.getProperty("os.arch", UNKNOWN));
+        fields.put("Processors", String.valueOf(Runtime.getRuntime().availableProcessors()));
+        fields.put("MaxHeapBytes", String.valueOf(Runtime.getRuntime().maxMemory()));
+        fields.put("Host", hostName());
+        fields.put("GitCommit", gitCommit());
+        fields.put("TuningProfile", tuningProfile);
+        return new RunMetadata(sanitize(fields));
+    }
+
+    /**
+     * Creates metadata from explicit values, in {@link #COLUMNS} order.
+     *
+     * @param values the field values
+     * @return the metadata
+     * @throws IllegalArgumentException if the number of values is wrong
+     */
+    public static RunMetadata of(String... values) {
+        if (values.length != COLUMNS.length) {
+            throw new IllegalArgumentException("Expected " + COLUMNS.length + " metadata values");
+        }
+        Map<String, String> fields = new LinkedHashMap<>();
+        for (int i = 0; i < COLUMNS.length; i++) {
+            fields.put(COLUMNS[i], values[i]);
+        }
+        return new RunMetadata(sanitize(fields));
+    }
+
+    /**
+     * Gets a single metadata field.
+     *
+     * @param column the column name
+     * @return the value, or "unknown" if absent
+     */
+    public String get(String column) {
+        return fields.getOrDefault(column, UNKNOWN);
+    }
+
+    /**
+     * Gets all values in {@link #COLUMNS} order.
+     *
+     * @return field values
+     */
+    public String[] values() {
+        String[] values = new String[COLUMNS.length];
+        for (int i = 0; i < COLUMNS.length; i++) {
+            values[i] = get(COLUMNS[i]);
+        }
+        return values;
+    }
+
+    /**
+     * Formats the values as a CSV fragment in {@link #COLUMNS} order.
+     *
+     * @return CSV fragment without leading or trailing separator
+     */
+    public String toCsvFragment() {
+        return String.join(",", values());
+    }
+
+    private static String hostName() {
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (IOException e) {
+            return UNKNOWN;
+        }
+    }
+
+    private static String gitCommit() {
+        String fromEnv = System.getenv("GIT_COMMIT");
+        if (fromEnv != null && !fromEnv.isEmpty()) {
+            return fromEnv;
+        }
+        try {
+            Process process = new ProcessBuilder("git", "rev-parse", "--short", "HEAD")
+                    .redirectErrorStream(true)
+                    .start();
+            String line;
+            try (BufferedReader reader = new BufferedReader(
+                    new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+                line = reader.readLine();
+            }
+            if (!process.waitFor(5, TimeUnit.SECONDS)) {
+                process.destroyForcibly();
+                return UNKNOWN;
+            }
+            return process.exitValue() == 0 && line != null ? line.trim() : UNKNOWN;
+        } catch (IOException e) {
+            return UNKNOWN;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return UNKNOWN;
+        }
+    }
+
+    /**
+     * Keeps values safe for the comma-separated formats.
+     */
+    private static Map<String, String> sanitize(Map<String, String> fields) {
+        for (Map.Entry<String, String> entry : fields.entrySet()) {
+            String value = entry.getValue() == null ? UNKNOWN : entry.getValue();
+            entry.setValue(value.replace(',', ' ').replace('\n', ' ').replace('\r', ' '));
+        }
+        return fields;
+    }
+}
@@ -0,0 +1,249 @@
+package metrics;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Verifies sort results: the output must be in non-decreasing order and
+ * hold the same multiset of values as the input.
+ *
+ * The multiset check compares an order-independent fingerprint (element
+ * count, wrapping sum and a wrapping sum of a 64-bit mix of every value)
+ * taken before and after sorting. A kernel that drops, duplicates or
+ * corrupts elements changes the fingerprint with overwhelming probability.
+ *
+ * Both passes stream over the array once in fixed-size chunks on the
+ * common ForkJoin pool, without copying it. The order check compares every
+ * chunk's first element with the last element of the chunk before it, so
+ * descents across chunk boundaries are caught as well. Inner loops are
+ * branch-free so the JIT can vectorize them.
+ *
+ * @author Student A
+ */
+public final class SortVerifier {
+
+    /** Elements per chunk; smaller arrays are verified on the calling thread. */
+    private static final int CHUNK = 1 << 16;
+
+    private SortVerifier() {
+    }
+
+    /**
+     * Order-independent summary of a multiset of ints.
+     */
+    public static final class Fingerprint {
+        private final long count;
+        private final long sum;
+        private final long hash;
+
+        Fingerprint(long count, long sum, long hash) {
+            this.count = count;
+            this.sum = sum;
+            this.hash = hash;
+        }
+
+        Fingerprint combine(Fingerprint other) {
+            return new Fingerprint(count + other.count, sum + other.sum, hash + other.hash);
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        public long getSum() {
+            return sum;
+        }
+
+        public long getHash() {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Fingerprint)) {
+                return false;
+            }
+            Fingerprint other = (Fingerprint) o;
+            return count == other.count && sum == other.sum && hash == other.hash;
+        }
+
+        @Override
+        public int hashCode() {
+            return Long.hashCode(count) * 31 * 31 + Long.hashCode(sum) * 31 + Long.hashCode(hash);
+        }
+
+        @Override
+        public String toString() {
+            return String.format("Fingerprint[count=%d, sum=%d, hash=%016x]", count, sum, hash);
+        }
+    }
+
+    /**
+     * Outcome of {@link #verify}.
+     */
+    public static final class Result {
+        private final long firstDescent;
+        private final Fingerprint fingerprint;
+        private final boolean permutation;
+
+        Result(long firstDescent, Fingerprint fingerprint, boolean permutation) {
+            this.firstDescent = firstDescent;
+            this.fingerprint = fingerprint;
+            this.permutation = permutation;
+        }
+
+        /**
+         * Whether the output is sorted and a permutation of the input.
+         *
+         * @return true if the sort result is valid
+         */
+        public boolean isValid() {
+            return isSorted() && permutation;
+        }
+
+        public boolean isSorted() {
+            return firstDescent < 0;
+        }
+
+        public boolean isPermutation() {
+            return permutation;
+        }
+
+        /**
+         * Gets the first index i with arr[i - 1] &gt; arr[i].
+         *
+         * @return the index, or -1 if the array is sorted
+         */
+        public long getFirstDescent() {
+            return firstDescent;
+        }
+
+        public Fingerprint getFingerprint() {
+            return fingerprint;
+        }
+
+        @Override
+        public String toString() {
+            if (isValid()) {
+                return "sorted, permutation of input";
+            }
+            return (isSorted() ? "sorted" : "NOT sorted (first descent at index " + firstDescent + ")")
+                    + ", " + (permutation ? "permutation of input" : "NOT a permutation of input");
+        }
+    }
+
+    /**
+     * Fingerprints an array, typically the input before sorting.
+     *
+     * @param arr the array
+     * @return its fingerprint
+     * @throws IllegalArgumentException if array is null
+     */
+    public static Fingerprint fingerprint(int[] arr) {
+        if (arr == null) {
+            throw new IllegalArgumentException("Array cannot be null");
+        }
+        return run(arr, false).fingerprint;
+    }
+
+    /**
+     * Checks order and fingerprint of a sorted array in one pass.
+     *
+     * @param sorted the sort output
+     * @param input fingerprint of the input taken before sorting
+     * @return the verification result
+     * @throws IllegalArgumentException if an argument is null
+     */
+    public static Result verify(int[] sorted, Fingerprint input) {
+        if (sorted == null || input == null) {
+            throw new IllegalArgumentException("Array and fingerprint cannot be null");
+        }
+        ChunkResult result = run(sorted, true);
+        return new Result(result.firstDescent, result.fingerprint, result.fingerprint.equals(input));
+    }
+
+    private static ChunkResult run(int[] arr, boolean checkOrder) {
+        if (arr.length <= CHUNK) {
+            return scan(arr, 0, arr.length, checkOrder);
+        }
+        return ForkJoinPool.commonPool().invoke(new ChunkTask(arr, 0, arr.length, checkOrder));
+    }
+
+    private static final class ChunkResult {
+        final long firstDescent;
+        final Fingerprint fingerprint;
+
+        ChunkResult(long firstDescent, Fingerprint fingerprint) {
+            this.firstDescent = firstDescent;
+            this.fingerprint = fingerprint;
+        }
+    }
+
+    private static final class ChunkTask extends RecursiveTask<ChunkResult> {
+        private static final long serialVersionUID = 1L;
+
+        private final int[] arr;
+        private final int lo;
+        private final int hi;
+        private final boolean checkOrder;
+
+        ChunkTask(int[] arr, int lo, int hi, boolean checkOrder) {
+            this.arr = arr;
+            this.lo = lo;
+            this.hi = hi;
+            this.checkOrder = checkOrder;
+        }
+
+        @Override
+        protected ChunkResult compute() {
+            if (hi - lo <= CHUNK) {
+                return scan(arr, lo, hi, checkOrder);
+            }
+            int mid = (lo + hi) >>> 1;
+            ChunkTask left = new ChunkTask(arr, lo, mid, checkOrder);
+            left.fork();
+            ChunkResult right = new ChunkTask(arr, mid, hi, checkOrder).compute();
+            ChunkResult leftResult = left.join();
+            long firstDescent = leftResult.firstDescent >= 0 ? leftResult.firstDescent : right.firstDescent;
+            return new ChunkResult(firstDescent, leftResult.fingerprint.combine(right.fingerprint));
+        }
+    }
+
+    /**
+     * Scans arr[lo, hi) once for its fingerprint and, if requested, the
+     * descents, including the one between arr[lo - 1] and arr[lo].
+     */
+    private static ChunkResult scan(int[] arr, int lo, int hi, boolean checkOrder) {
+        long sum = 0;
+        long hash = 0;
+        int descents = 0;
+        int previous = lo > 0 ? arr[lo - 1] : Integer.MIN_VALUE;
+        for (int i = lo; i < hi; i++) {
+            int value = arr[i];
+            sum += value;
+            hash += mix(value);
+            descents += previous > value ? 1 : 0;
+            previous = value;
+        }
+        Fingerprint fingerprint = new Fingerprint(hi - lo, sum, hash);
+        if (!checkOrder || descents == 0) {
+            return new ChunkResult(-1, fingerprint);
+        }
+        // Rare path: locate the first descent
+        for (int i = Math.max(1, lo); ; i++) {
+            if (arr[i - 1] > arr[i]) {
+                return new ChunkResult(i, fingerprint);
+            }
+        }
+    }
+
+    /**
+     * SplitMix64 finalizer: spreads every input bit over the whole word.
+     */
+    private static long mix(int value) {
+        long z = value + 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,122 @@
+package metrics;
+
+import java.util.Arrays;
+
+/**
+ * Summary statistics over repeated trials of one measurement.
+ * 
+ * Alongside mean and standard deviation, the median and the median absolute
+ * deviation (MAD) are kept, since they are robust against the occasional
+ * GC pause or scheduling hiccup in timing samples.
+ * 
+ * @author Student A
+ */
+public final class TrialStatistics {
+    
+    private final int count;
+    private final double mean;
+    private final double median;
+    private final double stdDev;
+    private final double mad;
+    private final double min;
+    private final double max;
+    
+    /**
+     * Creates statistics from precomputed values.
+     * 
+     * @param count number of samples
+     * @param mean arithmetic mean
+     * @param median median
+     * @param stdDev sample standard deviation
+     * @param mad median absolute deviation
+     * @param min smallest sample
+     * @param max largest sample
+     */
+    public TrialStatistics(int count, double mean, double median, double stdDev,
+                           double mad, double min, double max) {
+        this.count = count;
+        this.mean = mean;
+        this.median = median;
+        this.stdDev = stdDev;
+        this.mad = mad;
+        this.min = min;
+        this.max = max;
+    }
+    
+    /**
+     * Computes statistics for a set of samples.
+     * 
+     * @param samples the samples
+     * @return the statistics
+     * @throws IllegalArgumentException if there are no samples
+     */
+    public static TrialStatistics of(long[] samples) {
+        if (samples == null || samples.length == 0) {
+            throw new IllegalArgumentException("At least one sample is required");
+        }
+        double[] sorted = new double[samples.length];
+        double sum = 0;
+        for (int i = 0; i < samples.length; i++) {
+            sorted[i] = samples[i];
+            sum += samples[i];
+        }
+        Arrays.sort(sorted);
+        
+        double mean = sum / samples.length;
+        double squares = 0;
+        for (double sample : sorted) {
+            squares += (sample - mean) * (sample - mean);
+        }
+        double stdDev = samples.length > 1 ? Math.sqrt(squares / (samples.length - 1)) : 0;
+        
+        double median = median(sorted);
+        double[] deviations = new double[sorted.length];
+        for (int i = 0; i < sorted.length; i++) {
+            deviations[i] = Math.abs(sorted[i] - median);
+        }
+        Arrays.sort(deviations);
+        
+        return new TrialStatistics(samples.length, mean, median, stdDev, median(deviations),
+                sorted[0], sorted[sorted.length - 1]);
+    }
+    
+    private static double median(double[] sorted) {
+        int mid = sorted.length / 2;
+        return sorted.length % 2 == 1 ? sorted[mid] : (sorted[mid - 1] + sorted[mid]) / 2.0;
+    }
+    
+    // Getters
+    
+    public int getCount() {
+        return count;
+    }
+    
+    public double getMean() {
+        return mean;
+    }
+    
+    public double getMedian() {
+        return median;
+    }
+    
+    public double getStdDev() {
+        return stdDev;
+    }
+    
+    public double getMad() {
+        return mad;
+    }
+    
+    public double getMin() {
+        return min;
+    }
+    
+    public double getMax() {
+        return max;
+    }
+    
+    @Override
+    public String toString() {
+        return String.format("median=%.0f, mean=%.0f, sd=%.0f, mad=%.0f (n=%d)", median, mean, stdDev, mad, count);
+    }
+}
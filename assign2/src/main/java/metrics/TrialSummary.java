@@ -0,0 +1,100 @@
+package metrics;
+
+import java.util.List;
+
+/**
+ * Aggregated result of running one benchmark case several times.
+ * 
+ * The counters of a deterministic kernel are identical in every trial, so
+ * only the timing is summarized statistically.
+ * 
+ * @author Student A
+ */
+public final class TrialSummary {
+    
+    private final int arraySize;
+    private final String dataType;
+    private final long comparisons;
+    private final long swaps;
+    private final long arrayAccesses;
+    private final TrialStatistics time;
+    
+    /**
+     * Creates a summary from its parts.
+     * 
+     * @param arraySize the size of the sorted array
+     * @param dataType the input/strategy label
+     * @param comparisons comparisons per trial
+     * @param swaps swaps per trial
+     * @param arrayAccesses array accesses per trial
+     * @param time timing statistics in nanoseconds
+     */
+    public TrialSummary(int arraySize, String dataType, long comparisons, long swaps,
+                        long arrayAccesses, TrialStatistics time) {
+        this.arraySize = arraySize;
+        this.dataType = dataType;
+        this.comparisons = comparisons;
+        this.swaps = swaps;
+        this.arrayAccesses = arrayAccesses;
+        this.time = time;
+    }
+    
+    /**
+     * Summarizes the trials of one case.
+     * 
+     * @param trials results of the individual trials
+     * @return the summary
+     * @throws IllegalArgumentException if there are no trials or they describe different cases
+     */
+    public static TrialSummary of(List<BenchmarkResult> trials) {
+        if (trials == null || trials.isEmpty()) {
+            throw new IllegalArgumentException("At least one trial is required");
+        }
+        BenchmarkResult first = trials.get(0);
+        long[] times = new long[trials.size()];
+        for (int i = 0; i < trials.size(); i++) {
+            BenchmarkResult trial = trials.get(i);
+            if (trial.getArraySize() != first.getArraySize() || !trial.getDataType().equals(first.getDataType())) {
+                throw new IllegalArgumentException("Trials must all belong to the same case");
+            }
+            times[i] = trial.getTimeNanos();
+        }
+        return new TrialSummary(first.getArraySize(), first.getDataType(), first.getComparisons(),
+                first.getSwaps(), first.getArrayAccesses(), TrialStatistics.of(times));
+    }
+    
+    /**
+     * Gets the key identifying this case across runs.
+     * 
+     * @return "size:dataType"
+     */
+    public String key() {
+        return arraySize + ":" + dataType;
+    }
+    
+    // Getters
+    
+    public int getArraySize() {
+        return arraySize;
+    }
+    
+    public String getDataType() {
+        return dataType;
+    }
+    
+    public long getComparisons() {
+        return comparisons;
+    }
+    
+    public long getSwaps() {
+        return swaps;
+    }
+    
+    public long getArrayAccesses() {
+        return arrayAccesses;
+    }
+    
+    public TrialStatistics getTime() {
+        return time;
+    }
+}
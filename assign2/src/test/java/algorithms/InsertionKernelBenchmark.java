@@ -0,0 +1,75 @@
+package algorithms;
+
+import cli.DataGenerator;
+import cli.Distribution;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH comparison of the insertion kernels over the five data shapes used by
+ * the benchmark runner. Each invocation copies the input into a
+ * preallocated buffer and sorts it. The copy is part of every kernel's
+ * score, so it cancels out in comparisons; a per-invocation setup would
+ * add timestamp overhead comparable to sorting 16 elements. Not a unit
+ * test; run {@link #main} from the test classpath (see README) or from an
+ * IDE.
+ *
+ * @author Student A
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class InsertionKernelBenchmark {
+
+    @Param({"STANDARD", "BINARY", "SENTINEL", "PAIR"})
+    private InsertionSort.Kernel kernel;
+
+    @Param({"random", "sorted", "reverse", "nearlysorted", "duplicates"})
+    private String dataType;
+
+    @Param({"16", "64", "1000"})
+    private int size;
+
+    private InsertionSort sorter;
+    private int[] input;
+    private int[] work;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        sorter = new InsertionSort(kernel, TuningProfile.defaults());
+        input = DataGenerator.generate(Distribution.fromLabel(dataType), size);
+        work = new int[size];
+    }
+
+    @Benchmark
+    public int[] sort() {
+        System.arraycopy(input, 0, work, 0, size);
+        sorter.sort(work);
+        return work;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(InsertionKernelBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
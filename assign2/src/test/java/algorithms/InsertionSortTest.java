@@ -1,7 +1,9 @@
 package algorithms;
 
 import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
 import static org.junit.jupiter.api.Assertions.*;
+import java.nio.file.Path;
 import java.util.Arrays;
 import java.util.Random;
 import algorithms.InsertionSort;
@@ -18,6 +20,12 @@ import algorithms.InsertionSort;
  */
 public class InsertionSortTest {
     
+    @BeforeAll
+    static void pinTuningProfile() {
+        // Counters must not depend on a tuning profile found on the host
+        TuningProfile.setCurrent(TuningProfile.defaults());
+    }
+    
     private InsertionSort sorter;
     private InsertionSort optimizedSorter;
     
@@ -281,6 +289,27 @@ public class InsertionSortTest {
         assertTrue(InsertionSort.isSorted(sorted), "Copy should be sorted");
     }
     
+    @Test
+    @DisplayName("sortCopy should do the same work as sorting in place, even above the leaf size")
+    void testSortCopyMatchesSortCounters() {
+        for (InsertionSort s : new InsertionSort[]{sorter, optimizedSorter}) {
+            int[] arr = generateRandomArray(1000);
+            int[] copy = arr.clone();
+            
+            s.sort(copy);
+            long comparisons = s.getTracker().getComparisons();
+            long swaps = s.getTracker().getSwaps();
+            long accesses = s.getTracker().getArrayAccesses();
+            int[] sorted = s.sortCopy(arr);
+            
+            assertArrayEquals(copy, sorted);
+            assertEquals(comparisons, s.getTracker().getComparisons());
+            assertEquals(swaps, s.getTracker().getSwaps());
+            assertEquals(accesses, s.getTracker().getArrayAccesses());
+            assertEquals(1, s.getTracker().getMemoryAllocations());
+        }
+    }
+    
     @Test
     @DisplayName("sortCopy should throw on null")
     void testSortCopyNull() {
@@ -289,6 +318,82 @@ public class InsertionSortTest {
         });
     }
     
+    // ========== Fused Copy-and-Sort Tests ==========
+    
+    @Test
+    @DisplayName("sortInto should match Arrays.sort for small and hybrid sizes")
+    void testSortInto() {
+        for (int size : new int[]{0, 1, 2, 31, 32, 33, 100, 1000, 4097}) {
+            for (InsertionSort s : new InsertionSort[]{sorter, optimizedSorter}) {
+                int[] src = generateRandomArray(size);
+                int[] original = src.clone();
+                int[] dst = new int[size];
+                
+                s.sortInto(src, dst);
+                
+                int[] expected = original.clone();
+                Arrays.sort(expected);
+                assertArrayEquals(expected, dst, "Size " + size);
+                assertArrayEquals(original, src, "Source should be unchanged");
+            }
+        }
+    }
+    
+    @Test
+    @DisplayName("sortInto should sort a sub-range into a reused buffer at an offset")
+    void testSortIntoRange() {
+        int[] src = generateRandomArray(500);
+        int[] dst = new int[600];
+        Arrays.fill(dst, -1);
+        
+        optimizedSorter.sortInto(src, 100, 400, dst, 50);
+        
+        int[] expected = Arrays.copyOfRange(src, 100, 400);
+        Arrays.sort(expected);
+        assertArrayEquals(expected, Arrays.copyOfRange(dst, 50, 350));
+        assertEquals(-1, dst[49], "Elements before the offset should be untouched");
+        assertEquals(-1, dst[350], "Elements after the range should be untouched");
+    }
+    
+    @Test
+    @DisplayName("sortInto should reuse its scratch buffer across calls")
+    void testSortIntoReusesScratch() {
+        int[] dst = new int[4096];
+        
+        optimizedSorter.sortInto(generateRandomArray(4096), dst);
+        assertEquals(1, optimizedSorter.getTracker().getMemoryAllocations());
+        
+        optimizedSorter.sortInto(generateRandomArray(4096), dst);
+        assertTrue(InsertionSort.isSorted(dst));
+        assertEquals(0, optimizedSorter.getTracker().getMemoryAllocations());
+        
+        optimizedSorter.sortInto(generateRandomArray(1000), dst);
+        assertEquals(0, optimizedSorter.getTracker().getMemoryAllocations(), "Smaller inputs fit the buffer");
+    }
+    
+    @Test
+    @DisplayName("sortInto should reject invalid ranges")
+    void testSortIntoInvalid() {
+        int[] src = new int[10];
+        assertThrows(IllegalArgumentException.class, () -> sorter.sortInto(src, null));
+        assertThrows(IllegalArgumentException.class, () -> sorter.sortInto(src, new int[9]));
+        assertThrows(IllegalArgumentException.class, () -> sorter.sortInto(src, 5, 11, new int[10], 0));
+        assertThrows(IllegalArgumentException.class, () -> sorter.sortInto(src, 0, 6, src, 4));
+    }
+    
+    @Test
+    @DisplayName("Fused insertion should do the same work as sorting a copy")
+    void testSortIntoMatchesSortCounters() {
+        int[] src = generateRandomArray(30);
+        int[] copy = src.clone();
+        
+        sorter.sort(copy);
+        long sortComparisons = sorter.getTracker().getComparisons();
+        sorter.sortInto(src, new int[src.length]);
+        
+        assertEquals(sortComparisons, sorter.getTracker().getComparisons());
+    }
+    
     // ========== Optimization Comparison Tests ==========
     
     @Test
@@ -352,6 +457,258 @@ public class InsertionSortTest {
         // This is implicit in the algorithm but verified by correctness
         assertTrue(InsertionSort.isSorted(arr));
     }
+
+    // ========== Kernel Tests ==========
+
+    @Test
+    @DisplayName("Sentinel and pair kernels should sort every shape and length")
+    void testUnguardedKernels() {
+        for (InsertionSort.Kernel kernel : InsertionSort.Kernel.values()) {
+            InsertionSort kernelSorter = new InsertionSort(kernel, TuningProfile.defaults());
+            for (int size = 0; size <= 9; size++) {
+                int[][] inputs = {generateRandomArray(size), new int[size], new int[size]};
+                for (int i = 0; i < size; i++) {
+                    inputs[1][i] = size - i;
+                    inputs[2][i] = i % 3;
+                }
+                for (int[] input : inputs) {
+                    int[] arr = input.clone();
+                    int[] expected = input.clone();
+                    Arrays.sort(expected);
+                    kernelSorter.sort(arr);
+                    assertArrayEquals(expected, arr, kernel + " on " + Arrays.toString(input));
+                }
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Sentinel kernel should shift exactly once per inversion")
+    void testSentinelCountersExact() {
+        InsertionSort sentinel = new InsertionSort(InsertionSort.Kernel.SENTINEL);
+        int[] arr = {5, 2, 8, 2, 9, 1, 5, 1};
+        long inversions = metrics.PresortednessMetrics.countInversions(arr);
+
+        sentinel.sort(arr);
+
+        assertTrue(InsertionSort.isSorted(arr));
+        assertEquals(inversions, sentinel.getTracker().getSwaps());
+
+        // Sorted input: n-1 comparisons to find the minimum, one per insertion after that
+        int[] sorted = {1, 2, 3, 4, 5, 6};
+        sentinel.sort(sorted);
+        assertEquals(5 + 4, sentinel.getTracker().getComparisons());
+        assertEquals(0, sentinel.getTracker().getSwaps());
+    }
+
+    @Test
+    @DisplayName("Pair kernel should move elements less often than single insertion")
+    void testPairInsertionMovesFewer() {
+        InsertionSort sentinel = new InsertionSort(InsertionSort.Kernel.SENTINEL);
+        InsertionSort pair = new InsertionSort(InsertionSort.Kernel.PAIR);
+        int[] reversed = new int[101];
+        for (int i = 0; i < reversed.length; i++) {
+            reversed[i] = reversed.length - i;
+        }
+        int[] a = reversed.clone();
+        int[] b = reversed.clone();
+
+        sentinel.sort(a);
+        pair.sort(b);
+
+        assertArrayEquals(a, b);
+        assertTrue(pair.getTracker().getSwaps() < sentinel.getTracker().getSwaps());
+        assertEquals(InsertionSort.Kernel.PAIR, pair.getKernel());
+        assertEquals(InsertionSort.Kernel.BINARY, optimizedSorter.getKernel());
+    }
+
+    @Test
+    @DisplayName("sortBatch should sort every array and accumulate their metrics")
+    void testSortBatch() {
+        int[][] arrays = {{3, 1, 2}, {}, {5}, {9, 8, 7, 6}};
+        long expectedSwaps = 0;
+        for (int[] arr : arrays) {
+            sorter.sort(arr.clone());
+            expectedSwaps += sorter.getTracker().getSwaps();
+        }
+
+        sorter.sortBatch(arrays);
+
+        assertArrayEquals(new int[][] {{1, 2, 3}, {}, {5}, {6, 7, 8, 9}}, arrays);
+        assertEquals(expectedSwaps, sorter.getTracker().getSwaps());
+        assertThrows(IllegalArgumentException.class, () -> sorter.sortBatch(new int[][] {null}));
+    }
+
+    // ========== Cancellation Tests ==========
+
+    @Test
+    @DisplayName("Chunked sort should match the plain sort for every kernel")
+    void testCancellableSortCompletes() {
+        int[] data = new Random(11).ints(3001, -500, 500).toArray();
+        for (InsertionSort.Kernel kernel : InsertionSort.Kernel.values()) {
+            InsertionSort plain = new InsertionSort(kernel);
+            int[] expected = data.clone();
+            plain.sort(expected);
+
+            InsertionSort chunked = new InsertionSort(kernel);
+            int[] actual = data.clone();
+            double[] last = {-1.0};
+            boolean done = chunked.sort(actual, new CancellationToken(), (fraction, eta) -> {
+                assertTrue(fraction >= 0.0 && fraction <= 1.0 && eta >= 0, kernel + ": " + fraction);
+                last[0] = fraction;
+            }, 100);
+
+            assertTrue(done);
+            assertArrayEquals(expected, actual, kernel.name());
+            assertEquals(plain.getTracker().getComparisons(), chunked.getTracker().getComparisons(), kernel.name());
+            assertEquals(1.0, last[0]);
+        }
+    }
+
+    @Test
+    @DisplayName("Cancelled sort should stop with a sorted prefix and a permutation of the input")
+    void testCancellableSortStops() {
+        int[] data = generateRandomArray(5000);
+        int[] arr = data.clone();
+        CancellationToken token = new CancellationToken();
+        int[] reports = {0};
+
+        boolean done = sorter.sort(arr, token, (fraction, eta) -> {
+            if (++reports[0] == 3) {
+                token.cancel();
+            }
+        }, 256);
+
+        assertFalse(done);
+        assertTrue(token.isCancelled());
+        assertTrue(InsertionSort.isSorted(Arrays.copyOf(arr, 3 * 256 + 1)));
+        assertFalse(InsertionSort.isSorted(arr));
+        int[] sortedInput = data.clone();
+        Arrays.sort(sortedInput);
+        Arrays.sort(arr);
+        assertArrayEquals(sortedInput, arr);
+
+        assertFalse(sorter.sort(data.clone(), CancellationToken.withDeadline(System.nanoTime()), null));
+        assertThrows(IllegalArgumentException.class, () -> sorter.sort(arr, null, null));
+        assertThrows(IllegalArgumentException.class, () -> sorter.sort(arr, token, null, 0));
+    }
+
+    // ========== Comparator Tests ==========
+
+    @Test
+    @DisplayName("Built-in orders should sort descending and unsigned without the comparator")
+    void testBuiltInOrders() {
+        int[] input = {3, -1, Integer.MIN_VALUE, 0, Integer.MAX_VALUE, -1, 7};
+        for (InsertionSort s : new InsertionSort[] {sorter, optimizedSorter}) {
+            int[] descending = input.clone();
+            s.sort(descending, IntComparator.reverseOrder());
+            assertArrayEquals(new int[] {Integer.MAX_VALUE, 7, 3, 0, -1, -1, Integer.MIN_VALUE}, descending);
+
+            int[] unsigned = input.clone();
+            s.sort(unsigned, IntComparator.unsignedOrder());
+            assertArrayEquals(new int[] {0, 3, 7, Integer.MAX_VALUE, Integer.MIN_VALUE, -1, -1}, unsigned);
+
+            int[] natural = input.clone();
+            s.sort(natural, IntComparator.reverseOrder().reversed());
+            assertTrue(InsertionSort.isSorted(natural));
+        }
+    }
+
+    @Test
+    @DisplayName("Custom comparators should sort stably with both kernels")
+    void testCustomComparator() {
+        // Order by last decimal digit only; ties must keep input order
+        IntComparator byLastDigit = (a, b) -> Integer.compare(a % 10, b % 10);
+        int[] input = new int[40];
+        for (int i = 0; i < input.length; i++) {
+            input[i] = (i * 37) % 100;
+        }
+        int[] expected = Arrays.stream(input).boxed()
+                .sorted((a, b) -> Integer.compare(a % 10, b % 10))
+                .mapToInt(Integer::intValue).toArray();
+
+        for (InsertionSort s : new InsertionSort[] {sorter, optimizedSorter}) {
+            int[] arr = input.clone();
+            s.sort(arr, byLastDigit);
+            assertArrayEquals(expected, arr);
+        }
+
+        int[] arr = input.clone();
+        sorter.sort(arr, byLastDigit.reversed());
+        for (int i = 1; i < arr.length; i++) {
+            assertTrue(arr[i - 1] % 10 >= arr[i] % 10);
+        }
+        assertThrows(IllegalArgumentException.class, () -> sorter.sort(new int[1], null));
+    }
+
+    // ========== Key Extraction Tests ==========
+
+    @Test
+    @DisplayName("Key sorts should be stable for short and long inputs")
+    void testSortByIntKeyStable() {
+        for (int size : new int[] {0, 1, 10, 1000}) {
+            int[][] records = new int[size][];
+            for (int i = 0; i < size; i++) {
+                records[i] = new int[] {(i * 7919) % 13, i}; // {key, original index}
+            }
+            int[][] expected = records.clone();
+            Arrays.sort(expected, (a, b) -> Integer.compare(a[0], b[0]));
+
+            for (InsertionSort s : new InsertionSort[] {sorter, optimizedSorter}) {
+                int[][] arr = records.clone();
+                s.sortByIntKey(arr, r -> r[0]);
+                assertArrayEquals(expected, arr, "size=" + size);
+            }
+        }
+        assertThrows(IllegalArgumentException.class, () -> sorter.sortByIntKey(new String[1], null));
+    }
+
+    @Test
+    @DisplayName("Long and double key sorts should follow Long and Double ordering")
+    void testSortByLongAndDoubleKey() {
+        Long[] longs = {5L, Long.MIN_VALUE, -3L, Long.MAX_VALUE, 0L};
+        optimizedSorter.sortByLongKey(longs, Long::longValue);
+        assertArrayEquals(new Long[] {Long.MIN_VALUE, -3L, 0L, 5L, Long.MAX_VALUE}, longs);
+
+        Double[] doubles = {1.5, Double.NaN, -0.0, 0.0, Double.NEGATIVE_INFINITY, -2.5, Double.MAX_VALUE};
+        Double[] expected = doubles.clone();
+        Arrays.sort(expected);
+        sorter.sortByDoubleKey(doubles, Double::doubleValue);
+        assertArrayEquals(expected, doubles);
+    }
+
+    // ========== Tuning Profile Tests ==========
+    
+    @Test
+    @DisplayName("Arrays below the binary-search threshold should use the standard loop")
+    void testBinarySearchThreshold() {
+        int[] arr = generateRandomArray(50);
+        int[] copy = arr.clone();
+        
+        InsertionSort tuned = new InsertionSort(true, new TuningProfile(64));
+        tuned.sort(arr);
+        sorter.sort(copy);
+        
+        assertArrayEquals(copy, arr);
+        assertEquals(sorter.getTracker().getComparisons(), tuned.getTracker().getComparisons(),
+                    "Below the threshold the optimized sorter should behave like the standard one");
+    }
+    
+    @Test
+    @DisplayName("Tuning profile should round-trip through a file")
+    void testTuningProfileRoundTrip(@TempDir Path dir) throws Exception {
+        Path file = dir.resolve("tuning.properties");
+        new TuningProfile(48).save(file, "test");
+        new TuningProfile(Integer.MAX_VALUE, 8).save(file, "overwrite");
+        
+        TuningProfile loaded = TuningProfile.load(file);
+        assertEquals(Integer.MAX_VALUE, loaded.getBinarySearchThreshold());
+        assertEquals("binarySearchThreshold=never;leafSize=8", loaded.describe());
+        try (java.util.stream.Stream<Path> files = java.nio.file.Files.list(dir)) {
+            assertEquals(1, files.count(), "No temporary files should be left behind");
+        }
+        assertThrows(IllegalArgumentException.class, () -> new TuningProfile(-1));
+    }
     
     // ========== Helper Methods ==========
     
@@ -0,0 +1,77 @@
+package algorithms;
+
+import cli.DataGenerator;
+import cli.Distribution;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the streaming k-sorted reorderer.
+ *
+ * @author Student A
+ */
+public class KSortedReordererTest {
+
+    @Test
+    @DisplayName("k-sorted input should come out fully sorted with at most k values buffered")
+    void testKSortedInput() {
+        int[] input = DataGenerator.generate(Distribution.K_SORTED, 10000);
+        int[] expected = input.clone();
+        Arrays.sort(expected);
+
+        int[] output = new int[input.length];
+        int[] count = {0};
+        KSortedReorderer reorderer = new KSortedReorderer(DataGenerator.DEFAULT_K, v -> output[count[0]++] = v);
+        for (int value : input) {
+            reorderer.accept(value);
+            assertTrue(reorderer.getBuffered() <= DataGenerator.DEFAULT_K);
+        }
+        assertEquals(input.length - DataGenerator.DEFAULT_K, reorderer.getEmitted());
+        reorderer.flush();
+
+        assertArrayEquals(expected, output);
+        assertEquals(0, reorderer.getLateCount());
+        assertEquals(input.length, reorderer.getReceived());
+        assertTrue(reorderer.getTracker().getComparisons() <= 5L * input.length);
+        assertTrue(reorderer.getElementsPerSecond() > 0);
+    }
+
+    @Test
+    @DisplayName("Random displacements up to k with duplicates should be reordered for every k")
+    void testBoundedDisplacement() {
+        Random random = new Random(5);
+        for (int k : new int[]{0, 1, 2, 3, 7, 8, 100}) {
+            int[] sorted = random.ints(2000, 0, 300).sorted().toArray();
+            int[] input = sorted.clone();
+            // Shuffle within disjoint windows of k + 1 elements
+            for (int start = 0; start < input.length; start += k + 1) {
+                int end = Math.min(input.length, start + k + 1);
+                for (int i = end - 1; i > start; i--) {
+                    int j = start + random.nextInt(i - start + 1);
+                    int tmp = input[i];
+                    input[i] = input[j];
+                    input[j] = tmp;
+                }
+            }
+            assertArrayEquals(sorted, KSortedReorderer.reorder(input, k), "k=" + k);
+        }
+    }
+
+    @Test
+    @DisplayName("Values that break the bound should be counted as late")
+    void testLateValues() {
+        KSortedReorderer reorderer = new KSortedReorderer(1, v -> { });
+        for (int value : new int[]{5, 6, 7, 1}) {
+            reorderer.accept(value);
+        }
+        assertEquals(1, reorderer.getLateCount());
+        assertTrue(reorderer.toString().contains("late: 1"));
+
+        assertThrows(IllegalArgumentException.class, () -> new KSortedReorderer(-1, v -> { }));
+        assertThrows(IllegalArgumentException.class, () -> new KSortedReorderer(4, null));
+    }
+}
@@ -0,0 +1,83 @@
+package algorithms;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the loser-tree k-way merge.
+ *
+ * @author Student A
+ */
+public class KWayMergeTest {
+
+    private static int[][] sortedShards(int k, int maxLength, int bound, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        int[][] shards = new int[k][];
+        for (int i = 0; i < k; i++) {
+            shards[i] = random.ints(random.nextInt(maxLength + 1), 0, bound).sorted().toArray();
+        }
+        return shards;
+    }
+
+    private static int[] concatSorted(int[][] shards) {
+        int[] all = Arrays.stream(shards).flatMapToInt(Arrays::stream).toArray();
+        Arrays.sort(all);
+        return all;
+    }
+
+    @Test
+    @DisplayName("Should merge any number of shards, including empty ones")
+    void testMergeArrays() {
+        KWayMerge merger = new KWayMerge();
+        for (int k = 0; k <= 9; k++) {
+            int[][] shards = sortedShards(k, 50, 100, k);
+            assertArrayEquals(concatSorted(shards), merger.merge(shards), "k=" + k);
+        }
+        assertArrayEquals(new int[] {1, 2, 3}, merger.merge(new int[0], new int[] {1, 2, 3}, new int[0]));
+        assertThrows(IllegalArgumentException.class, () -> merger.merge((int[]) null));
+    }
+
+    @Test
+    @DisplayName("Comparisons should stay within n * ceil(log2 k) plus tree setup")
+    void testComparisonBound() {
+        KWayMerge merger = new KWayMerge();
+        int[][] shards = sortedShards(16, 1000, Integer.MAX_VALUE, 7);
+        int n = Arrays.stream(shards).mapToInt(s -> s.length).sum();
+
+        merger.merge(shards);
+
+        assertTrue(merger.getTracker().getComparisons() <= (long) n * 4 + 16,
+                "comparisons=" + merger.getTracker().getComparisons());
+        assertEquals(2L * n, merger.getTracker().getArrayAccesses());
+    }
+
+    @Test
+    @DisplayName("Should merge consecutive runs of one array")
+    void testMergeRanges() {
+        int[] src = {10, 30, 31, 50, 11, 32, 51, 12, 33};
+        int[] bounds = {0, 4, 7, 9};
+        KWayMerge merger = new KWayMerge();
+
+        assertArrayEquals(new int[] {10, 11, 12, 30, 31, 32, 33, 50, 51}, merger.mergeRanges(src, bounds));
+        assertArrayEquals(new int[] {11, 12, 32, 33, 51}, merger.mergeRanges(src, new int[] {4, 7, 9}));
+        assertThrows(IllegalArgumentException.class, () -> merger.mergeRanges(src, new int[] {0, 5, 4}));
+    }
+
+    @Test
+    @DisplayName("Parallel merge should match the sequential merge")
+    void testParallelMerge() {
+        int[][] shards = sortedShards(8, 100_000, 1000, 3);
+        int[] expected = new KWayMerge().merge(shards);
+
+        KWayMerge parallel = new KWayMerge(4);
+        int[] dst = new int[expected.length + 5];
+        parallel.merge(shards, dst, 5);
+
+        assertArrayEquals(expected, Arrays.copyOfRange(dst, 5, dst.length));
+        assertTrue(parallel.getTracker().getComparisons() > 0);
+    }
+}
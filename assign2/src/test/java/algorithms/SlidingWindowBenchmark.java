@@ -0,0 +1,90 @@
+package algorithms;
+
+import cli.DataGenerator;
+import cli.Distribution;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH comparison of a rolling median over a stream: the incremental
+ * {@link SlidingWindowSorter} against copying and re-sorting every window
+ * with {@link InsertionSort}. Each invocation processes the whole stream,
+ * so the scores are per stream. Not a unit test; run {@link #main} from
+ * the test classpath (see README) or from an IDE.
+ *
+ * @author Student A
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SlidingWindowBenchmark {
+
+    private static final int STREAM_LENGTH = 4096;
+
+    @Param({"16", "128", "1024"})
+    private int window;
+
+    @Param({"random", "nearlysorted"})
+    private String dataType;
+
+    private int[] stream;
+    private int[] work;
+    private InsertionSort sorter;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        stream = DataGenerator.generate(Distribution.fromLabel(dataType), STREAM_LENGTH);
+        work = new int[window];
+        sorter = new InsertionSort(true);
+    }
+
+    @Benchmark
+    public long incremental() {
+        SlidingWindowSorter sorted = new SlidingWindowSorter(window);
+        long checksum = 0;
+        for (int value : stream) {
+            sorted.add(value);
+            checksum += sorted.quantile(0.5);
+        }
+        return checksum;
+    }
+
+    @Benchmark
+    public long resort() {
+        long checksum = 0;
+        for (int i = 0; i < stream.length; i++) {
+            int from = Math.max(0, i + 1 - window);
+            int length = i + 1 - from;
+            int[] copy = length == window ? work : new int[length];
+            System.arraycopy(stream, from, copy, 0, length);
+            sorter.sort(copy);
+            checksum += copy[(int) Math.ceil(0.5 * length) - 1];
+        }
+        return checksum;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(SlidingWindowBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,79 @@
+package algorithms;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the sliding-window sorted view.
+ *
+ * @author Student A
+ */
+public class SlidingWindowSorterTest {
+
+    @Test
+    @DisplayName("Window should match a re-sorted copy of the last W samples after every slide")
+    void testAgainstResorting() {
+        Random random = new Random(3);
+        int[] samples = random.ints(3000, -50, 50).toArray();
+        for (int capacity : new int[]{1, 2, 7, 64}) {
+            SlidingWindowSorter window = new SlidingWindowSorter(capacity);
+            for (int i = 0; i < samples.length; i++) {
+                window.add(samples[i]);
+
+                int[] expected = Arrays.copyOfRange(samples, Math.max(0, i + 1 - capacity), i + 1);
+                Arrays.sort(expected);
+                assertArrayEquals(expected, window.toArray(), "W=" + capacity + ", i=" + i);
+                assertEquals(expected[0], window.min());
+                assertEquals(expected[expected.length - 1], window.max());
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Median and quantiles should follow the nearest-rank definitions")
+    void testQueries() {
+        SlidingWindowSorter window = new SlidingWindowSorter(4);
+        for (int value : new int[]{100, 7, 3, 9, 1}) {
+            window.add(value);
+        }
+        // Window holds 7, 3, 9, 1
+        assertEquals(5.0, window.median());
+        assertEquals(1, window.quantile(0.0));
+        assertEquals(3, window.quantile(0.5));
+        assertEquals(7, window.quantile(0.75));
+        assertEquals(9, window.quantile(0.99));
+        assertEquals(9, window.quantile(1.0));
+        assertEquals(7, window.get(2));
+
+        window.add(8);
+        assertEquals(5.5, window.median()); // 3, 9, 1, 8
+        assertEquals(Integer.MAX_VALUE - 0.5, medianOf(Integer.MAX_VALUE, Integer.MAX_VALUE - 1));
+    }
+
+    @Test
+    @DisplayName("Invalid arguments and empty windows should be rejected")
+    void testInvalid() {
+        SlidingWindowSorter window = new SlidingWindowSorter(3);
+
+        assertThrows(NoSuchElementException.class, window::median);
+        assertThrows(NoSuchElementException.class, window::min);
+        assertThrows(NoSuchElementException.class, () -> window.quantile(0.5));
+        assertThrows(IndexOutOfBoundsException.class, () -> window.get(0));
+        window.add(1);
+        assertThrows(IllegalArgumentException.class, () -> window.quantile(1.5));
+        assertThrows(IllegalArgumentException.class, () -> window.quantile(Double.NaN));
+        assertThrows(IllegalArgumentException.class, () -> new SlidingWindowSorter(0));
+    }
+
+    private static double medianOf(int a, int b) {
+        SlidingWindowSorter window = new SlidingWindowSorter(2);
+        window.add(a);
+        window.add(b);
+        return window.median();
+    }
+}
@@ -0,0 +1,123 @@
+package algorithms;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the blocked sorted list.
+ *
+ * @author Student A
+ */
+public class SortedIntListTest {
+
+    @Test
+    @DisplayName("Random inserts and removes should match a re-sorted reference")
+    void testAgainstReference() {
+        Random random = new Random(42);
+        SortedIntList list = new SortedIntList(8);
+        int[] reference = new int[0];
+
+        for (int step = 0; step < 5000; step++) {
+            int value = random.nextInt(200) - 100;
+            if (random.nextInt(3) == 0) {
+                int index = indexOf(reference, value);
+                assertEquals(index >= 0, list.remove(value));
+                if (index >= 0) {
+                    int[] next = new int[reference.length - 1];
+                    System.arraycopy(reference, 0, next, 0, index);
+                    System.arraycopy(reference, index + 1, next, index, next.length - index);
+                    reference = next;
+                }
+            } else {
+                list.add(value);
+                reference = Arrays.copyOf(reference, reference.length + 1);
+                reference[reference.length - 1] = value;
+                Arrays.sort(reference);
+            }
+        }
+
+        assertArrayEquals(reference, list.toArray());
+        assertEquals(reference.length, list.size());
+        for (int i = 0; i < reference.length; i++) {
+            assertEquals(reference[i], list.get(i));
+        }
+        assertTrue(list.getBlockCount() >= reference.length / 8);
+    }
+
+    @Test
+    @DisplayName("Bulk load should keep order and reject unsorted input")
+    void testFromSorted() {
+        int[] sorted = new int[1000];
+        for (int i = 0; i < sorted.length; i++) {
+            sorted[i] = i / 3;
+        }
+        SortedIntList list = SortedIntList.fromSorted(sorted, 16);
+
+        assertArrayEquals(sorted, list.toArray());
+        assertEquals(0, list.min());
+        assertEquals(333, list.max());
+        assertEquals(30, list.rank(10));
+        assertTrue(list.contains(333));
+        assertFalse(list.contains(334));
+
+        list.add(-1);
+        list.add(1000);
+        assertEquals(-1, list.min());
+        assertEquals(1000, list.max());
+
+        assertThrows(IllegalArgumentException.class, () -> SortedIntList.fromSorted(new int[]{2, 1}));
+        assertThrows(IllegalArgumentException.class, () -> SortedIntList.fromSorted(null));
+    }
+
+    @Test
+    @DisplayName("Range iteration should return values in [from, to)")
+    void testRange() {
+        SortedIntList list = new SortedIntList(4);
+        for (int value : new int[]{9, 1, 5, 5, 3, 7, 2, 8, 5, 6}) {
+            list.add(value);
+        }
+
+        assertArrayEquals(new int[]{5, 5, 5, 6, 7}, drain(list.range(4, 8)));
+        assertArrayEquals(new int[]{1, 2, 3}, drain(list.range(Integer.MIN_VALUE, 5)));
+        assertArrayEquals(new int[0], drain(list.range(10, 20)));
+        assertArrayEquals(list.toArray(), drain(list.iterator()));
+    }
+
+    @Test
+    @DisplayName("Empty list should reject min, max and get")
+    void testEmpty() {
+        SortedIntList list = new SortedIntList();
+
+        assertTrue(list.isEmpty());
+        assertFalse(list.remove(1));
+        assertFalse(list.contains(1));
+        assertThrows(NoSuchElementException.class, list::min);
+        assertThrows(NoSuchElementException.class, list::max);
+        assertThrows(IndexOutOfBoundsException.class, () -> list.get(0));
+        assertThrows(IllegalArgumentException.class, () -> new SortedIntList(2));
+    }
+
+    private static int indexOf(int[] arr, int value) {
+        for (int i = 0; i < arr.length; i++) {
+            if (arr[i] == value) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static int[] drain(PrimitiveIterator.OfInt it) {
+        int[] out = new int[0];
+        while (it.hasNext()) {
+            out = Arrays.copyOf(out, out.length + 1);
+            out[out.length - 1] = it.nextInt();
+        }
+        return out;
+    }
+}
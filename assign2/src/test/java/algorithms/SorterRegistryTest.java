@@ -0,0 +1,50 @@
+package algorithms;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the sorter SPI and engine registry.
+ *
+ * @author Student A
+ */
+public class SorterRegistryTest {
+
+    @BeforeAll
+    static void pinTuningProfile() {
+        // Counters must not depend on a tuning profile found on the host
+        TuningProfile.setCurrent(TuningProfile.defaults());
+    }
+
+    @Test
+    @DisplayName("Every registered engine should sort identical inputs identically")
+    void testAllEnginesAgree() {
+        int[] input = new SplittableRandom(42).ints(2000, -500, 500).toArray();
+        int[] expected = input.clone();
+        Arrays.sort(expected);
+
+        for (String name : SorterRegistry.names()) {
+            Sorter sorter = SorterRegistry.create(name);
+            int[] arr = input.clone();
+            sorter.sort(arr);
+            assertArrayEquals(expected, arr, name);
+            assertEquals(name, sorter.name());
+            assertTrue(sorter.getTracker().getExecutionTimeNanos() >= 0);
+        }
+    }
+
+    @Test
+    @DisplayName("Registry should expose insertion modes and JDK baselines by name")
+    void testNames() {
+        assertTrue(SorterRegistry.names().containsAll(Arrays.asList(
+                "insertion-std", "insertion-opt", SorterRegistry.JDK_SORT, SorterRegistry.JDK_PARALLEL)));
+        assertEquals(InsertionSort.Kernel.BINARY, ((InsertionSort) SorterRegistry.create("insertion-opt")).getKernel());
+        assertNotSame(SorterRegistry.create("jdk-sort"), SorterRegistry.create("jdk-sort"));
+        assertThrows(IllegalArgumentException.class, () -> SorterRegistry.create("bogo-sort"));
+    }
+}
@@ -0,0 +1,102 @@
+package cli;
+
+import algorithms.InsertionSort;
+import algorithms.TuningProfile;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for parsing batch job files.
+ *
+ * @author Student A
+ */
+public class BatchJobTest {
+
+    @BeforeAll
+    static void pinTuningProfile() {
+        // Counters must not depend on a tuning profile found on the host
+        TuningProfile.setCurrent(TuningProfile.defaults());
+    }
+
+    @Test
+    @DisplayName("Should parse generated and file sort jobs")
+    void testSortJobs() {
+        BatchJob generated = BatchJob.parse("gen 1000 random sentinel 5", 1);
+        assertEquals(BatchJob.Kind.SORT, generated.getKind());
+        assertNull(generated.getFile());
+        assertEquals(1000, generated.getSize());
+        assertEquals(Distribution.RANDOM, generated.getDistribution());
+        assertEquals(InsertionSort.Kernel.SENTINEL, generated.getKernel());
+        assertEquals(5, generated.getRepetitions());
+        assertEquals("random_sentinel", generated.label());
+
+        BatchJob file = BatchJob.parse("  data/incident.bin  -  -  opt ", 2);
+        assertEquals(Paths.get("data/incident.bin"), file.getFile());
+        assertEquals(-1, file.getSize());
+        assertEquals(InsertionSort.Kernel.BINARY, file.getKernel());
+        assertEquals(1, file.getRepetitions());
+        assertEquals("file_binary", file.label());
+    }
+
+    @Test
+    @DisplayName("Should parse menu options by number and by name")
+    void testMenuJobs() {
+        assertEquals(BatchJob.Kind.SINGLE, BatchJob.parse("1 500 reverse y", 1).getKind());
+        assertEquals(InsertionSort.Kernel.BINARY, BatchJob.parse("single 500 reverse yes", 1).getKernel());
+        assertArrayEquals(new int[] {100, 1000}, BatchJob.parse("2 100,1000", 1).getSizes());
+        assertEquals(BatchJob.Kind.QUICK, BatchJob.parse("quick", 1).getKind());
+        assertEquals(BatchJob.Kind.COMPARE, BatchJob.parse("4 100 sorted", 1).getKind());
+        assertNull(BatchJob.parse("   # comment", 1));
+        assertNull(BatchJob.parse("", 1));
+    }
+
+    @Test
+    @DisplayName("Should reject invalid lines and name the line")
+    void testInvalidLines(@TempDir Path dir) throws IOException {
+        for (String bad : Arrays.asList("gen 100 unknown std", "gen 100 random fastest", "gen -5 random std",
+                "gen 100 random std 0", "3 extra", "gen - random std")) {
+            assertThrows(IllegalArgumentException.class, () -> BatchJob.parse(bad, 1), bad);
+        }
+
+        Path jobs = dir.resolve("jobs.txt");
+        Files.write(jobs, Arrays.asList("# nightly", "gen 10 random std", "", "gen 10 random nope"));
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () -> BatchJob.load(jobs));
+        assertTrue(e.getMessage().startsWith("Line 4"), e.getMessage());
+
+        Files.write(jobs, Arrays.asList("gen 10 random std", "3"));
+        List<BatchJob> loaded = BatchJob.load(jobs);
+        assertEquals(2, loaded.size());
+        assertEquals(2, loaded.get(1).getLineNumber());
+    }
+
+    @Test
+    @DisplayName("Menu jobs in a job file should write to the batch results file, not the default one")
+    void testMixedJobsShareOneWriter(@TempDir Path dir) throws IOException {
+        Path defaultResults = Paths.get(BenchmarkRunner.DEFAULT_RESULTS_FILE);
+        byte[] defaultBefore = Files.exists(defaultResults) ? Files.readAllBytes(defaultResults) : null;
+
+        Path jobs = dir.resolve("mixed.jobs");
+        Files.write(jobs, Arrays.asList("gen 50 random std 2", "1 40 random n", "4 30 sorted", "2 20"));
+        Path results = dir.resolve("results.csv");
+
+        assertEquals(0, BenchmarkRunner.runJobsFile(jobs, 0, results));
+
+        List<String> lines = Files.readAllLines(results);
+        // header + 2 repetitions + 1 single + 2 compared + 5 data types x 2 modes
+        assertEquals(1 + 2 + 1 + 2 + 10, lines.size());
+        assertTrue(lines.stream().anyMatch(l -> l.startsWith("40,random_std,")), "Menu option 1 row missing");
+        assertTrue(lines.stream().anyMatch(l -> l.startsWith("30,sorted_opt,")), "Menu option 4 row missing");
+        byte[] defaultAfter = Files.exists(defaultResults) ? Files.readAllBytes(defaultResults) : null;
+        assertArrayEquals(defaultBefore, defaultAfter, "The default results file must not be touched");
+    }
+}
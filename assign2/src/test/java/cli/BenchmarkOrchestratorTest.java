@@ -0,0 +1,80 @@
+package cli;
+
+import algorithms.TuningProfile;
+import metrics.BenchmarkResult;
+import metrics.ResultSink;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the worker JVM orchestrator.
+ *
+ * @author Student A
+ */
+public class BenchmarkOrchestratorTest {
+
+    @Test
+    @DisplayName("Workers should inherit the dataset cache directory and tuning profile")
+    void testForwardedProperties() {
+        String cacheBefore = System.getProperty(DatasetCache.CACHE_DIR_PROPERTY);
+        String profileBefore = System.getProperty(TuningProfile.PROFILE_PROPERTY);
+        try {
+            System.setProperty(DatasetCache.CACHE_DIR_PROPERTY, "/tmp/datasets");
+            System.clearProperty(TuningProfile.PROFILE_PROPERTY);
+            List<String> options = BenchmarkOrchestrator.forwardedJvmOptions();
+            assertTrue(options.contains("-D" + DatasetCache.CACHE_DIR_PROPERTY + "=/tmp/datasets"));
+            assertTrue(options.stream().noneMatch(o -> o.startsWith("-D" + TuningProfile.PROFILE_PROPERTY)));
+
+            System.setProperty(TuningProfile.PROFILE_PROPERTY, "host.properties");
+            assertTrue(BenchmarkOrchestrator.forwardedJvmOptions()
+                    .contains("-D" + TuningProfile.PROFILE_PROPERTY + "=host.properties"));
+        } finally {
+            restore(DatasetCache.CACHE_DIR_PROPERTY, cacheBefore);
+            restore(TuningProfile.PROFILE_PROPERTY, profileBefore);
+        }
+    }
+
+    @Test
+    @DisplayName("Failed workers should be counted, not silently dropped")
+    void testFailedWorkersCounted() throws IOException {
+        List<BenchmarkResult> written = new ArrayList<>();
+        ResultSink sink = new ResultSink() {
+            @Override
+            public synchronized void write(BenchmarkResult result) {
+                written.add(result);
+            }
+
+            @Override
+            public void close() {
+            }
+
+            @Override
+            public void discard() {
+            }
+        };
+
+        BenchmarkOrchestrator orchestrator = new BenchmarkOrchestrator(2, false);
+        List<BenchmarkResult> results = orchestrator.run(Arrays.asList(
+                new BenchmarkOrchestrator.BenchmarkCase(50, "random", true),
+                new BenchmarkOrchestrator.BenchmarkCase(50, "no-such-type", false)), sink);
+
+        assertEquals(1, results.size());
+        assertEquals(1, written.size());
+        assertEquals("random_opt", results.get(0).getDataType());
+        assertEquals(1, orchestrator.getFailedCount());
+    }
+
+    private static void restore(String key, String value) {
+        if (value == null) {
+            System.clearProperty(key);
+        } else {
+            System.setProperty(key, value);
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package cli;
+
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+/**
+ * Unit tests for the seeded input generators and the dataset cache.
+ * 
+ * @author Student A
+ */
+public class DataGeneratorTest {
+    
+    @TempDir
+    Path tempDir;
+    
+    @Test
+    @DisplayName("Same case seed should always produce the same data")
+    void testReproducible() {
+        for (Distribution distribution : Distribution.values()) {
+            int[] first = DataGenerator.generate(distribution, 200_000, 7L);
+            int[] second = DataGenerator.generate(distribution, 200_000, 7L);
+            assertArrayEquals(first, second, distribution + " should be reproducible");
+        }
+    }
+    
+    @Test
+    @DisplayName("Case seeds should differ between distributions and sizes")
+    void testCaseSeedsIndependent() {
+        long seed = DataGenerator.caseSeed(42L, Distribution.RANDOM, 1000);
+        assertNotEquals(seed, DataGenerator.caseSeed(42L, Distribution.RANDOM, 1001));
+        assertNotEquals(seed, DataGenerator.caseSeed(42L, Distribution.DUPLICATES, 1000));
+    }
+    
+    @Test
+    @DisplayName("Generated data should be a permutation for permutation-based distributions")
+    void testPermutations() {
+        int size = 150_000;
+        int[] expected = DataGenerator.generate(Distribution.SORTED, size, 1L);
+        for (Distribution distribution : new Distribution[]{
+                Distribution.REVERSE, Distribution.NEARLY_SORTED, Distribution.K_SORTED}) {
+            int[] arr = DataGenerator.generate(distribution, size, 3L);
+            Arrays.sort(arr);
+            assertArrayEquals(expected, arr, distribution + " should be a permutation of 0..n-1");
+        }
+    }
+    
+    @Test
+    @DisplayName("K-sorted data should respect the displacement bound")
+    void testKSortedDisplacement() {
+        int[] arr = DataGenerator.generate(Distribution.K_SORTED, 100_000, 11L);
+        for (int i = 0; i < arr.length; i++) {
+            assertTrue(Math.abs(arr[i] - i) <= DataGenerator.DEFAULT_K,
+                      "Element " + arr[i] + " displaced too far at index " + i);
+        }
+    }
+    
+    @Test
+    @DisplayName("Value ranges should match the distribution")
+    void testValueRanges() {
+        int[] fewUnique = DataGenerator.generate(Distribution.FEW_UNIQUE, 10_000, 5L);
+        assertTrue(Arrays.stream(fewUnique).allMatch(v -> v >= 0 && v < DataGenerator.FEW_UNIQUE_VALUES));
+        
+        int[] zipf = DataGenerator.generate(Distribution.ZIPF, 10_000, 5L);
+        long zeros = Arrays.stream(zipf).filter(v -> v == 0).count();
+        long ones = Arrays.stream(zipf).filter(v -> v == 1).count();
+        assertTrue(zeros > ones, "Rank 0 should be the most frequent Zipf value");
+        
+        int[] organPipe = DataGenerator.generate(Distribution.ORGAN_PIPE, 9, 0L);
+        assertArrayEquals(new int[]{0, 1, 2, 3, 4, 3, 2, 1, 0}, organPipe);
+    }
+    
+    @Test
+    @DisplayName("Cache should persist datasets and return fresh copies")
+    void testCacheRoundTrip() throws Exception {
+        DatasetCache cache = new DatasetCache(tempDir);
+        int size = DatasetCache.MIN_CACHED_SIZE * 2;
+        
+        int[] generated = cache.get(Distribution.RANDOM, size, 9L);
+        assertTrue(Files.exists(cache.fileFor(Distribution.RANDOM, size, 9L)));
+        
+        generated[0] = -1;
+        int[] cached = cache.get(Distribution.RANDOM, size, 9L);
+        assertArrayEquals(DataGenerator.generate(Distribution.RANDOM, size, 9L), cached);
+    }
+}
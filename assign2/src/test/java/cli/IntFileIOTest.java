@@ -0,0 +1,72 @@
+package cli;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the dataset file reader and writer.
+ *
+ * @author Student A
+ */
+public class IntFileIOTest {
+
+    private static final int[] VALUES = {0, -1, 42, Integer.MIN_VALUE, Integer.MAX_VALUE, 7, -1000000};
+
+    @Test
+    @DisplayName("Text and binary files should round-trip every int")
+    void testRoundTrip(@TempDir Path dir) throws IOException {
+        for (IntFileIO.Format format : IntFileIO.Format.values()) {
+            Path file = dir.resolve("data." + format.name().toLowerCase());
+            IntFileIO.write(file, format, VALUES);
+            assertArrayEquals(VALUES, IntFileIO.read(file, format), format.name());
+        }
+        assertEquals(IntFileIO.Format.BINARY, IntFileIO.Format.forFile(dir.resolve("x.bin")));
+        assertEquals(IntFileIO.Format.TEXT, IntFileIO.Format.forFile(dir.resolve("x.txt")));
+    }
+
+    @Test
+    @DisplayName("Binary files should be little-endian without a header")
+    void testBinaryLayout(@TempDir Path dir) throws IOException {
+        Path file = dir.resolve("data.bin");
+        IntFileIO.write(file, IntFileIO.Format.BINARY, new int[] {1, -2});
+
+        ByteBuffer bytes = ByteBuffer.wrap(Files.readAllBytes(file)).order(ByteOrder.LITTLE_ENDIAN);
+        assertEquals(8, bytes.remaining());
+        assertEquals(1, bytes.getInt());
+        assertEquals(-2, bytes.getInt());
+
+        Files.write(dir.resolve("odd.bin"), new byte[] {1, 2, 3});
+        assertThrows(IOException.class, () -> IntFileIO.read(dir.resolve("odd.bin"), IntFileIO.Format.BINARY));
+    }
+
+    @Test
+    @DisplayName("Text parser should accept mixed separators and numbers spanning map windows")
+    void testTextParsing(@TempDir Path dir) throws IOException {
+        Path file = dir.resolve("data.txt");
+        Files.write(file, "12, -345\r\n\n6789\t-2147483648 2147483647".getBytes(StandardCharsets.US_ASCII));
+
+        for (int window : new int[] {1, 3, 7, IntFileIO.DEFAULT_WINDOW}) {
+            assertArrayEquals(new int[] {12, -345, 6789, Integer.MIN_VALUE, Integer.MAX_VALUE},
+                    IntFileIO.readText(file, window), "window=" + window);
+        }
+    }
+
+    @Test
+    @DisplayName("Text parser should reject malformed and out-of-range values")
+    void testTextErrors(@TempDir Path dir) throws IOException {
+        for (String bad : new String[] {"1 2x", "2147483648", "-2147483649", "3 - 4", "5 -"}) {
+            Path file = dir.resolve("bad.txt");
+            Files.write(file, bad.getBytes(StandardCharsets.US_ASCII));
+            assertThrows(IOException.class, () -> IntFileIO.read(file, IntFileIO.Format.TEXT), bad);
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package cli;
+
+import algorithms.TuningProfile;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.Socket;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the local sort server and its load generator.
+ *
+ * @author Student A
+ */
+public class SortServerTest {
+
+    @BeforeAll
+    static void pinTuningProfile() {
+        // Counters must not depend on a tuning profile found on the host
+        TuningProfile.setCurrent(TuningProfile.defaults());
+    }
+
+    @Test
+    @DisplayName("Server should sort batched and unbatched requests from concurrent clients")
+    void testLoad() throws IOException {
+        try (SortServer server = new SortServer(0, 2, 16, 64, 32, true)) {
+            SortLoadClient.Report small = new SortLoadClient(server.getPort(), 4, 50, 32).run();
+            SortLoadClient.Report large = new SortLoadClient(server.getPort(), 2, 5, 1000).run();
+
+            assertEquals(200, small.getRequests());
+            assertEquals(10, large.getRequests());
+            assertTrue(small.getLatencyPercentile(50) <= small.getLatencyPercentile(99));
+            assertTrue(small.getRequestsPerSecond() > 0);
+            assertTrue(server.getBatchCount() > 0 && server.getBatchCount() <= 200);
+        }
+    }
+
+    @Test
+    @DisplayName("Server should answer requests in order and drop invalid lengths")
+    void testProtocol() throws IOException {
+        try (SortServer server = new SortServer(0, 1);
+             Socket socket = new Socket(InetAddress.getLoopbackAddress(), server.getPort());
+             DataOutputStream out = new DataOutputStream(socket.getOutputStream());
+             DataInputStream in = new DataInputStream(socket.getInputStream())) {
+            out.writeInt(3);
+            out.writeInt(3);
+            out.writeInt(-1);
+            out.writeInt(2);
+            out.writeInt(0);
+            out.flush();
+
+            assertEquals(3, in.readInt());
+            assertEquals(-1, in.readInt());
+            assertEquals(2, in.readInt());
+            assertEquals(3, in.readInt());
+            assertEquals(0, in.readInt());
+
+            out.writeInt(-5);
+            out.flush();
+            assertEquals(-1, in.read(), "connection should be closed");
+        }
+    }
+
+    @Test
+    @DisplayName("Server should refuse oversized requests and budgets too small for one request")
+    void testLimits() throws IOException {
+        try (SortServer server = new SortServer(0, 1, 4, SortServer.MAX_REQUEST_LENGTH, 64, 32, true);
+             Socket socket = new Socket(InetAddress.getLoopbackAddress(), server.getPort());
+             DataOutputStream out = new DataOutputStream(socket.getOutputStream());
+             DataInputStream in = new DataInputStream(socket.getInputStream())) {
+            out.writeInt(SortServer.MAX_REQUEST_LENGTH + 1);
+            out.flush();
+            assertEquals(-1, in.read(), "connection should be closed before any allocation");
+        }
+
+        assertThrows(IllegalArgumentException.class,
+                () -> new SortServer(0, 1, 4, SortServer.MAX_REQUEST_LENGTH - 1, 64, 32, true));
+    }
+}
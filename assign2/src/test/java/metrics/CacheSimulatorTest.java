@@ -0,0 +1,135 @@
+package metrics;
+
+import algorithms.InsertionSort;
+import algorithms.TuningProfile;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the cache simulator and the tracker's cache simulation mode.
+ *
+ * @author Student A
+ */
+public class CacheSimulatorTest {
+
+    @BeforeAll
+    static void pinTuningProfile() {
+        // Counters must not depend on a tuning profile found on the host
+        TuningProfile.setCurrent(TuningProfile.defaults());
+    }
+
+    @Test
+    @DisplayName("Sequential ints should miss once per 64-byte line")
+    void testSequential() {
+        CacheSimulator cache = new CacheSimulator();
+        cache.accessRange(0, 1600);
+
+        assertEquals(1600, cache.getAccesses());
+        assertEquals(100, cache.getL1Misses());
+        assertEquals(1500, cache.getL1Hits());
+        assertEquals(100, cache.getL2Misses());
+        assertEquals(100L * CacheSimulator.MEMORY_PENALTY_CYCLES, cache.getStallCycles());
+    }
+
+    @Test
+    @DisplayName("Sets should evict the least recently used line")
+    void testLru() {
+        // 2 sets of 2 ways, 16 ints per line: indices 0, 32, 64 all map to set 0
+        CacheSimulator cache = new CacheSimulator(256, 2, 1024, 4, 64);
+        cache.access(0);
+        cache.access(32);
+        cache.access(0);
+        cache.access(64);   // evicts line of 32, the least recent
+        cache.access(0);
+        assertEquals(2, cache.getL1Hits());
+
+        cache.access(32);   // L1 miss, still in L2
+        assertEquals(1, cache.getL2Hits());
+        assertEquals(3, cache.getL2Misses());
+
+        cache.reset();
+        cache.access(0);
+        assertEquals(1, cache.getL1Misses());
+        assertEquals(0, cache.getL1Hits());
+    }
+
+    @Test
+    @DisplayName("Geometry specs should parse and reject bad values")
+    void testParse() {
+        CacheSimulator cache = CacheSimulator.parse("l1=1K/2,l2=8K/4,line=32");
+        cache.accessRange(0, 8);
+        assertEquals(1, cache.getL1Misses());
+
+        assertThrows(IllegalArgumentException.class, () -> CacheSimulator.parse("l3=1M"));
+        assertThrows(IllegalArgumentException.class, () -> CacheSimulator.parse("l1=3000"));
+        assertThrows(IllegalArgumentException.class, () -> CacheSimulator.parse("line=48"));
+    }
+
+    @Test
+    @DisplayName("Kernels should feed the simulator without changing access counts")
+    void testTrackerMode() {
+        int[] data = new Random(7).ints(20000).toArray();
+
+        InsertionSort plain = new InsertionSort(true);
+        plain.sort(data.clone());
+
+        InsertionSort simulated = new InsertionSort(true);
+        simulated.getTracker().setCacheSimulator(new CacheSimulator(4096, 4, 32768, 8, 64));
+        simulated.sort(data.clone());
+
+        PerformanceTracker tracker = simulated.getTracker();
+        CacheSimulator cache = tracker.getCacheSimulator();
+        assertEquals(plain.getTracker().getArrayAccesses(), tracker.getArrayAccesses());
+        assertEquals(tracker.getArrayAccesses(), cache.getAccesses());
+        assertTrue(cache.getL1Misses() > 0);
+        assertTrue(cache.getStallCycles() > 0);
+
+        // The simulator is cleared with the counters
+        simulated.sort(new int[]{2, 1});
+        assertEquals(tracker.getArrayAccesses(), cache.getAccesses());
+    }
+
+    @Test
+    @DisplayName("Index i of different arrays should not share a line")
+    void testArrayIds() {
+        CacheSimulator cache = new CacheSimulator();
+        cache.access(0, 5);
+        cache.access(1, 5);
+        cache.access(2, 5);
+        assertEquals(3, cache.getL1Misses());
+
+        cache.access(1, 6);
+        assertEquals(1, cache.getL1Hits());
+        assertThrows(IllegalArgumentException.class, () -> cache.access(-1, 0));
+    }
+
+    @Test
+    @DisplayName("Copying, comparator and keyed kernels should feed the simulator")
+    void testAllKernelsReport() {
+        int[] data = new Random(11).ints(3000).toArray();
+        InsertionSort sorter = new InsertionSort(true);
+        PerformanceTracker tracker = sorter.getTracker();
+        tracker.setCacheSimulator(new CacheSimulator());
+        CacheSimulator cache = tracker.getCacheSimulator();
+
+        sorter.sortInto(data, new int[data.length]);
+        assertTrue(tracker.getArrayAccesses() > 0);
+        assertEquals(tracker.getArrayAccesses(), cache.getAccesses());
+
+        sorter.sort(data.clone(), (a, b) -> Integer.compare(b, a));
+        assertTrue(tracker.getArrayAccesses() > 0);
+        assertEquals(tracker.getArrayAccesses(), cache.getAccesses());
+
+        Integer[] boxed = new Integer[data.length];
+        for (int i = 0; i < data.length; i++) {
+            boxed[i] = data[i];
+        }
+        sorter.sortByIntKey(boxed, Integer::intValue);
+        assertTrue(tracker.getArrayAccesses() > 0);
+        assertEquals(tracker.getArrayAccesses(), cache.getAccesses());
+    }
+}
@@ -0,0 +1,135 @@
+package metrics;
+
+import org.junit.jupiter.api.*;
+import static org.junit.jupiter.api.Assertions.*;
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Unit tests for empirical complexity fitting.
+ * 
+ * @author Student A
+ */
+public class ComplexityFitTest {
+    
+    private static final double[] SIZES = {100, 1000, 10000, 100000};
+    
+    private double[] values(ComplexityFit.Model model, double c) {
+        double[] values = new double[SIZES.length];
+        for (int i = 0; i < SIZES.length; i++) {
+            values[i] = c * model.apply(SIZES[i]);
+        }
+        return values;
+    }
+    
+    @Test
+    @DisplayName("Should identify the generating model and coefficient")
+    void testBestModel() {
+        for (ComplexityFit.Model model : ComplexityFit.Model.values()) {
+            ComplexityFit fit = ComplexityFit.best(SIZES, values(model, 0.5));
+            assertEquals(model, fit.getModel());
+            assertEquals(0.5, fit.getCoefficient(), 1e-9);
+            assertEquals(0.0, fit.getLowerCoefficient(), 1e-6);
+            assertEquals(1.0, fit.getRSquared(), 1e-9);
+        }
+    }
+    
+    @Test
+    @DisplayName("Insertion sort comparison counts should fit n^2 on reverse input")
+    void testInsertionSortReverseIsQuadratic() {
+        // Standard insertion sort makes n(n-1)/2 comparisons on reverse input
+        double[] comparisons = new double[SIZES.length];
+        for (int i = 0; i < SIZES.length; i++) {
+            comparisons[i] = SIZES[i] * (SIZES[i] - 1) / 2;
+        }
+        ComplexityFit fit = ComplexityFit.best(SIZES, comparisons);
+        assertEquals(ComplexityFit.Model.QUADRATIC, fit.getModel());
+        assertEquals(0.5, fit.getCoefficient(), 1e-9);
+        assertEquals(-0.5, fit.getLowerCoefficient(), 1e-6);
+    }
+    
+    @Test
+    @DisplayName("Two sizes should give single-term fits and an underdetermined note in the report")
+    void testTwoSizesUnderdetermined() {
+        double[] sizes = {100, 1000};
+        double[] quadratic = {0.5 * 100 * 100, 0.5 * 1000 * 1000};
+        ComplexityFit fit = ComplexityFit.best(sizes, quadratic);
+        assertEquals(ComplexityFit.Model.QUADRATIC, fit.getModel());
+        assertFalse(fit.hasLowerOrderTerm());
+        assertEquals(0.0, fit.getLowerCoefficient());
+        assertTrue(ComplexityFit.fit(ComplexityFit.Model.LINEAR, sizes, quadratic).getRelativeError() > 0.1,
+                "A single-term linear fit should not match quadratic data");
+        
+        List<BenchmarkResult> results = new ArrayList<>();
+        results.add(new BenchmarkResult(100, "random_std", 5000, 0, 0, 0, 5000));
+        results.add(new BenchmarkResult(1000, "random_std", 500000, 0, 0, 0, 500000));
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        ComplexityReport.print(results, new PrintStream(buffer, true));
+        assertTrue(buffer.toString().contains("underdetermined"), buffer.toString());
+    }
+    
+    @Test
+    @DisplayName("Negative predictions should be clamped and skipped by the crossover search")
+    void testNegativeLowerOrderTerm() {
+        double[] sizes = {4000, 10000, 100000, 1000000};
+        double[] std = new double[sizes.length];
+        double[] opt = new double[sizes.length];
+        for (int i = 0; i < sizes.length; i++) {
+            std[i] = 2 * sizes[i] * sizes[i] + 10 * sizes[i];
+            opt[i] = 1.5 * sizes[i] * sizes[i] - 3000.5 * sizes[i]; // negative up to n = 2000.33
+        }
+        ComplexityFit stdFit = ComplexityFit.fit(ComplexityFit.Model.QUADRATIC, sizes, std);
+        ComplexityFit optFit = ComplexityFit.fit(ComplexityFit.Model.QUADRATIC, sizes, opt);
+        
+        assertEquals(0.0, optFit.predict(1000));
+        assertEquals(2001, optFit.getValidFrom());
+        assertEquals(1, stdFit.getValidFrom());
+        assertEquals(2001, ComplexityFit.crossover(optFit, stdFit, 2, 1L << 31));
+        
+        // a wins at small n only: no crossover towards large n
+        assertEquals(-1, ComplexityFit.crossover(stdFit, optFit, 2, 1L << 31));
+    }
+    
+    @Test
+    @DisplayName("Same-order models with different overheads should cross over at a finite size")
+    void testSameOrderCrossover() {
+        // std = 2n^2 + 10n, opt = n^2 + 1000.5n: opt is faster exactly when n > 990.5
+        List<BenchmarkResult> results = new ArrayList<>();
+        double[] std = new double[SIZES.length];
+        double[] opt = new double[SIZES.length];
+        for (int i = 0; i < SIZES.length; i++) {
+            double n = SIZES[i];
+            std[i] = 2 * n * n + 10 * n;
+            opt[i] = n * n + 1000.5 * n;
+            results.add(new BenchmarkResult((int) n, "random_std", 0, 0, 0, 0, (long) std[i]));
+            results.add(new BenchmarkResult((int) n, "random_opt", 0, 0, 0, 0, (long) opt[i]));
+        }
+        ComplexityFit stdFit = ComplexityFit.best(SIZES, std);
+        ComplexityFit optFit = ComplexityFit.best(SIZES, opt);
+        assertEquals(ComplexityFit.Model.QUADRATIC, stdFit.getModel());
+        assertEquals(ComplexityFit.Model.QUADRATIC, optFit.getModel());
+        assertEquals(1000.5, optFit.getLowerCoefficient(), 1e-6);
+        
+        assertEquals(991, ComplexityFit.crossover(optFit, stdFit, 2, 1L << 31));
+        
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        ComplexityReport.print(results, new PrintStream(buffer, true));
+        assertTrue(buffer.toString().contains("use opt from n~991"), buffer.toString());
+    }
+    
+    @Test
+    @DisplayName("Should find the crossover between an n log n and an n^2 model")
+    void testCrossover() {
+        ComplexityFit nLogN = ComplexityFit.fit(ComplexityFit.Model.N_LOG_N, SIZES,
+                values(ComplexityFit.Model.N_LOG_N, 10));
+        ComplexityFit quadratic = ComplexityFit.fit(ComplexityFit.Model.QUADRATIC, SIZES,
+                values(ComplexityFit.Model.QUADRATIC, 1));
+        
+        long n = ComplexityFit.crossover(nLogN, quadratic, 2, 1_000_000);
+        assertTrue(nLogN.predict(n) < quadratic.predict(n));
+        assertTrue(nLogN.predict(n - 1) >= quadratic.predict(n - 1));
+        assertEquals(-1, ComplexityFit.crossover(quadratic, nLogN, 1000, 1_000_000));
+    }
+}
@@ -0,0 +1,99 @@
+package metrics;
+
+import org.junit.jupiter.api.*;
+import static org.junit.jupiter.api.Assertions.*;
+import algorithms.InsertionSort;
+import algorithms.TuningProfile;
+import java.util.Random;
+
+/**
+ * Unit tests for presortedness metrics.
+ * 
+ * @author Student A
+ */
+public class PresortednessMetricsTest {
+    
+    @BeforeAll
+    static void pinTuningProfile() {
+        // Counters must not depend on a tuning profile found on the host
+        TuningProfile.setCurrent(TuningProfile.defaults());
+    }
+    
+    private static long bruteForceInversions(int[] arr) {
+        long count = 0;
+        for (int i = 0; i < arr.length; i++) {
+            for (int j = i + 1; j < arr.length; j++) {
+                if (arr[i] > arr[j]) {
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+    
+    @Test
+    @DisplayName("Should compute all metrics for a small example")
+    void testSmallExample() {
+        PresortednessMetrics metrics = PresortednessMetrics.analyze(new int[]{3, 1, 2, 5, 4});
+        
+        assertEquals(3, metrics.getInversions());
+        assertEquals(3, metrics.getRuns());
+        assertEquals(3, metrics.getLongestIncreasingSubsequence());
+        assertEquals(2, metrics.getRem());
+        assertEquals(2, metrics.getMaxDisplacement());
+    }
+    
+    @Test
+    @DisplayName("Sorted and reverse inputs should give the extreme values")
+    void testExtremes() {
+        int n = 1000;
+        int[] sorted = new int[n];
+        int[] reverse = new int[n];
+        for (int i = 0; i < n; i++) {
+            sorted[i] = i;
+            reverse[i] = n - i;
+        }
+        
+        PresortednessMetrics best = PresortednessMetrics.analyze(sorted);
+        assertEquals(0, best.getInversions());
+        assertEquals(1, best.getRuns());
+        assertEquals(0, best.getRem());
+        assertEquals(0, best.getMaxDisplacement());
+        
+        PresortednessMetrics worst = PresortednessMetrics.analyze(reverse);
+        assertEquals((long) n * (n - 1) / 2, worst.getInversions());
+        assertEquals(1.0, worst.getInversionRatio(), 1e-12);
+        assertEquals(n, worst.getRuns());
+        assertEquals(n - 1, worst.getMaxDisplacement());
+    }
+    
+    @Test
+    @DisplayName("Equal elements should not count as inversions or displacement")
+    void testDuplicates() {
+        PresortednessMetrics metrics = PresortednessMetrics.analyze(new int[]{2, 2, 2, 2});
+        assertEquals(0, metrics.getInversions());
+        assertEquals(1, metrics.getRuns());
+        assertEquals(4, metrics.getLongestIncreasingSubsequence());
+        assertEquals(0, metrics.getMaxDisplacement());
+    }
+    
+    @Test
+    @DisplayName("Parallel inversion count should match brute force and insertion sort shifts")
+    void testInversionsMatchShifts() {
+        Random rand = new Random(2024);
+        int[] arr = new int[40_000];
+        for (int i = 0; i < arr.length; i++) {
+            arr[i] = rand.nextInt(5000);
+        }
+        int[] original = arr.clone();
+        
+        long inversions = PresortednessMetrics.countInversions(arr);
+        assertArrayEquals(original, arr, "Input must not be modified");
+        assertEquals(bruteForceInversions(arr), inversions);
+        
+        InsertionSort standard = new InsertionSort(false);
+        standard.sort(arr);
+        assertEquals(standard.getTracker().getSwaps(), inversions,
+                    "Standard insertion sort shifts once per inversion");
+    }
+}
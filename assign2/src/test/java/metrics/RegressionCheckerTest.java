@@ -0,0 +1,149 @@
+package metrics;
+
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Unit tests for baseline storage and regression detection.
+ * 
+ * @author Student A
+ */
+public class RegressionCheckerTest {
+    
+    @TempDir
+    Path tempDir;
+    
+    private TrialSummary summary(long comparisons, long... timesNanos) {
+        return new TrialSummary(1000, "random_opt", comparisons, 10, comparisons * 3,
+                TrialStatistics.of(timesNanos));
+    }
+    
+    private Map<String, TrialSummary> baseline(TrialSummary summary) {
+        return Collections.singletonMap(summary.key(), summary);
+    }
+    
+    @Test
+    @DisplayName("Trial statistics should compute median and MAD")
+    void testTrialStatistics() {
+        TrialStatistics stats = TrialStatistics.of(new long[]{10, 12, 11, 100, 13});
+        assertEquals(12, stats.getMedian());
+        assertEquals(1, stats.getMad());
+        assertEquals(29.2, stats.getMean(), 1e-9);
+    }
+    
+    @Test
+    @DisplayName("Any increase in comparisons should be a regression by default")
+    void testComparisonsCheckedExactly() {
+        RegressionChecker checker = new RegressionChecker();
+        List<RegressionChecker.Finding> findings = checker.compare(
+                baseline(summary(1000, 100, 100, 100)),
+                Collections.singletonList(summary(1001, 100, 100, 100)));
+        
+        assertTrue(RegressionChecker.hasRegressions(findings));
+        assertEquals("comparisons", findings.stream()
+                .filter(RegressionChecker.Finding::isRegression).findFirst().get().getMetric());
+    }
+    
+    @Test
+    @DisplayName("Fewer comparisons should also be flagged unless the threshold allows it")
+    void testDecreaseFlagged() {
+        RegressionChecker checker = new RegressionChecker();
+        List<RegressionChecker.Finding> findings = checker.compare(
+                baseline(summary(1000, 100, 100, 100)),
+                Collections.singletonList(summary(900, 100, 100, 100)));
+        assertTrue(RegressionChecker.hasRegressions(findings));
+        
+        checker.setThresholds("comparisons=10,accesses=10");
+        assertFalse(RegressionChecker.hasRegressions(checker.compare(
+                baseline(summary(1000, 100, 100, 100)),
+                Collections.singletonList(summary(900, 100, 100, 100)))));
+    }
+    
+    @Test
+    @DisplayName("A change in swaps alone should be a regression")
+    void testSwapsChecked() {
+        TrialSummary before = summary(1000, 100, 100, 100);
+        TrialSummary after = new TrialSummary(1000, "random_opt", 1000, 11, 3000,
+                TrialStatistics.of(new long[]{100, 100, 100}));
+        
+        List<RegressionChecker.Finding> findings = new RegressionChecker().compare(
+                baseline(before), Collections.singletonList(after));
+        
+        assertTrue(RegressionChecker.hasRegressions(findings));
+        assertEquals("swaps", findings.stream()
+                .filter(RegressionChecker.Finding::isRegression).findFirst().get().getMetric());
+    }
+    
+    @Test
+    @DisplayName("Cases on only one side should be reported as regressions")
+    void testUnmatchedCases() {
+        TrialSummary shared = summary(1000, 100, 100, 100);
+        TrialSummary dropped = new TrialSummary(2000, "random_opt", 5, 5, 5, TrialStatistics.of(new long[]{1}));
+        TrialSummary added = new TrialSummary(3000, "random_opt", 5, 5, 5, TrialStatistics.of(new long[]{1}));
+        Map<String, TrialSummary> baseline = new HashMap<>();
+        baseline.put(shared.key(), shared);
+        baseline.put(dropped.key(), dropped);
+        
+        List<RegressionChecker.Finding> findings = new RegressionChecker().compare(
+                baseline, Arrays.asList(shared, added));
+        
+        List<String> unmatched = new ArrayList<>();
+        for (RegressionChecker.Finding finding : findings) {
+            if (finding.isRegression()) {
+                unmatched.add(finding.getMetric() + ":" + finding.getCaseKey());
+            }
+        }
+        assertEquals(Arrays.asList(RegressionChecker.Finding.EXTRA_CASE + ":" + added.key(),
+                RegressionChecker.Finding.MISSING_CASE + ":" + dropped.key()), unmatched);
+        assertTrue(findings.get(findings.size() - 1).toString().contains("not in this run"));
+        
+        // Comparing against an empty baseline must not pass
+        assertTrue(RegressionChecker.hasRegressions(new RegressionChecker().compare(
+                Collections.emptyMap(), Collections.singletonList(shared))));
+    }
+    
+    @Test
+    @DisplayName("Time regressions need to exceed both threshold and noise")
+    void testTimeThresholdAndNoise() {
+        RegressionChecker checker = new RegressionChecker();
+        checker.setThresholds("time=10");
+        
+        // Clear 50% slowdown with tight spread
+        assertTrue(RegressionChecker.hasRegressions(checker.compare(
+                baseline(summary(1000, 100, 101, 99, 100, 100)),
+                Collections.singletonList(summary(1000, 150, 151, 149, 150, 150)))));
+        
+        // Same median slowdown, but the samples are too noisy to tell
+        assertFalse(RegressionChecker.hasRegressions(checker.compare(
+                baseline(summary(1000, 40, 160, 100, 70, 130)),
+                Collections.singletonList(summary(1000, 90, 210, 150, 120, 180)))));
+    }
+    
+    @Test
+    @DisplayName("Baselines should round-trip through the store")
+    void testBaselineStoreRoundTrip() throws IOException {
+        BaselineStore store = new BaselineStore(tempDir);
+        TrialSummary original = summary(1234, 10, 20, 30);
+        RunMetadata metadata = RunMetadata.of("17", "VM", "Linux", "amd64", "4", "1", "host", "abc",
+                "binarySearchThreshold=16;leafSize=32");
+        
+        store.save("jdk17", metadata, Arrays.asList(original));
+        BaselineStore.Baseline loaded = store.load("jdk17");
+        
+        assertEquals("17", loaded.getMetadata().get("JavaVersion"));
+        assertEquals("binarySearchThreshold=16;leafSize=32", loaded.getMetadata().get("TuningProfile"));
+        TrialSummary restored = loaded.getCases().get(original.key());
+        assertEquals(1234, restored.getComparisons());
+        assertEquals(20, restored.getTime().getMedian(), 1e-9);
+        assertThrows(IOException.class, () -> store.load("missing"));
+    }
+}
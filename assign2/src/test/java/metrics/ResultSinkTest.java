@@ -0,0 +1,181 @@
+package metrics;
+
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Unit tests for the benchmark results sinks.
+ * 
+ * @author Student A
+ */
+public class ResultSinkTest {
+    
+    private static final RunMetadata METADATA =
+            RunMetadata.of("17", "TestVM", "Linux", "amd64", "4", "1024", "host", "abc123",
+                    "binarySearchThreshold=16;leafSize=32");
+    
+    @TempDir
+    Path tempDir;
+    
+    private BenchmarkResult result(int size, String dataType) {
+        return new BenchmarkResult(size, dataType, size * 2L, size, size * 4L, 1, 12_345L);
+    }
+    
+    @Test
+    @DisplayName("CSV sink should write header once and append across runs")
+    void testCsvAppend() throws IOException {
+        Path file = tempDir.resolve("results.csv");
+        
+        try (ResultSink sink = ResultSink.open(file, METADATA, true)) {
+            sink.write(result(100, "random_opt"));
+        }
+        try (ResultSink sink = ResultSink.open(file, METADATA, true)) {
+            sink.write(result(200, "sorted_std"));
+        }
+        
+        List<String> lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+        assertEquals(3, lines.size());
+        assertEquals(CsvResultSink.HEADER, lines.get(0));
+        assertEquals(200, BenchmarkResult.fromCsvRow(lines.get(2)).getArraySize());
+        assertTrue(lines.get(1).endsWith(",abc123,binarySearchThreshold=16;leafSize=32"),
+                "Rows should carry run metadata");
+    }
+    
+    @Test
+    @DisplayName("CSV sink should keep a file with an older schema aside and start a fresh one")
+    void testCsvLegacyRotation() throws IOException {
+        Path file = tempDir.resolve("old.csv");
+        byte[] legacy = "ArraySize,DataType\n1,x\n".getBytes(StandardCharsets.UTF_8);
+        Files.write(file, legacy);
+        
+        try (ResultSink sink = ResultSink.open(file, METADATA, true)) {
+            sink.write(result(100, "random_opt"));
+        }
+        
+        assertArrayEquals(legacy, Files.readAllBytes(tempDir.resolve("old.v1.csv")));
+        List<String> lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+        assertEquals(2, lines.size());
+        assertEquals(CsvResultSink.HEADER, lines.get(0));
+        assertEquals(2, Files.list(tempDir).count(), "No temporary file should be left behind");
+    }
+    
+    @Test
+    @DisplayName("Async sink should discard the output instead of committing after a write failure")
+    void testAsyncFailureDiscards() throws IOException {
+        Path file = tempDir.resolve("results.csv");
+        try (ResultSink sink = ResultSink.open(file, METADATA, false)) {
+            sink.write(result(1, "random_opt"));
+        }
+        byte[] before = Files.readAllBytes(file);
+        
+        CsvResultSink csv = new CsvResultSink(file, METADATA, true);
+        ResultSink failing = new ResultSink() {
+            private int writes;
+            
+            @Override
+            public void write(BenchmarkResult result) throws IOException {
+                if (++writes == 2) {
+                    throw new IOException("disk full");
+                }
+                csv.write(result);
+            }
+            
+            @Override
+            public void close() throws IOException {
+                csv.close();
+            }
+            
+            @Override
+            public void discard() throws IOException {
+                csv.discard();
+            }
+        };
+        
+        AsyncResultSink sink = new AsyncResultSink(failing, 4);
+        for (int i = 0; i < 3; i++) {
+            try {
+                sink.write(result(i, "random_opt"));
+            } catch (IOException e) {
+                // Reported again by close
+            }
+        }
+        assertThrows(IOException.class, sink::close);
+        
+        assertArrayEquals(before, Files.readAllBytes(file), "Target must not be replaced by a truncated file");
+        assertEquals(1, Files.list(tempDir).count(), "Temporary file should be deleted");
+    }
+    
+    @Test
+    @DisplayName("A runtime exception in the delegate should be reported, not hang later writes")
+    void testAsyncRuntimeFailure() {
+        boolean[] discarded = {false};
+        ResultSink throwing = new ResultSink() {
+            @Override
+            public void write(BenchmarkResult result) {
+                throw new IllegalStateException("bad row");
+            }
+            
+            @Override
+            public void close() {
+            }
+            
+            @Override
+            public void discard() {
+                discarded[0] = true;
+            }
+        };
+        
+        AsyncResultSink sink = new AsyncResultSink(throwing, 1);
+        assertTimeoutPreemptively(java.time.Duration.ofSeconds(10), () -> {
+            for (int i = 0; i < 100; i++) {
+                try {
+                    sink.write(result(i, "random_opt"));
+                } catch (IOException e) {
+                    assertTrue(e.getCause() instanceof IllegalStateException);
+                }
+            }
+            IOException e = assertThrows(IOException.class, sink::close);
+            assertTrue(e.getMessage().contains("bad row"), e.getMessage());
+        });
+        assertTrue(discarded[0], "Delegate should be discarded after a failure");
+    }
+    
+    @Test
+    @DisplayName("Output should only appear once the sink is closed")
+    void testAtomicFinalization() throws IOException {
+        Path file = tempDir.resolve("results.csv");
+        
+        ResultSink sink = ResultSink.open(file, METADATA, false);
+        sink.write(result(100, "random_opt"));
+        assertFalse(Files.exists(file), "Target should not exist before close");
+        sink.close();
+        assertTrue(Files.exists(file));
+    }
+    
+    @Test
+    @DisplayName("Binary sink should round-trip results across blocks")
+    void testBinaryRoundTrip() throws IOException {
+        Path file = tempDir.resolve("results.bin");
+        int count = 2500;
+        
+        try (ResultSink sink = new AsyncResultSink(ResultSink.open(file, METADATA, false), 16)) {
+            for (int i = 0; i < count; i++) {
+                sink.write(result(i, i % 2 == 0 ? "random_opt" : "reverse_std"));
+            }
+        }
+        
+        List<BenchmarkResult> results = BinaryResultSink.readAll(file);
+        assertEquals(count, results.size());
+        for (int i = 0; i < count; i++) {
+            assertEquals(i, results.get(i).getArraySize());
+            assertEquals(i * 2L, results.get(i).getComparisons());
+            assertEquals(i % 2 == 0 ? "random_opt" : "reverse_std", results.get(i).getDataType());
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package metrics;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the parallel sort verifier.
+ *
+ * @author Student A
+ */
+public class SortVerifierTest {
+
+    @Test
+    @DisplayName("Sorted permutations should verify at every size")
+    void testValid() {
+        for (int size : new int[] {0, 1, 2, 1000, 300_000}) {
+            int[] input = new SplittableRandom(size).ints(size).toArray();
+            SortVerifier.Fingerprint fingerprint = SortVerifier.fingerprint(input);
+            int[] sorted = input.clone();
+            Arrays.sort(sorted);
+
+            SortVerifier.Result result = SortVerifier.verify(sorted, fingerprint);
+            assertTrue(result.isValid(), "size=" + size + ": " + result);
+            assertEquals(fingerprint, result.getFingerprint());
+            assertEquals(size, fingerprint.getCount());
+        }
+    }
+
+    @Test
+    @DisplayName("Should find descents inside chunks and across chunk boundaries")
+    void testDescents() {
+        int size = 300_000;
+        int[] input = new int[size];
+        for (int i = 0; i < size; i++) {
+            input[i] = i;
+        }
+        SortVerifier.Fingerprint fingerprint = SortVerifier.fingerprint(input);
+
+        // Swap across the first chunk boundary (index 1 << 16)
+        int boundary = 1 << 16;
+        int[] arr = input.clone();
+        arr[boundary - 1] = boundary;
+        arr[boundary] = boundary - 1;
+        SortVerifier.Result result = SortVerifier.verify(arr, fingerprint);
+        assertFalse(result.isSorted());
+        assertTrue(result.isPermutation());
+        assertEquals(boundary, result.getFirstDescent());
+
+        // Equal neighbours are not descents
+        assertTrue(SortVerifier.verify(new int[] {1, 1, 2}, SortVerifier.fingerprint(new int[] {2, 1, 1})).isValid());
+    }
+
+    @Test
+    @DisplayName("Dropped, duplicated or altered elements should fail the permutation check")
+    void testNotPermutation() {
+        int[] input = {5, 0, 3, 3, -7};
+        SortVerifier.Fingerprint fingerprint = SortVerifier.fingerprint(input);
+
+        assertFalse(SortVerifier.verify(new int[] {-7, 0, 3, 5}, fingerprint).isPermutation());
+        assertFalse(SortVerifier.verify(new int[] {-7, 0, 3, 3, 3}, fingerprint).isPermutation());
+        // Same count and sum, different values
+        assertFalse(SortVerifier.verify(new int[] {-7, 1, 2, 3, 5}, fingerprint).isPermutation());
+        assertFalse(SortVerifier.verify(new int[] {-7, 0, 0, 3, 5}, fingerprint).isValid());
+    }
+}